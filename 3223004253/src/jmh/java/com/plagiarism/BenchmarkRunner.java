@@ -0,0 +1,54 @@
+package com.plagiarism;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * 运行全部基准测试（或命令行指定的基准测试），报告吞吐量、平均耗时，并附加gc分析器报告每次操作的分配量。
+ * 支持JMH的全部命令行参数，例如只运行中文16KB的相似度测试（-l 列出全部基准测试）：
+ * <pre>
+ * bash src/jmh/run_benchmarks.sh SimilarityBenchmark -p language=CHINESE -p sizeKb=16
+ * </pre>
+ * 比较两次修改时，以 -rf json -rff 结果文件 保存结果，对照同一参数下的得分和误差区间
+ *
+ * run_benchmarks.sh（Windows下为run_benchmarks.bat）在项目根目录下依次执行以下命令，JMH_LIB为JMH依赖所在目录。
+ * 编译基准测试时必须以 -processorpath 指定JMH注解处理器，它生成包装类和META-INF/BenchmarkList，否则找不到任何基准测试：
+ * <pre>
+ * javac --release 11 -encoding UTF-8 -d build/benchmark/main src/main/java/com/plagiarism/*.java
+ * javac --release 11 -encoding UTF-8 -cp build/benchmark/main:$JMH_LIB/jmh-core-1.37.jar \
+ *     -processorpath $JMH_LIB/jmh-generator-annprocess-1.37.jar:$JMH_LIB/jmh-core-1.37.jar \
+ *     -d build/benchmark/jmh src/jmh/java/com/plagiarism/*.java
+ * java -cp build/benchmark/main:build/benchmark/jmh:$JMH_LIB/jmh-core-1.37.jar:$JMH_LIB/jopt-simple-5.0.4.jar:$JMH_LIB/commons-math3-3.6.1.jar \
+ *     com.plagiarism.BenchmarkRunner 参数...
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("com\\.plagiarism\\..*Benchmark");
+        }
+        Runner runner = new Runner(options.build());
+        if (commandLine.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.plagiarism;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * 基准测试输入生成器
+ * 以orig.txt为素材生成指定大小和语言的原文，并按固定随机种子生成抄袭版，保证每次运行的输入相同
+ *
+ * 素材路径由系统属性benchmark.source指定，默认为src/test/resources/orig.txt
+ */
+final class BenchmarkTexts {
+
+    /** 素材文件路径的系统属性名 */
+    static final String SOURCE_PROPERTY = "benchmark.source";
+
+    private static final String DEFAULT_SOURCE = "src/test/resources/orig.txt";
+
+    private static final String[] ENGLISH_WORDS = {
+        "the", "of", "and", "to", "in", "is", "that", "for", "it", "as", "was", "with", "be", "by", "on",
+        "not", "he", "this", "are", "or", "his", "from", "at", "which", "but", "have", "an", "had", "they",
+        "you", "were", "their", "one", "all", "we", "can", "her", "has", "there", "been", "if", "more",
+        "when", "will", "would", "who", "so", "no", "weather", "today", "evening", "movie", "sunday",
+        "paper", "system", "text", "similarity", "student", "school", "result", "method", "analysis"
+    };
+
+    private static final int MIXED_CHUNK = 40;
+
+    private BenchmarkTexts() {
+    }
+
+    /**
+     * 生成原文
+     *
+     * @param language CHINESE、ENGLISH或MIXED
+     * @param sizeKb   UTF-8编码后的目标大小（KB）
+     */
+    static String original(String language, int sizeKb) {
+        String source = readSource();
+        String base;
+        switch (language) {
+            case "CHINESE":
+                base = source;
+                break;
+            case "ENGLISH":
+                base = toEnglish(source);
+                break;
+            case "MIXED":
+                base = toMixed(source);
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的语言: " + language);
+        }
+        return repeatToSize(base, sizeKb * 1024L);
+    }
+
+    /**
+     * 生成抄袭版
+     * 按约10个字符的块扫描原文：大部分块保留，其余块被删除、替换为原文中其他位置的块或在其后插入其他块
+     *
+     * @param original 原文
+     * @param seed     随机种子
+     */
+    static String variant(String original, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(original.length() + original.length() / 8);
+        for (int start = 0; start < original.length(); start += 10) {
+            int end = Math.min(original.length(), start + 10);
+            int action = random.nextInt(20);
+            if (action == 0) {
+                continue;
+            }
+            if (action == 1) {
+                builder.append(randomBlock(original, random));
+                continue;
+            }
+            builder.append(original, start, end);
+            if (action == 2) {
+                builder.append(randomBlock(original, random));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String randomBlock(String text, Random random) {
+        int start = random.nextInt(Math.max(1, text.length() - 10));
+        return text.substring(start, Math.min(text.length(), start + 10));
+    }
+
+    private static String readSource() {
+        String path = System.getProperty(SOURCE_PROPERTY, DEFAULT_SOURCE);
+        try {
+            String text = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+            if (text.trim().isEmpty()) {
+                throw new IllegalArgumentException("素材文件为空: " + path);
+            }
+            return text;
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法读取文件: " + path + ", 错误: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 把素材中的每个非空白字符映射为一个英文单词，保留素材的重复结构和段落
+     */
+    private static String toEnglish(String source) {
+        StringBuilder builder = new StringBuilder(source.length() * 5);
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\n') {
+                builder.append('\n');
+            } else if (!Character.isWhitespace(c)) {
+                if (builder.length() > 0 && builder.charAt(builder.length() - 1) != '\n') {
+                    builder.append(' ');
+                }
+                builder.append(ENGLISH_WORDS[c % ENGLISH_WORDS.length]);
+                if (TextNormalizer.classify(c) == TextNormalizer.CLASS_PUNCTUATION) {
+                    builder.append(c == '。' ? '.' : ',');
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 中文素材与其英文映射按固定长度交替拼接
+     */
+    private static String toMixed(String source) {
+        StringBuilder builder = new StringBuilder(source.length() * 3);
+        for (int start = 0; start < source.length(); start += MIXED_CHUNK) {
+            String chunk = source.substring(start, Math.min(source.length(), start + MIXED_CHUNK));
+            builder.append((start / MIXED_CHUNK) % 2 == 0 ? chunk : toEnglish(chunk));
+        }
+        return builder.toString();
+    }
+
+    private static String repeatToSize(String base, long targetBytes) {
+        StringBuilder builder = new StringBuilder();
+        long bytes = 0;
+        int position = 0;
+        while (bytes < targetBytes) {
+            char c = base.charAt(position);
+            builder.append(c);
+            bytes += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            position = (position + 1) % base.length();
+        }
+        return builder.toString();
+    }
+}
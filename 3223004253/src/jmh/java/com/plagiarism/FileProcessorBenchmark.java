@@ -0,0 +1,90 @@
+package com.plagiarism;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FileProcessor与端到端查重基准测试
+ * 生成的原文和抄袭版写入临时目录，度量读取文件、流式规范化和完整的detectPlagiarism
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileProcessorBenchmark {
+
+    @Param({ "1", "16", "128", "1024" })
+    int sizeKb;
+
+    @Param({ "CHINESE", "ENGLISH", "MIXED" })
+    String language;
+
+    @Param({ "BIT_VECTOR" })
+    String editDistanceBackend;
+
+    private Path directory;
+    private String originalPath;
+    private String candidatePath;
+    private FileProcessor fileProcessor;
+    private PlagiarismDetector detector;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String original = BenchmarkTexts.original(language, sizeKb);
+        directory = Files.createTempDirectory("plagiarism-benchmark");
+        originalPath = write("orig.txt", original);
+        candidatePath = write("orig_variant.txt", BenchmarkTexts.variant(original, 42));
+
+        fileProcessor = new FileProcessor();
+        detector = new PlagiarismDetector();
+        detector.getSimilarityCalculator().setEditDistanceBackend(
+                TextSimilarityCalculator.EditDistanceBackend.valueOf(editDistanceBackend));
+    }
+
+    private String write(String name, String content) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("orig.txt"));
+        Files.deleteIfExists(directory.resolve("orig_variant.txt"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public String readFile() throws IOException {
+        return fileProcessor.readFile(originalPath);
+    }
+
+    @Benchmark
+    public NormalizedText readNormalized() throws IOException {
+        return fileProcessor.readNormalized(originalPath);
+    }
+
+    @Benchmark
+    public double detectPlagiarism() throws IOException {
+        return detector.detectPlagiarism(originalPath, candidatePath);
+    }
+}
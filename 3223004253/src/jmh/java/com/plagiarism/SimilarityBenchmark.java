@@ -0,0 +1,100 @@
+package com.plagiarism;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TextSimilarityCalculator基准测试
+ * 覆盖预处理、各项相似度和综合相似度，输入为orig.txt生成的原文和抄袭版
+ *
+ * 整篇编辑距离是二次复杂度，默认使用位向量后端，1MB输入的两行动态规划需要数十分钟，
+ * 需要时以 -p editDistanceBackend=LINEAR_SPACE -p sizeKb=1,16 单独运行
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimilarityBenchmark {
+
+    @Param({ "1", "16", "128", "1024" })
+    int sizeKb;
+
+    @Param({ "CHINESE", "ENGLISH", "MIXED" })
+    String language;
+
+    @Param({ "BIT_VECTOR" })
+    String editDistanceBackend;
+
+    private TextSimilarityCalculator calculator;
+    private String original;
+    private String candidate;
+    private String normalizedOriginal;
+    private String normalizedCandidate;
+    private DocumentProfile originalProfile;
+    private DocumentProfile candidateProfile;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        calculator = new TextSimilarityCalculator();
+        calculator.setEditDistanceBackend(TextSimilarityCalculator.EditDistanceBackend.valueOf(editDistanceBackend));
+
+        original = BenchmarkTexts.original(language, sizeKb);
+        candidate = BenchmarkTexts.variant(original, 42);
+        normalizedOriginal = calculator.preprocessText(original);
+        normalizedCandidate = calculator.preprocessText(candidate);
+
+        // 预先构建并缓存特征，基于特征的测试只度量相似度计算本身
+        originalProfile = calculator.createProfile(original);
+        candidateProfile = calculator.createProfile(candidate);
+        calculator.calculateComprehensiveSimilarity(originalProfile, candidateProfile);
+    }
+
+    @Benchmark
+    public String preprocessText() {
+        return calculator.preprocessText(original);
+    }
+
+    @Benchmark
+    public double cosineSimilarity() {
+        return calculator.calculateCosineSimilarity(normalizedOriginal, normalizedCandidate);
+    }
+
+    @Benchmark
+    public double editDistanceSimilarity() {
+        return calculator.calculateEditDistanceSimilarity(normalizedOriginal, normalizedCandidate);
+    }
+
+    @Benchmark
+    public double characterSimilarity() {
+        return calculator.calculateCharacterSimilarity(normalizedOriginal, normalizedCandidate);
+    }
+
+    @Benchmark
+    public double substringCoverage() {
+        return calculator.calculateSubstringCoverage(original, candidate);
+    }
+
+    @Benchmark
+    public double comprehensiveSimilarity() {
+        return calculator.calculateComprehensiveSimilarity(original, candidate);
+    }
+
+    @Benchmark
+    public double comprehensiveSimilarityWithProfiles() {
+        return calculator.calculateComprehensiveSimilarity(originalProfile, candidateProfile);
+    }
+}
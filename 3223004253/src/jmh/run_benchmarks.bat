@@ -0,0 +1,41 @@
+@echo off
+rem 编译并运行JMH基准测试，在项目根目录下执行，参数原样传给BenchmarkRunner，例如：
+rem   src\jmh\run_benchmarks.bat SimilarityBenchmark -p language=CHINESE -p sizeKb=16
+rem JMH依赖放在src\lib\jmh下（已被.gitignore忽略），缺少时从Maven中央仓库下载
+setlocal
+
+set JMH_VERSION=1.37
+if "%JMH_LIB%"=="" set JMH_LIB=src\lib\jmh
+set MAVEN=https://repo1.maven.org/maven2
+set OUT=build\benchmark
+
+set JMH_CORE=%JMH_LIB%\jmh-core-%JMH_VERSION%.jar
+set JMH_ANNPROCESS=%JMH_LIB%\jmh-generator-annprocess-%JMH_VERSION%.jar
+set JOPT_SIMPLE=%JMH_LIB%\jopt-simple-5.0.4.jar
+set COMMONS_MATH=%JMH_LIB%\commons-math3-3.6.1.jar
+
+if not exist "%JMH_LIB%" mkdir "%JMH_LIB%"
+call :download org/openjdk/jmh/jmh-core/%JMH_VERSION% jmh-core-%JMH_VERSION%.jar || exit /b 1
+call :download org/openjdk/jmh/jmh-generator-annprocess/%JMH_VERSION% jmh-generator-annprocess-%JMH_VERSION%.jar || exit /b 1
+call :download net/sf/jopt-simple/jopt-simple/5.0.4 jopt-simple-5.0.4.jar || exit /b 1
+call :download org/apache/commons/commons-math3/3.6.1 commons-math3-3.6.1.jar || exit /b 1
+
+echo 编译Java程序...
+if exist "%OUT%" rmdir /s /q "%OUT%"
+javac --release 11 -encoding UTF-8 -d %OUT%\main src\main\java\com\plagiarism\*.java || exit /b 1
+
+rem 注解处理器生成基准测试的包装类和META-INF/BenchmarkList，缺少后者时Runner找不到任何基准测试
+echo 编译基准测试...
+javac --release 11 -encoding UTF-8 -cp "%OUT%\main;%JMH_CORE%" -processorpath "%JMH_ANNPROCESS%;%JMH_CORE%" -d %OUT%\jmh src\jmh\java\com\plagiarism\*.java || exit /b 1
+
+echo.
+echo 运行基准测试...
+java -cp "%OUT%\main;%OUT%\jmh;%JMH_CORE%;%JOPT_SIMPLE%;%COMMONS_MATH%" com.plagiarism.BenchmarkRunner %*
+exit /b %errorlevel%
+
+:download
+if not exist "%JMH_LIB%\%2" (
+    echo 下载 %2...
+    curl -fsSL -o "%JMH_LIB%\%2" "%MAVEN%/%1/%2"
+)
+exit /b %errorlevel%
@@ -0,0 +1,43 @@
+#!/bin/bash
+# 编译并运行JMH基准测试，在项目根目录下执行，参数原样传给BenchmarkRunner，例如：
+#   bash src/jmh/run_benchmarks.sh SimilarityBenchmark -p language=CHINESE -p sizeKb=16
+# JMH依赖放在src/lib/jmh下（已被.gitignore忽略），缺少时从Maven中央仓库下载
+
+set -e
+
+JMH_VERSION=1.37
+JMH_LIB=${JMH_LIB:-src/lib/jmh}
+MAVEN=https://repo1.maven.org/maven2
+OUT=build/benchmark
+
+JMH_CORE=$JMH_LIB/jmh-core-$JMH_VERSION.jar
+JMH_ANNPROCESS=$JMH_LIB/jmh-generator-annprocess-$JMH_VERSION.jar
+JOPT_SIMPLE=$JMH_LIB/jopt-simple-5.0.4.jar
+COMMONS_MATH=$JMH_LIB/commons-math3-3.6.1.jar
+
+download() {
+    if [ ! -f "$JMH_LIB/$(basename "$1")" ]; then
+        echo "下载 $(basename "$1")..."
+        curl -fsSL -o "$JMH_LIB/$(basename "$1")" "$MAVEN/$1"
+    fi
+}
+
+mkdir -p "$JMH_LIB"
+download org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar
+download org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar
+download net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar
+download org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar
+
+echo "编译Java程序..."
+rm -rf "$OUT"
+javac --release 11 -encoding UTF-8 -d "$OUT/main" src/main/java/com/plagiarism/*.java
+
+# 注解处理器生成基准测试的包装类和META-INF/BenchmarkList，缺少后者时Runner找不到任何基准测试
+echo "编译基准测试..."
+javac --release 11 -encoding UTF-8 -cp "$OUT/main:$JMH_CORE" \
+    -processorpath "$JMH_ANNPROCESS:$JMH_CORE" \
+    -d "$OUT/jmh" src/jmh/java/com/plagiarism/*.java
+
+echo ""
+echo "运行基准测试..."
+java -cp "$OUT/main:$OUT/jmh:$JMH_CORE:$JOPT_SIMPLE:$COMMONS_MATH" com.plagiarism.BenchmarkRunner "$@"
@@ -0,0 +1,319 @@
+package com.plagiarism;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 批量查重器
+ * 在同一个JVM中用固定大小的线程池处理多组查重任务，避免每对文件都启动新进程。
+ * 每组任务的输出格式与单次查重相同。同一原文的文档特征只构建一次，
+ * 由使用该原文的任务共享，最后一个使用它的任务结束后即释放，因此内存占用不随原文数增长
+ */
+public class BatchDetector {
+
+    private final PlagiarismDetector detector;
+    private final FileProcessor fileProcessor;
+    private final int threads;
+
+    /**
+     * @param detector 查重器
+     * @param threads  工作线程数
+     */
+    public BatchDetector(PlagiarismDetector detector, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("线程数必须大于0: " + threads);
+        }
+        this.detector = detector;
+        this.fileProcessor = detector.getFileProcessor();
+        this.threads = threads;
+    }
+
+    /**
+     * 命令行入口
+     * --batch &lt;清单文件&gt; 或 --batch-dir &lt;原文文件路径&gt; &lt;抄袭版目录&gt; &lt;输出目录&gt;，
+     * 可附加 --threads 线程数、--summary 汇总文件 与 --cache-mb 缓存容量（默认不使用缓存）
+     *
+     * @return 进程退出码，存在失败任务时为1
+     */
+    static int run(String[] args) throws IOException {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        List<String> positional = options.positional();
+
+        PlagiarismDetector detector = new PlagiarismDetector();
+        int cacheMb = options.getInt("cache-mb", 0);
+        if (cacheMb < 0) {
+            throw new IllegalArgumentException("缓存容量不能为负数: " + cacheMb);
+        }
+        if (cacheMb > 0) {
+            detector.setCache(new DetectionCache((long) cacheMb << 20));
+        }
+
+        BatchDetector batchDetector = new BatchDetector(detector, options.getThreads());
+        List<BatchTask> tasks;
+        if ("--batch".equals(args[0]) && positional.size() == 1) {
+            tasks = batchDetector.readManifest(positional.get(0));
+        } else if ("--batch-dir".equals(args[0]) && positional.size() == 3) {
+            tasks = batchDetector.listDirectory(positional.get(0), positional.get(1), positional.get(2));
+        } else {
+            throw new IllegalArgumentException("批量模式参数数量不正确");
+        }
+
+        List<BatchResult> results = batchDetector.run(tasks);
+        String summaryPath = options.get("summary", null);
+        if (summaryPath != null) {
+            batchDetector.writeSummary(summaryPath, results);
+        }
+
+        int failed = 0;
+        for (BatchResult result : results) {
+            if (!result.isSuccess()) {
+                failed++;
+                System.err.println("查重失败: " + result.getTask().getPlagiarizedPath() + ", 错误: " + result.getError());
+            }
+        }
+        System.out.println("批量查重完成，共" + results.size() + "组，失败" + failed + "组");
+        return failed == 0 ? 0 : 1;
+    }
+
+    /**
+     * 读取任务清单
+     * 每行依次为原文路径、抄袭版路径、输出路径，以制表符分隔（无制表符时按空白分隔），
+     * 空行和以#开头的行被忽略
+     *
+     * @param manifestPath 清单文件路径
+     * @return 任务列表
+     */
+    public List<BatchTask> readManifest(String manifestPath) throws IOException {
+        List<BatchTask> tasks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(manifestPath), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+
+                String[] fields = trimmed.indexOf('\t') >= 0 ? trimmed.split("\t") : trimmed.split("\\s+");
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("清单第" + lineNumber + "行格式错误: " + line);
+                }
+                tasks.add(new BatchTask(fields[0].trim(), fields[1].trim(), fields[2].trim()));
+            }
+        } catch (IOException e) {
+            throw new IOException("无法读取清单文件: " + manifestPath + ", 错误: " + e.getMessage(), e);
+        }
+        return tasks;
+    }
+
+    /**
+     * 将一篇原文与目录下的所有文件组成任务
+     * 结果写入输出目录下的 result_&lt;抄袭版文件名&gt;
+     */
+    public List<BatchTask> listDirectory(String originalPath, String candidateDir, String outputDir)
+            throws IOException {
+        Path outputDirectory = Paths.get(outputDir);
+        Files.createDirectories(outputDirectory);
+
+        List<Path> candidates = FileProcessor.listFiles(candidateDir);
+
+        List<BatchTask> tasks = new ArrayList<>();
+        for (Path candidate : candidates) {
+            Path output = outputDirectory.resolve("result_" + candidate.getFileName());
+            tasks.add(new BatchTask(originalPath, candidate.toString(), output.toString()));
+        }
+        return tasks;
+    }
+
+    /**
+     * 并行执行所有任务并写出每组结果
+     * 单组任务失败不影响其他任务，结果顺序与任务顺序一致
+     */
+    public List<BatchResult> run(List<BatchTask> tasks) {
+        OriginalProfiles originals = new OriginalProfiles(tasks);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, tasks.size())));
+        try {
+            List<Future<BatchResult>> futures = new ArrayList<>(tasks.size());
+            for (BatchTask task : tasks) {
+                futures.add(executor.submit(() -> execute(task, originals)));
+            }
+
+            List<BatchResult> results = new ArrayList<>(tasks.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new BatchResult(tasks.get(i), Double.NaN, String.valueOf(e.getCause())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(new BatchResult(tasks.get(i), Double.NaN, "任务被中断"));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchResult execute(BatchTask task, OriginalProfiles originals) {
+        try {
+            detector.validateInputs(task.getOriginalPath(), task.getPlagiarizedPath(), task.getOutputPath());
+
+            DocumentProfile original = originals.acquire(task.getOriginalPath());
+            double similarity = detector.detectPlagiarism(original, task.getPlagiarizedPath());
+            fileProcessor.writeResult(task.getOutputPath(), similarity);
+
+            return new BatchResult(task, similarity, null);
+        } catch (IllegalArgumentException | IOException e) {
+            return new BatchResult(task, Double.NaN, e.getMessage());
+        } finally {
+            originals.release(task.getOriginalPath());
+        }
+    }
+
+    /**
+     * 一次批量运行中各原文的文档特征
+     * 第一个需要某篇原文的任务构建其特征，同时到达的任务等待同一个结果；
+     * 每篇原文记录尚未结束的任务数，归零时移除特征，使其可被回收
+     */
+    private final class OriginalProfiles {
+        private final Map<String, CompletableFuture<DocumentProfile>> profiles = new ConcurrentHashMap<>();
+        private final Map<String, Integer> pendingTasks = new HashMap<>();
+
+        OriginalProfiles(List<BatchTask> tasks) {
+            for (BatchTask task : tasks) {
+                pendingTasks.merge(task.getOriginalPath(), 1, Integer::sum);
+            }
+        }
+
+        DocumentProfile acquire(String originalPath) throws IOException {
+            CompletableFuture<DocumentProfile> created = new CompletableFuture<>();
+            CompletableFuture<DocumentProfile> future = profiles.putIfAbsent(originalPath, created);
+            if (future == null) {
+                future = created;
+                try {
+                    created.complete(detector.readProfile(originalPath, "原文文件为空"));
+                } catch (IOException | RuntimeException e) {
+                    created.completeExceptionally(e);
+                }
+            }
+
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw e;
+            }
+        }
+
+        void release(String originalPath) {
+            synchronized (pendingTasks) {
+                if (pendingTasks.merge(originalPath, -1, Integer::sum) == 0) {
+                    pendingTasks.remove(originalPath);
+                    profiles.remove(originalPath);
+                }
+            }
+        }
+    }
+
+    /**
+     * 写出汇总文件
+     * 每行依次为原文路径、抄袭版路径、相似度（或错误信息），以制表符分隔
+     */
+    public void writeSummary(String summaryPath, List<BatchResult> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(
+                Files.newBufferedWriter(Paths.get(summaryPath), StandardCharsets.UTF_8))) {
+            writer.println("原文\t抄袭版\t相似度");
+            for (BatchResult result : results) {
+                BatchTask task = result.getTask();
+                String value = result.isSuccess()
+                        ? String.format("%.2f", result.getSimilarity())
+                        : "错误: " + result.getError();
+                writer.println(task.getOriginalPath() + "\t" + task.getPlagiarizedPath() + "\t" + value);
+            }
+        } catch (IOException e) {
+            throw new IOException("无法写入汇总文件: " + summaryPath + ", 错误: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 查重任务
+     */
+    public static class BatchTask {
+        private final String originalPath;
+        private final String plagiarizedPath;
+        private final String outputPath;
+
+        public BatchTask(String originalPath, String plagiarizedPath, String outputPath) {
+            this.originalPath = originalPath;
+            this.plagiarizedPath = plagiarizedPath;
+            this.outputPath = outputPath;
+        }
+
+        public String getOriginalPath() {
+            return originalPath;
+        }
+
+        public String getPlagiarizedPath() {
+            return plagiarizedPath;
+        }
+
+        public String getOutputPath() {
+            return outputPath;
+        }
+    }
+
+    /**
+     * 查重结果
+     */
+    public static class BatchResult {
+        private final BatchTask task;
+        private final double similarity;
+        private final String error;
+
+        BatchResult(BatchTask task, double similarity, String error) {
+            this.task = task;
+            this.similarity = similarity;
+            this.error = error;
+        }
+
+        public BatchTask getTask() {
+            return task;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
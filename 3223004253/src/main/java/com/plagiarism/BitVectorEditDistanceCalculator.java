@@ -0,0 +1,201 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 位向量编辑距离计算器
+ * 使用Myers/Hyyrö位向量算法计算Levenshtein距离，模式串超过64个字符时按64位字块分块，
+ * 块之间通过水平差值传递进位。匹配掩码来自稀疏的MatchMaskTable，可在多次比较间复用
+ */
+public class BitVectorEditDistanceCalculator {
+
+    /**
+     * 计算编辑距离
+     * 以较短文本作为模式串构建匹配掩码表
+     *
+     * @param s1 文本1的字符数组
+     * @param s2 文本2的字符数组
+     * @return 编辑距离
+     */
+    public int calculate(char[] s1, char[] s2) {
+        if (s1.length == 0 || s2.length == 0) {
+            return Math.max(s1.length, s2.length);
+        }
+
+        if (s1.length <= s2.length) {
+            return calculate(new MatchMaskTable(s1), s2);
+        }
+        return calculate(new MatchMaskTable(s2), s1);
+    }
+
+    /**
+     * 基于已构建的匹配掩码表计算编辑距离
+     *
+     * @param pattern 模式串的匹配掩码表
+     * @param text    文本字符数组
+     * @return 编辑距离
+     */
+    public int calculate(MatchMaskTable pattern, char[] text) {
+        return calculate(pattern, text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 计算带上界的编辑距离
+     * 每处理一列后，当前得分减去剩余列数是最终距离的下界（每列最多使得分减少1），
+     * 下界超过上界时提前结束
+     *
+     * @param pattern     模式串的匹配掩码表
+     * @param text        文本字符数组
+     * @param maxDistance 距离上界
+     * @return 编辑距离；若超过上界则返回maxDistance + 1
+     */
+    public int calculate(MatchMaskTable pattern, char[] text, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("距离上界不能为负数: " + maxDistance);
+        }
+        int m = pattern.length();
+        if (m == 0 || text.length == 0) {
+            int distance = Math.max(m, text.length);
+            return distance > maxDistance ? maxDistance + 1 : distance;
+        }
+        if (Math.abs(m - text.length) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int distance = pattern.wordCount() == 1
+                ? calculateSingleWord(pattern, text, maxDistance)
+                : calculateBlocked(pattern, text, maxDistance);
+        return distance > maxDistance ? maxDistance + 1 : distance;
+    }
+
+    /**
+     * 模式串不超过64个字符时的单字块算法
+     */
+    private int calculateSingleWord(MatchMaskTable pattern, char[] text, int maxDistance) {
+        int m = pattern.length();
+        long[] entryBits = pattern.entryBits();
+        long lastBit = 1L << (m - 1);
+
+        long pv = -1L;
+        long mv = 0L;
+        int score = m;
+
+        for (int j = 0; j < text.length; j++) {
+            int id = pattern.find(text[j]);
+            long eq = id < 0 ? 0L : entryBits[pattern.entryStart(id)];
+
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+
+            if ((ph & lastBit) != 0) {
+                score++;
+            } else if ((mh & lastBit) != 0) {
+                score--;
+            }
+
+            // 第0行 D[0][j] = j，水平差值恒为+1
+            ph = (ph << 1) | 1L;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+
+            if (score - (text.length - 1 - j) > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * 多字块算法，每个字块的水平输出差值作为下一字块的输入
+     */
+    private int calculateBlocked(MatchMaskTable pattern, char[] text, int maxDistance) {
+        long[] pv = new long[pattern.wordCount()];
+        long[] mv = new long[pattern.wordCount()];
+        Arrays.fill(pv, -1L);
+        int score = pattern.length();
+
+        for (int j = 0; j < text.length; j++) {
+            score += advance(pattern, text[j], pv, mv);
+
+            if (score - (text.length - 1 - j) > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * 处理文本的一个字符，更新各字块的垂直差值
+     * pv/mv的第k位表示D[k+1][j] - D[k][j]为+1/-1，初始时pv全为1、mv全为0；
+     * 第0行 D[0][j] = j，因此处理完j个字符后任一行的DP值可由差值的前缀和得到
+     *
+     * @param pattern 模式串的匹配掩码表
+     * @param c       文本字符
+     * @param pv      正垂直差值，原地更新
+     * @param mv      负垂直差值，原地更新
+     * @return 最后一行DP值的变化量（-1、0或1）
+     */
+    static int advance(MatchMaskTable pattern, char c, long[] pv, long[] mv) {
+        int words = pattern.wordCount();
+        int[] entryWords = pattern.entryWords();
+        long[] entryBits = pattern.entryBits();
+        int lastWord = words - 1;
+        long lastBit = 1L << ((pattern.length() - 1) & 63);
+
+        int id = pattern.find(c);
+        int entry = id < 0 ? 0 : pattern.entryStart(id);
+        int entryEnd = id < 0 ? 0 : pattern.entryEnd(id);
+
+        int delta = 0;
+        int hin = 1;
+        for (int w = 0; w < words; w++) {
+            long eq = 0L;
+            if (entry < entryEnd && entryWords[entry] == w) {
+                eq = entryBits[entry++];
+            }
+
+            long pvw = pv[w];
+            long mvw = mv[w];
+            long hinIsNeg = hin < 0 ? 1L : 0L;
+
+            long xv = eq | mvw;
+            eq |= hinIsNeg;
+            long xh = (((eq & pvw) + pvw) ^ pvw) | eq;
+            long ph = mvw | ~(xh | pvw);
+            long mh = pvw & xh;
+
+            if (w == lastWord) {
+                if ((ph & lastBit) != 0) {
+                    delta = 1;
+                } else if ((mh & lastBit) != 0) {
+                    delta = -1;
+                }
+            }
+
+            int hout = 0;
+            if (ph < 0) {
+                hout = 1;
+            } else if (mh < 0) {
+                hout = -1;
+            }
+
+            ph <<= 1;
+            mh <<= 1;
+            if (hin > 0) {
+                ph |= 1L;
+            } else if (hin < 0) {
+                mh |= 1L;
+            }
+
+            pv[w] = mh | ~(xv | ph);
+            mv[w] = ph & xv;
+            hin = hout;
+        }
+        return delta;
+    }
+}
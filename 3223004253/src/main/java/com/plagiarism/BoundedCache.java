@@ -0,0 +1,397 @@
+package com.plagiarism;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 按字节预算限制容量的缓存
+ * 每个条目带有估算的字节数，总字节数超过预算时淘汰条目，淘汰策略参照W-TinyLFU：
+ * <ul>
+ * <li>新条目先进入占预算1%的窗口区（LRU），窗口区溢出的条目进入主区的试用段</li>
+ * <li>主区分为试用段和占主区80%的保护段，试用段中再次命中的条目晋升到保护段</li>
+ * <li>需要淘汰时，从窗口区移入的候选条目与试用段最久未用的条目比较近期访问频率，频率低者被淘汰</li>
+ * </ul>
+ * 访问频率由4行的计数最小草图（Count-Min Sketch）近似统计，计数达到采样上限后全部减半，
+ * 使过去的热点逐渐失效。只访问一次的大条目因此不会挤掉反复使用的条目。
+ *
+ * 所有方法均已同步，可被多个线程共享；值的计算不在锁内进行，由调用方在未命中时计算后放入，
+ * 条件查找的条件也在锁外判断
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class BoundedCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final LinkedHashMap<K, Node<K, V>> window = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<K, V>> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, Node<K, V>> protectedSegment = new LinkedHashMap<>();
+    private final long[] segmentWeights = new long[3];
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long rejectionCount;
+
+    /**
+     * @param maximumWeight   字节预算
+     * @param expectedEntries 预计的条目数，用于确定频率草图的大小
+     */
+    public BoundedCache(long maximumWeight, int expectedEntries) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0: " + maximumWeight);
+        }
+        if (expectedEntries < 1) {
+            throw new IllegalArgumentException("预计条目数必须大于0: " + expectedEntries);
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 4 / 5;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * 查找条目，未命中时返回null
+     */
+    public synchronized V get(K key) {
+        sketch.increment(key);
+        Node<K, V> node = nodes.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * 查找条目，只有值满足条件时才算命中
+     * 键由内容哈希构成时用于排除哈希冲突：值不满足条件时计为未命中，
+     * 不更新该条目的访问顺序，也不增加该键的访问频率。
+     * 条件在锁外判断，比较大段内容时不阻塞其他线程的查找和放入
+     *
+     * @param key     键
+     * @param matches 值是否对应本次查找的条件
+     * @return 满足条件的值，未命中时返回null
+     */
+    public V get(K key, Predicate<? super V> matches) {
+        Node<K, V> node;
+        V value;
+        synchronized (this) {
+            node = nodes.get(key);
+            value = node == null ? null : node.value;
+        }
+
+        boolean matched = value != null && matches.test(value);
+
+        synchronized (this) {
+            if (node != null && !matched) {
+                missCount++;
+                return null;
+            }
+            sketch.increment(key);
+            if (node == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            // 判断条件期间条目可能已被淘汰或替换，只对仍在缓存中的同一条目更新访问顺序
+            if (nodes.get(key) == node) {
+                onAccess(node);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 放入条目，已存在时替换
+     * 字节数超过整个预算的条目不会被缓存
+     *
+     * @param key    键
+     * @param value  值
+     * @param weight 估算的字节数
+     */
+    public synchronized void put(K key, V value, long weight) {
+        if (value == null) {
+            throw new IllegalArgumentException("缓存值不能为空");
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("条目大小不能为负数: " + weight);
+        }
+
+        Node<K, V> node = nodes.get(key);
+        if (weight > maximumWeight) {
+            rejectionCount++;
+            if (node != null) {
+                remove(node);
+            }
+            return;
+        }
+
+        if (node != null) {
+            node.value = value;
+            segmentWeights[node.segment] += weight - node.weight;
+            node.weight = weight;
+            onAccess(node);
+        } else {
+            node = new Node<>(key, value, weight);
+            nodes.put(key, node);
+            window.put(key, node);
+            segmentWeights[WINDOW] += weight;
+        }
+        evict();
+    }
+
+    /**
+     * 清空缓存，保留统计数据
+     */
+    public synchronized void clear() {
+        nodes.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        segmentWeights[WINDOW] = 0;
+        segmentWeights[PROBATION] = 0;
+        segmentWeights[PROTECTED] = 0;
+    }
+
+    /**
+     * 条目数
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * 当前条目的字节数之和
+     */
+    public synchronized long getWeightedSize() {
+        return segmentWeights[WINDOW] + segmentWeights[PROBATION] + segmentWeights[PROTECTED];
+    }
+
+    /**
+     * 字节预算
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * 命中次数
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 因超出预算被淘汰的条目数
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 因大于整个预算而未被缓存的条目数
+     */
+    public synchronized long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    /**
+     * 命中率，尚无查找时为0
+     */
+    public synchronized double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.segment) {
+            case WINDOW:
+                moveToEnd(window, node);
+                break;
+            case PROBATION:
+                // 试用段中再次命中的条目晋升到保护段，保护段超出配额时最久未用的条目降回试用段
+                probation.remove(node.key);
+                segmentWeights[PROBATION] -= node.weight;
+                node.segment = PROTECTED;
+                protectedSegment.put(node.key, node);
+                segmentWeights[PROTECTED] += node.weight;
+                while (segmentWeights[PROTECTED] > protectedMaximum && protectedSegment.size() > 1) {
+                    Node<K, V> demoted = first(protectedSegment);
+                    protectedSegment.remove(demoted.key);
+                    segmentWeights[PROTECTED] -= demoted.weight;
+                    demoted.segment = PROBATION;
+                    probation.put(demoted.key, demoted);
+                    segmentWeights[PROBATION] += demoted.weight;
+                }
+                break;
+            default:
+                moveToEnd(protectedSegment, node);
+                break;
+        }
+    }
+
+    private void evict() {
+        // 窗口区溢出的条目移入试用段，作为候选与试用段中最久未用的条目竞争
+        ArrayDeque<Node<K, V>> candidates = new ArrayDeque<>();
+        while (segmentWeights[WINDOW] > windowMaximum) {
+            Node<K, V> node = first(window);
+            window.remove(node.key);
+            segmentWeights[WINDOW] -= node.weight;
+            node.segment = PROBATION;
+            probation.put(node.key, node);
+            segmentWeights[PROBATION] += node.weight;
+            candidates.add(node);
+        }
+
+        while (getWeightedSize() > maximumWeight) {
+            Node<K, V> victim = first(probation);
+            if (victim == null) {
+                victim = first(protectedSegment);
+            }
+            if (victim == null) {
+                victim = first(window);
+            }
+
+            Node<K, V> candidate = candidates.peekFirst();
+            if (candidate == null || candidate == victim) {
+                remove(victim);
+                candidates.remove(victim);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                remove(victim);
+            } else {
+                remove(candidate);
+                candidates.pollFirst();
+            }
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        nodes.remove(node.key);
+        segment(node.segment).remove(node.key);
+        segmentWeights[node.segment] -= node.weight;
+        evictionCount++;
+    }
+
+    private LinkedHashMap<K, Node<K, V>> segment(int segment) {
+        switch (segment) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedSegment;
+        }
+    }
+
+    private static <K, V> void moveToEnd(LinkedHashMap<K, Node<K, V>> segment, Node<K, V> node) {
+        segment.remove(node.key);
+        segment.put(node.key, node);
+    }
+
+    private static <K, V> Node<K, V> first(LinkedHashMap<K, Node<K, V>> segment) {
+        Iterator<Node<K, V>> iterator = segment.values().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static class Node<K, V> {
+        final K key;
+        V value;
+        long weight;
+        int segment = WINDOW;
+
+        Node(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 计数最小草图
+     * 每个键在4行中各对应一个计数器（上限15），频率取4个计数器的最小值。
+     * 累计计数达到宽度的10倍时所有计数器减半
+     */
+    private static class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L };
+        private static final int MAX_COUNT = 15;
+
+        private final byte[][] counters;
+        private final int shift;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int width = Integer.highestOneBit(Math.max(64, Math.min(expectedEntries, 1 << 24)) * 2 - 1);
+            counters = new byte[SEEDS.length][width];
+            shift = 64 - Integer.numberOfTrailingZeros(width);
+            sampleSize = width * 10;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key);
+            boolean added = false;
+            for (int row = 0; row < SEEDS.length; row++) {
+                int index = index(hash, row);
+                if (counters[row][index] < MAX_COUNT) {
+                    counters[row][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key);
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, counters[row][index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        private int index(int hash, int row) {
+            return (int) (((hash + SEEDS[row]) * SEEDS[row]) >>> shift);
+        }
+
+        private void reset() {
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+
+        private static int spread(Object key) {
+            int hash = key.hashCode();
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.plagiarism;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 命令行参数
+ * 将运行模式之后的参数拆分为位置参数和 --名称 值 形式的选项
+ */
+class CommandLineOptions {
+
+    private final List<String> positional = new ArrayList<>();
+    private final Map<String, String> options = new HashMap<>();
+
+    /**
+     * 解析参数，args[0]为运行模式，不参与解析
+     */
+    static CommandLineOptions parse(String[] args) {
+        CommandLineOptions result = new CommandLineOptions();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("选项缺少取值: " + args[i]);
+                }
+                result.options.put(args[i].substring(2), args[++i]);
+            } else {
+                result.positional.add(args[i]);
+            }
+        }
+        return result;
+    }
+
+    List<String> positional() {
+        return positional;
+    }
+
+    String get(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("选项--" + name + "的取值无效: " + value);
+        }
+    }
+
+    double getDouble(String name, double defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("选项--" + name + "的取值无效: " + value);
+        }
+    }
+
+    /**
+     * 工作线程数，默认为处理器核数
+     */
+    int getThreads() {
+        return getInt("threads", Runtime.getRuntime().availableProcessors());
+    }
+}
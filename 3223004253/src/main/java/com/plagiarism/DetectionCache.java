@@ -0,0 +1,128 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 查重缓存
+ * 学生重复提交相同的文件、教师重复运行相同的检查时，避免重复构建文档特征和重复计算相似度：
+ * <ul>
+ * <li>文档特征按规范化文本的内容哈希缓存，查找时比较文本内容，哈希冲突计为未命中</li>
+ * <li>文档对的综合相似度按两篇文档的内容哈希、长度和影响结果的计算参数缓存，
+ * 条目中保存两篇文档的规范化文本，命中时同样比较内容</li>
+ * </ul>
+ * 两部分共享一个字节预算（结果部分占1/16），各自按BoundedCache的策略淘汰。
+ * 文档特征的大小按规范化字符数估算，包含随后按需构建的向量、掩码表和后缀自动机；
+ * 相似度结果的大小包含所保存的规范化文本
+ */
+public class DetectionCache {
+
+    /** 默认字节预算 */
+    public static final long DEFAULT_MAXIMUM_BYTES = 256L << 20;
+
+    /** 文档特征中与长度无关的估算字节数 */
+    private static final long PROFILE_BASE_BYTES = 512;
+
+    /** 文档特征每个规范化字符的估算字节数 */
+    private static final long PROFILE_BYTES_PER_CHAR = 48;
+
+    /** 一条相似度结果的估算字节数 */
+    private static final long RESULT_BYTES = 160;
+
+    private final BoundedCache<Long, DocumentProfile> profiles;
+    private final BoundedCache<List<Object>, SimilarityEntry> results;
+
+    /**
+     * @param maximumBytes 字节预算
+     */
+    public DetectionCache(long maximumBytes) {
+        if (maximumBytes < RESULT_BYTES * 16) {
+            throw new IllegalArgumentException("缓存容量过小: " + maximumBytes);
+        }
+        long resultBytes = maximumBytes / 16;
+        long profileBytes = maximumBytes - resultBytes;
+        this.profiles = new BoundedCache<>(profileBytes,
+                (int) Math.min(Integer.MAX_VALUE, profileBytes / (PROFILE_BASE_BYTES + PROFILE_BYTES_PER_CHAR * 4096)));
+        this.results = new BoundedCache<>(resultBytes, (int) Math.min(Integer.MAX_VALUE, resultBytes / RESULT_BYTES));
+    }
+
+    /**
+     * 获取文档特征，未缓存时由计算器构建并放入缓存
+     *
+     * @param text       规范化文本
+     * @param calculator 文本相似度计算器
+     * @return 文档特征
+     */
+    public DocumentProfile getProfile(NormalizedText text, TextSimilarityCalculator calculator) {
+        Long key = text.contentHash();
+        DocumentProfile cached = profiles.get(key, profile -> Arrays.equals(profile.getText().getChars(), text.getChars()));
+        if (cached != null) {
+            return cached;
+        }
+        DocumentProfile profile = calculator.createProfile(text);
+        profiles.put(key, profile, PROFILE_BASE_BYTES + PROFILE_BYTES_PER_CHAR * text.length());
+        return profile;
+    }
+
+    /**
+     * 获取综合相似度，未缓存时由计算器计算并放入缓存
+     *
+     * @param original   原文特征
+     * @param candidate  抄袭版特征
+     * @param calculator 文本相似度计算器
+     * @return 综合相似度
+     */
+    public double getSimilarity(DocumentProfile original, DocumentProfile candidate,
+            TextSimilarityCalculator calculator) {
+        List<Object> key = Arrays.asList(original.getContentHash(), original.length(),
+                candidate.getContentHash(), candidate.length(), calculator.resultSettings());
+        char[] originalChars = original.getText().getChars();
+        char[] candidateChars = candidate.getText().getChars();
+        SimilarityEntry cached = results.get(key, entry -> Arrays.equals(entry.original, originalChars)
+                && Arrays.equals(entry.candidate, candidateChars));
+        if (cached != null) {
+            return cached.similarity;
+        }
+        double similarity = calculator.calculateComprehensiveSimilarity(original, candidate);
+        results.put(key, new SimilarityEntry(originalChars, candidateChars, similarity),
+                RESULT_BYTES + 2L * (originalChars.length + candidateChars.length));
+        return similarity;
+    }
+
+    /**
+     * 文档特征缓存，用于查看命中率等统计数据
+     */
+    public BoundedCache<Long, DocumentProfile> getProfileCache() {
+        return profiles;
+    }
+
+    /**
+     * 相似度结果缓存，用于查看命中率等统计数据
+     */
+    public BoundedCache<List<Object>, ?> getResultCache() {
+        return results;
+    }
+
+    /**
+     * 清空两部分缓存
+     */
+    public void clear() {
+        profiles.clear();
+        results.clear();
+    }
+
+    /**
+     * 缓存的综合相似度及计算时两篇文档的规范化文本
+     */
+    private static final class SimilarityEntry {
+        final char[] original;
+        final char[] candidate;
+        final double similarity;
+
+        SimilarityEntry(char[] original, char[] candidate, double similarity) {
+            this.original = original;
+            this.candidate = candidate;
+            this.similarity = similarity;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.plagiarism;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 查重各阶段的JDK Flight Recorder事件
+ * 事件在读取文件、预处理、向量化、计算各项相似度和写入结果时记录输入规模、所用算法和耗时，
+ * 通过标准的JFR记录启用，例如：
+ * <pre>
+ * java -XX:StartFlightRecording=filename=detect.jfr,settings=profile -jar ...
+ * jcmd &lt;pid&gt; JFR.start duration=60s filename=detect.jfr
+ * </pre>
+ * 调用方按 begin() → 计算 → shouldCommit() 判断后再填充字段并 commit() 的方式使用：
+ * 未启用记录时shouldCommit()返回false，不会计算事件字段，事件对象也会被即时编译器消除
+ */
+final class DetectionEvents {
+
+    private static final String CATEGORY = "Plagiarism Detection";
+
+    private DetectionEvents() {
+    }
+
+    @Name("com.plagiarism.FileRead")
+    @Label("读取文件")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class FileRead extends Event {
+        @Label("文件路径")
+        String path;
+
+        @Label("文件大小")
+        @DataAmount
+        long bytes;
+
+        @Label("字符数")
+        @Description("readFile为解码后的字符数，readNormalized为规范化后的字符数")
+        long characters;
+
+        @Label("读取方式")
+        @Description("readFile、buffered（整块读入）或mapped（分块内存映射）")
+        String method;
+    }
+
+    @Name("com.plagiarism.Preprocess")
+    @Label("文本预处理")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Preprocess extends Event {
+        @Label("输入字符数")
+        long inputLength;
+
+        @Label("规范化后字符数")
+        long outputLength;
+    }
+
+    @Name("com.plagiarism.Vectorize")
+    @Label("向量化")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Vectorize extends Event {
+        @Label("向量类型")
+        @Description("ngram为字符n-gram向量，word为词频向量")
+        String kind;
+
+        @Label("n-gram长度")
+        int n;
+
+        @Label("文本字符数")
+        long textLength;
+
+        @Label("不同项数")
+        int terms;
+    }
+
+    @Name("com.plagiarism.SimilarityComponent")
+    @Label("相似度分项")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class SimilarityComponent extends Event {
+        @Label("分项")
+        @Description("cosine、editDistance、lcs、substringCoverage或segmented")
+        String component;
+
+        @Label("算法")
+        String algorithm;
+
+        @Label("原文字符数")
+        long length1;
+
+        @Label("抄袭版字符数")
+        long length2;
+
+        @Label("相似度")
+        double similarity;
+    }
+
+    @Name("com.plagiarism.Comparison")
+    @Label("综合相似度")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Comparison extends Event {
+        @Label("原文字符数")
+        long length1;
+
+        @Label("抄袭版字符数")
+        long length2;
+
+        @Label("对齐方式")
+        String alignmentMode;
+
+        @Label("字符级相似度计算方式")
+        String characterMetric;
+
+        @Label("阈值")
+        @Description("未指定阈值时为NaN")
+        double threshold;
+
+        @Label("相似度")
+        @Description("指定阈值且低于阈值时为提前结束得到的上界")
+        double similarity;
+    }
+
+    @Name("com.plagiarism.ResultWrite")
+    @Label("写入结果")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ResultWrite extends Event {
+        @Label("输出路径")
+        String path;
+
+        @Label("相似度")
+        double similarity;
+    }
+}
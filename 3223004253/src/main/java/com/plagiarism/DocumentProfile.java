@@ -0,0 +1,150 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 文档特征
+ * 保存一篇文档的规范化文本、语言类型、内容哈希以及按需构建的词频向量、匹配掩码表、分段索引、后缀自动机和字符直方图。
+ * 同一篇原文与多篇抄袭版比较时只需构建一次，避免重复预处理和向量化
+ *
+ * 延迟构建的字段允许并发访问：多个线程同时首次访问时可能各自构建一次，但结果相同
+ */
+public class DocumentProfile {
+
+    private final NormalizedText text;
+    private final TextSimilarityCalculator.TextLanguage language;
+
+    private volatile TermFrequencyTable wordVector;
+    private volatile NGramVector nGramVector;
+    private volatile MatchMaskTable matchMasks;
+    private volatile SegmentIndex segmentIndex;
+    private volatile SuffixAutomaton suffixAutomaton;
+    private volatile long[] characterHistogram;
+
+    DocumentProfile(NormalizedText text, TextSimilarityCalculator.TextLanguage language) {
+        this.text = text;
+        this.language = language;
+    }
+
+    /**
+     * 规范化文本
+     */
+    public NormalizedText getText() {
+        return text;
+    }
+
+    /**
+     * 规范化后的字符数
+     */
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * 文本语言类型
+     */
+    public TextSimilarityCalculator.TextLanguage getLanguage() {
+        return language;
+    }
+
+    /**
+     * 规范化文本的内容哈希
+     */
+    public long getContentHash() {
+        return text.contentHash();
+    }
+
+    /**
+     * 获取词频向量，首次调用时构建
+     */
+    TermFrequencyTable getWordVector(TextSimilarityCalculator calculator) {
+        TermFrequencyTable vector = wordVector;
+        if (vector == null) {
+            vector = calculator.generateWordVector(text.getChars());
+            wordVector = vector;
+        }
+        return vector;
+    }
+
+    /**
+     * 获取字符n-gram向量，n-gram长度变化时重新构建
+     */
+    TermFrequencyTable getNGramVector(NGramVectorizer vectorizer) {
+        NGramVector vector = nGramVector;
+        if (vector == null || vector.n != vectorizer.getN()) {
+            vector = new NGramVector(vectorizer.getN(), vectorizer.vectorize(text.getChars()));
+            nGramVector = vector;
+        }
+        return vector.table;
+    }
+
+    /**
+     * 获取以本文档为模式串的匹配掩码表，首次调用时构建
+     */
+    MatchMaskTable getMatchMasks() {
+        MatchMaskTable masks = matchMasks;
+        if (masks == null) {
+            masks = new MatchMaskTable(text.getChars());
+            matchMasks = masks;
+        }
+        return masks;
+    }
+
+    /**
+     * 获取分段索引，片段长度变化时重新构建
+     */
+    SegmentIndex getSegmentIndex(int segmentLength) {
+        SegmentIndex index = segmentIndex;
+        if (index == null || index.getSegmentLength() != segmentLength) {
+            index = new SegmentIndex(text.getChars(), segmentLength);
+            segmentIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * 获取本文档的后缀自动机，首次调用时构建
+     */
+    SuffixAutomaton getSuffixAutomaton() {
+        SuffixAutomaton automaton = suffixAutomaton;
+        if (automaton == null) {
+            automaton = new SuffixAutomaton(text.getChars());
+            suffixAutomaton = automaton;
+        }
+        return automaton;
+    }
+
+    /**
+     * 获取字符直方图，首次调用时构建
+     * 每项为"字符 &lt;&lt; 32 | 出现次数"，按字符升序排列
+     */
+    long[] getCharacterHistogram() {
+        long[] histogram = characterHistogram;
+        if (histogram == null) {
+            char[] sorted = text.getChars().clone();
+            Arrays.sort(sorted);
+            histogram = new long[sorted.length];
+            int count = 0;
+            for (int i = 0; i < sorted.length; ) {
+                int start = i;
+                while (i < sorted.length && sorted[i] == sorted[start]) {
+                    i++;
+                }
+                histogram[count++] = ((long) sorted[start] << 32) | (i - start);
+            }
+            histogram = Arrays.copyOf(histogram, count);
+            characterHistogram = histogram;
+        }
+        return histogram;
+    }
+
+    private static class NGramVector {
+        final int n;
+        final TermFrequencyTable table;
+
+        NGramVector(int n, TermFrequencyTable table) {
+            this.n = n;
+            this.table = table;
+        }
+    }
+}
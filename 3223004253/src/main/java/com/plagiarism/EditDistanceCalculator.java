@@ -0,0 +1,111 @@
+package com.plagiarism;
+
+/**
+ * 编辑距离计算器
+ * 使用两行滚动数组计算Levenshtein距离，内存占用随文本长度线性增长
+ * （启用SIMD实现时改为按反对角线并行计算，见SimilarityKernels），并支持Ukkonen带状剪枝：距离超过给定上界时提前结束
+ */
+public class EditDistanceCalculator {
+
+    /**
+     * 计算编辑距离
+     *
+     * @param s1 文本1的字符数组
+     * @param s2 文本2的字符数组
+     * @return 编辑距离
+     */
+    public int calculate(char[] s1, char[] s2) {
+        // 以较短文本作为列，使滚动数组尽量小
+        if (s1.length < s2.length) {
+            char[] temp = s1;
+            s1 = s2;
+            s2 = temp;
+        }
+
+        return SimilarityKernels.get().editDistance(s1, s2);
+    }
+
+    /**
+     * 计算带上界的编辑距离（Ukkonen带状算法）
+     * 只计算主对角线两侧maxDistance范围内的单元格，一旦整行都超过上界即提前返回
+     *
+     * @param s1          文本1的字符数组
+     * @param s2          文本2的字符数组
+     * @param maxDistance 距离上界
+     * @return 编辑距离；若超过上界则返回maxDistance + 1
+     */
+    public int calculate(char[] s1, char[] s2, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("距离上界不能为负数: " + maxDistance);
+        }
+
+        if (s1.length < s2.length) {
+            char[] temp = s1;
+            s1 = s2;
+            s2 = temp;
+        }
+
+        int m = s1.length;
+        int n = s2.length;
+
+        // 长度差本身就是编辑距离的下界
+        if (m - n > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        // 带宽覆盖整个矩阵时直接使用完整算法
+        if (maxDistance >= m) {
+            return calculate(s1, s2);
+        }
+
+        int overflow = maxDistance + 1;
+        int[] prev = new int[n + 1];
+        int[] curr = new int[n + 1];
+
+        for (int j = 0; j <= n; j++) {
+            prev[j] = j <= maxDistance ? j : overflow;
+        }
+
+        for (int i = 1; i <= m; i++) {
+            char c = s1[i - 1];
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(n, i + maxDistance);
+
+            // 带外单元格视为已超过上界
+            curr[0] = i <= maxDistance ? i : overflow;
+            if (from > 1) {
+                curr[from - 1] = overflow;
+            }
+
+            int rowMin = curr[from - 1];
+            for (int j = from; j <= to; j++) {
+                int value;
+                if (c == s2[j - 1]) {
+                    value = prev[j - 1];
+                } else {
+                    value = Math.min(Math.min(prev[j], curr[j - 1]), prev[j - 1]) + 1;
+                }
+                if (value > overflow) {
+                    value = overflow;
+                }
+                curr[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            if (to < n) {
+                curr[to + 1] = overflow;
+            }
+
+            if (rowMin > maxDistance) {
+                return overflow;
+            }
+
+            int[] temp = prev;
+            prev = curr;
+            curr = temp;
+        }
+
+        return Math.min(prev[n], overflow);
+    }
+}
@@ -1,9 +1,20 @@
 package com.plagiarism;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 文件处理器
@@ -11,6 +22,18 @@ import java.nio.file.Paths;
  */
 public class FileProcessor {
 
+    /** 小于该大小的文件直接读入字节数组，不做内存映射 */
+    private static final long MAPPING_THRESHOLD = 1 << 20;
+
+    /** 每次映射的字节数 */
+    private static final long MAPPING_CHUNK = 1 << 26;
+
+    /** UTF-8字符的最大字节数 */
+    private static final int MAX_UTF8_BYTES = 4;
+
+    /** 解码缓冲区的字符数 */
+    private static final int DECODE_BUFFER_SIZE = 1 << 13;
+
     /**
      * 读取文件内容
      * 
@@ -19,13 +42,112 @@ public class FileProcessor {
      * @throws IOException 文件读取异常
      */
     public String readFile(String filePath) throws IOException {
+        DetectionEvents.FileRead event = new DetectionEvents.FileRead();
+        event.begin();
         try {
-            return new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
+            byte[] bytes = Files.readAllBytes(Paths.get(filePath));
+            String content = new String(bytes, StandardCharsets.UTF_8);
+            if (event.shouldCommit()) {
+                event.path = filePath;
+                event.bytes = bytes.length;
+                event.characters = content.length();
+                event.method = "readFile";
+                event.commit();
+            }
+            return content;
+        } catch (IOException e) {
+            throw new IOException("无法读取文件: " + filePath + ", 错误: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取文件并直接规范化
+     * 文件按块内存映射，UTF-8分块解码后立即送入规范化器，不创建整个文件的字节数组或字符串，
+     * 可以处理超过2GB的文件。非法字节序列与readFile一样替换为U+FFFD
+     *
+     * @param filePath 文件路径
+     * @return 规范化文本
+     * @throws IOException 文件读取异常
+     */
+    public NormalizedText readNormalized(String filePath) throws IOException {
+        return readNormalized(filePath, MAPPING_THRESHOLD, MAPPING_CHUNK);
+    }
+
+    /**
+     * 以指定的映射阈值和块大小读取文件，用于测试跨块解码
+     */
+    NormalizedText readNormalized(String filePath, long mappingThreshold, long mappingChunk) throws IOException {
+        if (mappingChunk <= 0) {
+            throw new IllegalArgumentException("映射块大小必须为正数: " + mappingChunk);
+        }
+        DetectionEvents.FileRead event = new DetectionEvents.FileRead();
+        event.begin();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            TextNormalizer normalizer = new TextNormalizer((int) Math.min(size / 3 + 16, mappingChunk));
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            CharBuffer chars = CharBuffer.allocate(DECODE_BUFFER_SIZE);
+
+            if (size < mappingThreshold) {
+                ByteBuffer bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining()) {
+                    if (channel.read(bytes) < 0) {
+                        break;
+                    }
+                }
+                bytes.flip();
+                decode(decoder, bytes, chars, normalizer, true);
+            } else {
+                long position = 0;
+                long chunk = mappingChunk;
+                while (position < size) {
+                    long length = Math.min(chunk, size - position);
+                    ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    boolean last = position + length == size;
+                    decode(decoder, bytes, chars, normalizer, last);
+                    // 块尾不完整的多字节序列留到下一块重新映射；
+                    // 块小于一个多字节字符时一个字节也解码不了，放大下一块直到能容纳完整字符
+                    chunk = bytes.position() == 0 ? Math.max(chunk, MAX_UTF8_BYTES) : mappingChunk;
+                    position += bytes.position();
+                }
+            }
+
+            while (decoder.flush(chars) == CoderResult.OVERFLOW) {
+                drain(chars, normalizer);
+            }
+            drain(chars, normalizer);
+            NormalizedText text = normalizer.toNormalizedText();
+            if (event.shouldCommit()) {
+                event.path = filePath;
+                event.bytes = size;
+                event.characters = text.length();
+                event.method = size < mappingThreshold ? "buffered" : "mapped";
+                event.commit();
+            }
+            return text;
         } catch (IOException e) {
             throw new IOException("无法读取文件: " + filePath + ", 错误: " + e.getMessage(), e);
         }
     }
 
+    private static void decode(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars,
+            TextNormalizer normalizer, boolean endOfInput) {
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            drain(chars, normalizer);
+            if (result.isUnderflow()) {
+                return;
+            }
+        }
+    }
+
+    private static void drain(CharBuffer chars, TextNormalizer normalizer) {
+        normalizer.append(chars.array(), 0, chars.position());
+        chars.clear();
+    }
+
     /**
      * 写入结果到文件
      * 
@@ -34,12 +156,19 @@ public class FileProcessor {
      * @throws IOException 文件写入异常
      */
     public void writeResult(String filePath, double similarity) throws IOException {
+        DetectionEvents.ResultWrite event = new DetectionEvents.ResultWrite();
+        event.begin();
         try (PrintWriter writer = new PrintWriter(
                 new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8))) {
             writer.printf("%.2f", similarity);
         } catch (IOException e) {
             throw new IOException("无法写入文件: " + filePath + ", 错误: " + e.getMessage(), e);
         }
+        if (event.shouldCommit()) {
+            event.path = filePath;
+            event.similarity = similarity;
+            event.commit();
+        }
     }
 
     /**
@@ -81,4 +210,26 @@ public class FileProcessor {
             return false;
         }
     }
+
+    /**
+     * 列出目录下的所有普通文件，按路径排序
+     *
+     * @param directory 目录路径
+     * @return 文件路径列表
+     * @throws IOException 目录访问异常
+     */
+    public static List<Path> listFiles(String directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(directory))) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new IOException("无法读取目录: " + directory + ", 错误: " + e.getMessage(), e);
+        }
+        files.sort(null);
+        return files;
+    }
 }
@@ -0,0 +1,315 @@
+package com.plagiarism;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 内存指纹索引
+ * 保存指纹到文档的倒排表，查询时统计待查文档与每篇已索引文档的公共指纹数，
+ * 按公共指纹数排序给出候选来源，只有候选来源才需要计算综合相似度
+ *
+ * 指纹表使用开放寻址的long数组，倒排表以数组链表存储，不创建装箱对象。
+ * 添加文档不是线程安全的，建好后可以被多个线程同时查询
+ */
+public class FingerprintIndex {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final WinnowingFingerprinter fingerprinter;
+    private final List<String> names = new ArrayList<>();
+    private int[] fingerprintCounts = new int[16];
+
+    private long[] keys;
+    private int[] heads;
+    private int distinct;
+
+    private int[] postingDocuments = new int[MIN_CAPACITY];
+    private int[] postingNext = new int[MIN_CAPACITY];
+    private int postings;
+
+    public FingerprintIndex(WinnowingFingerprinter fingerprinter) {
+        this.fingerprinter = fingerprinter;
+        this.keys = new long[MIN_CAPACITY];
+        this.heads = new int[MIN_CAPACITY];
+    }
+
+    /**
+     * 命令行入口
+     * --search &lt;源文档目录&gt; &lt;待查文件&gt; &lt;输出文件&gt;，可附加 --top 候选数
+     *
+     * @return 进程退出码
+     */
+    static int run(String[] args) throws IOException {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        List<String> positional = options.positional();
+        if (positional.size() != 3) {
+            throw new IllegalArgumentException("检索模式参数数量不正确");
+        }
+
+        PlagiarismDetector detector = new PlagiarismDetector();
+        TextSimilarityCalculator calculator = detector.getSimilarityCalculator();
+        FingerprintIndex index = new FingerprintIndex(new WinnowingFingerprinter());
+        List<DocumentProfile> sources = new ArrayList<>();
+        for (Path file : FileProcessor.listFiles(positional.get(0))) {
+            DocumentProfile profile = calculator.createProfile(detector.getFileProcessor().readNormalized(file.toString()));
+            index.add(file.getFileName().toString(), profile.getText().getChars());
+            sources.add(profile);
+        }
+
+        DocumentProfile suspect = detector.readProfile(positional.get(1), "待查文件为空");
+        List<Match> matches = index.query(suspect.getText().getChars(), options.getInt("top", 10));
+        writeMatches(positional.get(2), matches, calculator, suspect, match -> sources.get(match.getDocumentId()));
+        System.out.println("检索完成，共索引" + index.size() + "篇文档，候选来源" + matches.size() + "篇");
+        return 0;
+    }
+
+    /**
+     * 写出检索结果，对每个候选来源计算综合相似度
+     */
+    static void writeMatches(String outputPath, List<Match> matches, TextSimilarityCalculator calculator,
+            DocumentProfile suspect, SourceLoader sources) throws IOException {
+        try (PrintWriter writer = new PrintWriter(
+                Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8))) {
+            writer.println("排名\t文档\t公共指纹数\t相似度");
+            for (int rank = 0; rank < matches.size(); rank++) {
+                Match match = matches.get(rank);
+                double similarity = calculator.calculateComprehensiveSimilarity(sources.load(match), suspect);
+                writer.printf("%d\t%s\t%d\t%.2f%n", rank + 1, match.getName(), match.getSharedFingerprints(),
+                        similarity);
+            }
+        } catch (IOException e) {
+            throw new IOException("无法写入文件: " + outputPath + ", 错误: " + e.getMessage(), e);
+        }
+    }
+
+    public WinnowingFingerprinter getFingerprinter() {
+        return fingerprinter;
+    }
+
+    /**
+     * 已索引的文档数
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * 不同指纹的个数
+     */
+    public int distinctFingerprints() {
+        return distinct;
+    }
+
+    /**
+     * 添加一篇文档
+     *
+     * @param name 文档名称
+     * @param text 规范化文本字符数组
+     * @return 文档编号，按添加顺序从0开始
+     */
+    public int add(String name, char[] text) {
+        long[] fingerprints = fingerprinter.fingerprints(text);
+        int id = names.size();
+        names.add(name);
+        if (id == fingerprintCounts.length) {
+            fingerprintCounts = Arrays.copyOf(fingerprintCounts, id * 2);
+        }
+        fingerprintCounts[id] = fingerprints.length;
+
+        for (long fingerprint : fingerprints) {
+            if ((distinct + 1) * 2 > keys.length) {
+                resize();
+            }
+            int slot = slotOf(fingerprint);
+            if (heads[slot] == 0) {
+                keys[slot] = fingerprint;
+                distinct++;
+            }
+            if (postings == postingDocuments.length) {
+                postingDocuments = Arrays.copyOf(postingDocuments, postings * 2);
+                postingNext = Arrays.copyOf(postingNext, postings * 2);
+            }
+            // 倒排表头保存为编号加1，0表示空槽
+            postingDocuments[postings] = id;
+            postingNext[postings] = heads[slot] - 1;
+            heads[slot] = ++postings;
+        }
+        return id;
+    }
+
+    /**
+     * 查询与文本共享指纹最多的文档
+     *
+     * @param text  规范化文本字符数组
+     * @param limit 最多返回的文档数
+     * @return 按公共指纹数降序排列的匹配，不包含没有公共指纹的文档
+     */
+    public List<Match> query(char[] text, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("返回数量必须大于0: " + limit);
+        }
+        long[] fingerprints = fingerprinter.fingerprints(text);
+        int[] shared = new int[names.size()];
+        int[] touched = new int[Math.min(names.size(), 16)];
+        int touchedCount = 0;
+
+        for (long fingerprint : fingerprints) {
+            int slot = slotOf(fingerprint);
+            for (int posting = heads[slot] - 1; posting >= 0; posting = postingNext[posting]) {
+                int document = postingDocuments[posting];
+                if (shared[document]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = document;
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(touchedCount);
+        for (int i = 0; i < touchedCount; i++) {
+            int document = touched[i];
+            matches.add(new Match(document, names.get(document), shared[document],
+                    fingerprints.length, fingerprintCounts[document]));
+        }
+        return rank(matches, limit);
+    }
+
+    /**
+     * 按公共指纹数降序、文档编号升序排列，并截取前limit个
+     */
+    static List<Match> rank(List<Match> matches, int limit) {
+        matches.sort((a, b) -> a.sharedFingerprints != b.sharedFingerprints
+                ? Integer.compare(b.sharedFingerprints, a.sharedFingerprints)
+                : Integer.compare(a.documentId, b.documentId));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * 文档名称
+     */
+    String name(int document) {
+        return names.get(document);
+    }
+
+    /**
+     * 文档的指纹个数
+     */
+    int documentFingerprints(int document) {
+        return fingerprintCounts[document];
+    }
+
+    /**
+     * 升序排列的全部不同指纹
+     */
+    long[] sortedFingerprints() {
+        long[] result = new long[distinct];
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (heads[slot] != 0) {
+                result[count++] = keys[slot];
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * 获取包含指纹的文档编号
+     *
+     * @param fingerprint 指纹
+     * @param buffer      长度不小于文档数的缓冲区，按编号升序写入
+     * @return 文档个数
+     */
+    int postings(long fingerprint, int[] buffer) {
+        int count = 0;
+        // 倒排表按添加顺序逆序链接，从尾部向前填充
+        for (int posting = heads[slotOf(fingerprint)] - 1; posting >= 0; posting = postingNext[posting]) {
+            count++;
+        }
+        int position = count;
+        for (int posting = heads[slotOf(fingerprint)] - 1; posting >= 0; posting = postingNext[posting]) {
+            buffer[--position] = postingDocuments[posting];
+        }
+        return count;
+    }
+
+    private int slotOf(long fingerprint) {
+        int mask = keys.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (heads[slot] != 0 && keys[slot] != fingerprint) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldHeads = heads;
+        keys = new long[oldKeys.length * 2];
+        heads = new int[oldHeads.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                heads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    /**
+     * 按检索结果加载候选来源的文档特征
+     */
+    interface SourceLoader {
+        DocumentProfile load(Match match) throws IOException;
+    }
+
+    /**
+     * 查询匹配结果
+     */
+    public static class Match {
+        private final int documentId;
+        private final String name;
+        private final int sharedFingerprints;
+        private final int queryFingerprints;
+        private final int documentFingerprints;
+
+        Match(int documentId, String name, int sharedFingerprints, int queryFingerprints, int documentFingerprints) {
+            this.documentId = documentId;
+            this.name = name;
+            this.sharedFingerprints = sharedFingerprints;
+            this.queryFingerprints = queryFingerprints;
+            this.documentFingerprints = documentFingerprints;
+        }
+
+        public int getDocumentId() {
+            return documentId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSharedFingerprints() {
+            return sharedFingerprints;
+        }
+
+        /**
+         * 待查文档的指纹中被该文档包含的比例
+         */
+        public double getContainment() {
+            return queryFingerprints == 0 ? 0.0 : (double) sharedFingerprints / queryFingerprints;
+        }
+
+        public int getDocumentFingerprints() {
+            return documentFingerprints;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.plagiarism;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 增量查重器
+ * 同一篇原文反复与同一篇论文的各个修订版比较时，只重新计算修改过的区域。
+ *
+ * 编辑距离和最长公共子序列都以原文为模式串、按修订版逐字符推进位向量状态，
+ * 查重器每推进checkpointInterval个字符保存一次状态：正向检查点从修订版开头推进，
+ * 反向检查点以反转的原文为模式串、从修订版末尾向前推进。新修订版与上一版逐字符比较得到
+ * 未改动的公共前缀和公共后缀，从前缀内最近的正向检查点推进到后缀内最近的反向检查点所在位置i，
+ * 再按Hirschberg的分割关系拼接两半：
+ * <pre>
+ * ED(A, B)  = min_j ED(A[0..j), B[0..i)) + ED(A[j..m), B[i..n))
+ * LCS(A, B) = max_j LCS(A[0..j), B[0..i)) + LCS(A[j..m), B[i..n))
+ * </pre>
+ * 两半在各个j上的取值分别由正向和反向状态的前缀和得到，拼接只需O(m)。
+ *
+ * 首次检查时正反两个方向各完整推进一遍，建立全部检查点。之后每次检查只推进修改区域及其两侧不超过
+ * 一个检查点间隔的字符，但修改区域之后的正向检查点和之前的反向检查点随之失效，
+ * 因此下一次检查的推进范围从上一次的修改区域延伸到新的修改区域：反复修改相近的段落时开销最小。
+ * 余弦相似度和子串覆盖率本身与文本长度成线性关系，每次检查都重新计算。
+ * 分段对齐方式下各片段的对齐随修改整体变化，直接完整计算。
+ *
+ * 查重器保存上一个修订版的状态，不能被多个线程同时使用
+ */
+public class IncrementalSimilarityChecker {
+
+    /** 默认检查点间隔（字符数） */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 256;
+
+    private final TextSimilarityCalculator calculator;
+    private final DocumentProfile original;
+    private final MatchMaskTable forwardMasks;
+    private final MatchMaskTable backwardMasks;
+    private final int checkpointInterval;
+
+    // 第c个正向检查点为处理修订版前c * checkpointInterval个字符后的状态，反向检查点对应后缀
+    private final List<State> forwardCheckpoints = new ArrayList<>();
+    private final List<State> backwardCheckpoints = new ArrayList<>();
+    private char[] revision;
+    private int lastAdvancedLength;
+
+    /**
+     * 使用默认检查点间隔创建增量查重器
+     *
+     * @param calculator 文本相似度计算器
+     * @param original   原文特征
+     */
+    public IncrementalSimilarityChecker(TextSimilarityCalculator calculator, DocumentProfile original) {
+        this(calculator, original, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param calculator         文本相似度计算器
+     * @param original           原文特征
+     * @param checkpointInterval 检查点间隔，越小则每次检查多推进的字符越少、保存的状态越多
+     */
+    public IncrementalSimilarityChecker(TextSimilarityCalculator calculator, DocumentProfile original,
+            int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("检查点间隔必须大于0: " + checkpointInterval);
+        }
+        this.calculator = calculator;
+        this.original = original;
+        this.forwardMasks = original.getMatchMasks();
+        this.backwardMasks = new MatchMaskTable(reverse(original.getText().getChars()));
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * 检查一个修订版
+     *
+     * @param revision 修订版原始文本
+     * @return 与calculateComprehensiveSimilarity相同的综合相似度
+     */
+    public double check(String revision) {
+        return check(calculator.createProfile(revision));
+    }
+
+    /**
+     * 检查一个修订版
+     *
+     * @param revision 修订版特征
+     * @return 与calculateComprehensiveSimilarity相同的综合相似度
+     */
+    public double check(DocumentProfile revision) {
+        if (calculator.getAlignmentMode() == TextSimilarityCalculator.AlignmentMode.SEGMENTED) {
+            lastAdvancedLength = revision.length();
+            return calculator.calculateComprehensiveSimilarity(original, revision);
+        }
+
+        int[] distances = update(revision.getText().getChars());
+        return calculator.calculateComprehensiveSimilarity(original, revision, distances[0], distances[1]);
+    }
+
+    /**
+     * 上一次检查中位向量状态推进的字符数（两个方向之和），用于观察增量检查的效果
+     */
+    public int getLastAdvancedLength() {
+        return lastAdvancedLength;
+    }
+
+    /**
+     * 更新检查点并计算编辑距离和最长公共子序列长度
+     *
+     * @return {编辑距离, 最长公共子序列长度}
+     */
+    private int[] update(char[] chars) {
+        int n = chars.length;
+        int interval = checkpointInterval;
+        boolean initial = revision == null;
+
+        int forwardIndex = 0;
+        int backwardIndex = 0;
+        if (initial) {
+            forwardCheckpoints.add(State.initial(forwardMasks));
+            backwardCheckpoints.add(State.initial(backwardMasks));
+        } else {
+            int limit = Math.min(revision.length, n);
+            int prefix = 0;
+            while (prefix < limit && revision[prefix] == chars[prefix]) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < limit - prefix && revision[revision.length - 1 - suffix] == chars[n - 1 - suffix]) {
+                suffix++;
+            }
+            forwardIndex = Math.min(prefix / interval, forwardCheckpoints.size() - 1);
+            backwardIndex = Math.min(suffix / interval, backwardCheckpoints.size() - 1);
+            truncate(forwardCheckpoints, forwardIndex + 1);
+            truncate(backwardCheckpoints, backwardIndex + 1);
+        }
+
+        // 从正向检查点推进到反向检查点所在位置，沿途保存新的正向检查点
+        int start = forwardIndex * interval;
+        int split = n - backwardIndex * interval;
+        State forward = forwardCheckpoints.get(forwardIndex).copy();
+        for (int i = start; i < split; i++) {
+            forward.advance(forwardMasks, chars[i]);
+            if ((i + 1) % interval == 0) {
+                forwardCheckpoints.add(forward.copy());
+            }
+        }
+        State backward = backwardCheckpoints.get(backwardIndex);
+        lastAdvancedLength = split - start;
+
+        if (initial) {
+            // 首次检查时反向完整推进一遍，之后修改任意位置都有可用的反向检查点
+            State state = backward.copy();
+            for (int i = n - 1; i >= 0; i--) {
+                state.advance(backwardMasks, chars[i]);
+                if ((n - i) % interval == 0) {
+                    backwardCheckpoints.add(state.copy());
+                }
+            }
+            lastAdvancedLength += n;
+        }
+
+        revision = chars;
+        return new int[] {
+                spliceEditDistance(forward, split, backward, n - split),
+                spliceLcs(forward, backward) };
+    }
+
+    /**
+     * min_j 正向第j行的DP值 + 反向第m - j行的DP值
+     */
+    private int spliceEditDistance(State forward, int forwardLength, State backward, int backwardLength) {
+        int m = original.length();
+        int[] suffixDistances = new int[m + 1];
+        int distance = backwardLength;
+        suffixDistances[0] = distance;
+        for (int j = 1; j <= m; j++) {
+            distance += bit(backward.pv, j - 1) - bit(backward.mv, j - 1);
+            suffixDistances[j] = distance;
+        }
+
+        distance = forwardLength;
+        int best = distance + suffixDistances[m];
+        for (int j = 1; j <= m; j++) {
+            distance += bit(forward.pv, j - 1) - bit(forward.mv, j - 1);
+            best = Math.min(best, distance + suffixDistances[m - j]);
+        }
+        return best;
+    }
+
+    /**
+     * max_j 正向前j位的0位数 + 反向前m - j位的0位数
+     */
+    private int spliceLcs(State forward, State backward) {
+        int m = original.length();
+        int[] suffixLengths = new int[m + 1];
+        int length = 0;
+        for (int j = 1; j <= m; j++) {
+            length += 1 - bit(backward.v, j - 1);
+            suffixLengths[j] = length;
+        }
+
+        length = 0;
+        int best = suffixLengths[m];
+        for (int j = 1; j <= m; j++) {
+            length += 1 - bit(forward.v, j - 1);
+            best = Math.max(best, length + suffixLengths[m - j]);
+        }
+        return best;
+    }
+
+    private static int bit(long[] words, int index) {
+        return (int) (words[index >>> 6] >>> (index & 63)) & 1;
+    }
+
+    private static void truncate(List<State> checkpoints, int size) {
+        checkpoints.subList(size, checkpoints.size()).clear();
+    }
+
+    private static char[] reverse(char[] chars) {
+        char[] reversed = new char[chars.length];
+        for (int i = 0; i < chars.length; i++) {
+            reversed[chars.length - 1 - i] = chars[i];
+        }
+        return reversed;
+    }
+
+    /**
+     * 编辑距离的垂直差值pv、mv和最长公共子序列的状态v
+     */
+    private static class State {
+        final long[] pv;
+        final long[] mv;
+        final long[] v;
+
+        State(long[] pv, long[] mv, long[] v) {
+            this.pv = pv;
+            this.mv = mv;
+            this.v = v;
+        }
+
+        static State initial(MatchMaskTable masks) {
+            long[] pv = new long[masks.wordCount()];
+            long[] v = new long[masks.wordCount()];
+            Arrays.fill(pv, -1L);
+            Arrays.fill(v, -1L);
+            return new State(pv, new long[masks.wordCount()], v);
+        }
+
+        void advance(MatchMaskTable masks, char c) {
+            BitVectorEditDistanceCalculator.advance(masks, c, pv, mv);
+            LcsCalculator.advance(masks, c, v);
+        }
+
+        State copy() {
+            return new State(pv.clone(), mv.clone(), v.clone());
+        }
+    }
+}
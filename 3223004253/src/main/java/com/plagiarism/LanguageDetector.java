@@ -0,0 +1,225 @@
+package com.plagiarism;
+
+import java.nio.CharBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * 语言检测器
+ * 按字符类别表统计中文字符和拉丁字母的数量，判定规则为：
+ * 两者在字母中的占比达到DOMINANCE时判为该语言，都未达到时为混合文本，没有字母时为未知。
+ * <ul>
+ * <li>中文包括基本区、扩展A区、兼容汉字，以及由代理对表示的第二、第三平面（扩展B至H区等）汉字</li>
+ * <li>拉丁字母包括基本拉丁字母、全角字母和带变音符号的拉丁字母（U+00C0至U+024F）</li>
+ * </ul>
+ * 文本长度达到采样阈值时进入采样模式：以64个字符的窗口为样本单位伪随机地不放回抽取，
+ * 用Hoeffding不等式判断中文占比相对两个阈值的位置，能以给定置信度确定结果时提前结束。
+ * 无法在检查完全部窗口前确定时，结果与完整扫描相同。
+ *
+ * 实例不可变，可被多个线程共享
+ */
+public class LanguageDetector {
+
+    /** 判为单一语言所需的字母占比 */
+    public static final double DOMINANCE = 0.8;
+
+    /** 默认采样阈值（字符数） */
+    public static final int DEFAULT_SAMPLING_THRESHOLD = 64 * 1024;
+
+    /** 默认置信度 */
+    public static final double DEFAULT_CONFIDENCE = 0.999;
+
+    private static final int WINDOW = 64;
+
+    /** 采样模式下第一次判定前检查的窗口数，此后每翻倍判定一次 */
+    private static final int FIRST_CHECK = 16;
+
+    private static final byte CLASS_OTHER = 0;
+    private static final byte CLASS_HAN = 1;
+    private static final byte CLASS_LATIN = 2;
+    private static final byte CLASS_HIGH_SURROGATE = 3;
+
+    private static final byte[] CHAR_CLASS = new byte[Character.MAX_VALUE + 1];
+
+    static {
+        fill(0x3400, 0x4DBF, CLASS_HAN);
+        fill(0x4E00, 0x9FFF, CLASS_HAN);
+        fill(0xF900, 0xFAFF, CLASS_HAN);
+        fill('A', 'Z', CLASS_LATIN);
+        fill('a', 'z', CLASS_LATIN);
+        fill(0xFF21, 0xFF3A, CLASS_LATIN);
+        fill(0xFF41, 0xFF5A, CLASS_LATIN);
+        fill(0x00C0, 0x024F, CLASS_LATIN);
+        CHAR_CLASS[0x00D7] = CLASS_OTHER;
+        CHAR_CLASS[0x00F7] = CLASS_OTHER;
+        fill(Character.MIN_HIGH_SURROGATE, Character.MAX_HIGH_SURROGATE, CLASS_HIGH_SURROGATE);
+    }
+
+    private static void fill(int from, int to, byte charClass) {
+        for (int c = from; c <= to; c++) {
+            CHAR_CLASS[c] = charClass;
+        }
+    }
+
+    private final int samplingThreshold;
+    private final double confidence;
+
+    /**
+     * 使用默认采样阈值和置信度创建语言检测器
+     */
+    public LanguageDetector() {
+        this(DEFAULT_SAMPLING_THRESHOLD, DEFAULT_CONFIDENCE);
+    }
+
+    /**
+     * @param samplingThreshold 进入采样模式的文本长度，Integer.MAX_VALUE表示始终完整扫描
+     * @param confidence        采样结果的置信度，取值(0, 1)
+     */
+    public LanguageDetector(int samplingThreshold, double confidence) {
+        if (samplingThreshold < 1) {
+            throw new IllegalArgumentException("采样阈值必须大于0: " + samplingThreshold);
+        }
+        if (!(confidence > 0.0 && confidence < 1.0)) {
+            throw new IllegalArgumentException("置信度必须在0和1之间: " + confidence);
+        }
+        this.samplingThreshold = samplingThreshold;
+        this.confidence = confidence;
+    }
+
+    /**
+     * 进入采样模式的文本长度
+     */
+    public int getSamplingThreshold() {
+        return samplingThreshold;
+    }
+
+    /**
+     * 采样结果的置信度
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * 检测文本语言类型
+     *
+     * @param text 文本，null或只含空白时为未知
+     * @return 语言类型
+     */
+    public TextSimilarityCalculator.TextLanguage detect(CharSequence text) {
+        if (text == null) {
+            return TextSimilarityCalculator.TextLanguage.UNKNOWN;
+        }
+        long[] counts = new long[2];
+        if (text.length() < samplingThreshold) {
+            count(text, 0, text.length(), counts);
+            return classify(counts[0], counts[1]);
+        }
+        return detectBySampling(text, counts);
+    }
+
+    /**
+     * 检测字符数组的语言类型
+     */
+    public TextSimilarityCalculator.TextLanguage detect(char[] text) {
+        return detect(CharBuffer.wrap(text));
+    }
+
+    /**
+     * 根据中文字符数和拉丁字母数判定语言类型
+     */
+    public TextSimilarityCalculator.TextLanguage classify(long hanCount, long latinCount) {
+        long letters = hanCount + latinCount;
+        if (letters == 0) {
+            return TextSimilarityCalculator.TextLanguage.UNKNOWN;
+        }
+        double hanShare = (double) hanCount / letters;
+        if (hanShare >= DOMINANCE) {
+            return TextSimilarityCalculator.TextLanguage.CHINESE;
+        }
+        if (1.0 - hanShare >= DOMINANCE) {
+            return TextSimilarityCalculator.TextLanguage.ENGLISH;
+        }
+        return TextSimilarityCalculator.TextLanguage.MIXED;
+    }
+
+    /**
+     * 以窗口为样本单位做不放回的伪随机抽样。同一窗口内的字母高度相关，不能当作独立样本，
+     * 因此对每个窗口取有界统计量 han - θ·letters（取值范围长度为WINDOW），θ分别为两个判定阈值：
+     * 全文中文占比不低于θ等价于该统计量的窗口均值不小于0。
+     * 只在已检查窗口数翻倍时做判定，置信度按判定次数均分（联合界），提前结束时总体出错概率不超过1 - 置信度
+     */
+    private TextSimilarityCalculator.TextLanguage detectBySampling(CharSequence text, long[] counts) {
+        int length = text.length();
+        int windows = (length + WINDOW - 1) / WINDOW;
+        int checks = 1;
+        for (long k = FIRST_CHECK; k < windows; k *= 2) {
+            checks++;
+        }
+        // 每次判定有两个统计量，各取双侧界
+        double logTerm = Math.log(4.0 * checks / (1.0 - confidence)) / 2.0;
+
+        // 种子固定，同一文本的结果可以复现
+        int[] order = new int[windows];
+        for (int i = 0; i < windows; i++) {
+            order[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(windows);
+        int nextCheck = FIRST_CHECK;
+        for (int visited = 0; visited < windows; visited++) {
+            int pick = visited + random.nextInt(windows - visited);
+            int window = order[pick];
+            order[pick] = order[visited];
+            order[visited] = window;
+
+            int from = window * WINDOW;
+            count(text, from, Math.min(length, from + WINDOW), counts);
+            if (visited + 1 != nextCheck) {
+                continue;
+            }
+            nextCheck *= 2;
+
+            double sampled = visited + 1;
+            double margin = WINDOW * Math.sqrt(logTerm / sampled);
+            double letters = counts[0] + counts[1];
+            // 两个阈值下统计量的窗口均值
+            double chinese = (counts[0] - DOMINANCE * letters) / sampled;
+            double english = (counts[0] - (1.0 - DOMINANCE) * letters) / sampled;
+            if (chinese - margin >= 0) {
+                return TextSimilarityCalculator.TextLanguage.CHINESE;
+            }
+            if (english + margin <= 0) {
+                return TextSimilarityCalculator.TextLanguage.ENGLISH;
+            }
+            if (chinese + margin < 0 && english - margin > 0) {
+                return TextSimilarityCalculator.TextLanguage.MIXED;
+            }
+        }
+        return classify(counts[0], counts[1]);
+    }
+
+    /**
+     * 统计[from, to)内的中文字符和拉丁字母
+     * 代理对由高代理所在的位置计数，单独的低代理归为其他字符，因此相邻区间不会重复计数
+     */
+    private static void count(CharSequence text, int from, int to, long[] counts) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            byte charClass = CHAR_CLASS[c];
+            if (charClass == CLASS_HAN) {
+                counts[0]++;
+            } else if (charClass == CLASS_LATIN) {
+                counts[1]++;
+            } else if (charClass == CLASS_HIGH_SURROGATE && i + 1 < text.length()) {
+                char low = text.charAt(i + 1);
+                if (Character.isLowSurrogate(low)) {
+                    // 第二、第三平面为表意文字平面
+                    int codePoint = Character.toCodePoint(c, low);
+                    if (codePoint >= 0x20000 && codePoint <= 0x3FFFF) {
+                        counts[0]++;
+                    }
+                    i++;
+                }
+            }
+        }
+    }
+}
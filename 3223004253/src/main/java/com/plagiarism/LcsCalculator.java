@@ -0,0 +1,136 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 最长公共子序列计算器
+ * 使用Hyyrö/Allison-Dix位并行算法，每个long同时处理64个DP单元，
+ * 多字块进位相加以支持任意长度文本，额外内存仅为模式串长度的1/64
+ */
+public class LcsCalculator {
+
+    /**
+     * 计算最长公共子序列长度
+     * 以较短文本作为模式串构建匹配掩码表
+     *
+     * @param s1 文本1的字符数组
+     * @param s2 文本2的字符数组
+     * @return 最长公共子序列长度
+     */
+    public int calculate(char[] s1, char[] s2) {
+        if (s1.length == 0 || s2.length == 0) {
+            return 0;
+        }
+
+        if (s1.length <= s2.length) {
+            return calculate(new MatchMaskTable(s1), s2);
+        }
+        return calculate(new MatchMaskTable(s2), s1);
+    }
+
+    /**
+     * 基于已构建的匹配掩码表计算最长公共子序列长度
+     * 同一模式串与多个文本比较时可复用掩码表
+     *
+     * @param pattern 模式串的匹配掩码表
+     * @param text    文本字符数组
+     * @return 最长公共子序列长度
+     */
+    public int calculate(MatchMaskTable pattern, char[] text) {
+        return calculate(pattern, text, 0);
+    }
+
+    /**
+     * 计算带下界的最长公共子序列长度
+     * 每处理64个字符检查一次：当前长度加上剩余字符数是最终长度的上界，上界低于下界时提前结束
+     *
+     * @param pattern   模式串的匹配掩码表
+     * @param text      文本字符数组
+     * @param minLength 长度下界
+     * @return 最长公共子序列长度；提前结束时返回一个小于minLength的上界
+     */
+    public int calculate(MatchMaskTable pattern, char[] text, int minLength) {
+        int words = pattern.wordCount();
+        if (words == 0 || text.length == 0) {
+            return 0;
+        }
+
+        // V中的0位表示该位置的DP值比前一位置增加了1，初始全为1
+        long[] v = new long[words];
+        Arrays.fill(v, -1L);
+
+        for (int i = 0; i < text.length; i++) {
+            if ((i & 63) == 63 && minLength > 0) {
+                int bound = length(v) + text.length - i;
+                if (bound < minLength) {
+                    return bound;
+                }
+            }
+
+            advance(pattern, text[i], v);
+        }
+
+        return length(v);
+    }
+
+    /**
+     * 处理文本的一个字符，更新V
+     * 处理完若干字符后，V的前k位中0位的数量即为模式串前k个字符与已处理文本的最长公共子序列长度
+     *
+     * @param pattern 模式串的匹配掩码表
+     * @param c       文本字符
+     * @param v       状态位向量，初始全为1，原地更新
+     */
+    static void advance(MatchMaskTable pattern, char c, long[] v) {
+        int id = pattern.find(c);
+        if (id < 0) {
+            // 字符不在模式串中时 V' = V，无需更新
+            return;
+        }
+
+        int[] entryWords = pattern.entryWords();
+        long[] entryBits = pattern.entryBits();
+        int words = v.length;
+
+        // V' = (V + (V & M)) | (V & ~M)，M为零的字块仅需传播进位
+        int entry = pattern.entryStart(id);
+        int entryEnd = pattern.entryEnd(id);
+        long carry = 0;
+        int w = entryWords[entry];
+        while (w < words) {
+            long old = v[w];
+            long match = 0;
+            if (entry < entryEnd && entryWords[entry] == w) {
+                match = entryBits[entry++];
+            } else if (carry == 0) {
+                if (entry >= entryEnd) {
+                    break;
+                }
+                w = entryWords[entry];
+                continue;
+            }
+
+            long u = old & match;
+            long sum = old + u;
+            long nextCarry = Long.compareUnsigned(sum, old) < 0 ? 1 : 0;
+            sum += carry;
+            if (sum == 0 && carry != 0) {
+                nextCarry = 1;
+            }
+            v[w] = sum | (old & ~match);
+            carry = nextCarry;
+            w++;
+        }
+    }
+
+    /**
+     * 模式串长度之外的高位始终保持为1，因此0位数量即为LCS长度
+     */
+    private static int length(long[] v) {
+        int ones = 0;
+        for (long word : v) {
+            ones += Long.bitCount(word);
+        }
+        return v.length * 64 - ones;
+    }
+}
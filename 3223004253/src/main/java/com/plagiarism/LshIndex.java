@@ -0,0 +1,150 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 分段局部敏感哈希索引
+ * 把MinHash签名切成bands段、每段rows个值，任意一段完全相同的两篇文档成为候选对。
+ * Jaccard相似度为s的文档对成为候选的概率为1-(1-s^rows)^bands，
+ * 在阈值(1/bands)^(1/rows)附近陡峭上升
+ *
+ * 每段以"段哈希高32位 | 文档编号"打包成long后排序分组，不创建桶对象；
+ * 段哈希截断带来的少量误报由调用方的精确比较过滤
+ */
+public class LshIndex {
+
+    private final int bands;
+    private final int rows;
+    private long[][] bandKeys;
+    private int size;
+
+    /**
+     * @param bands 段数
+     * @param rows  每段的签名值个数
+     */
+    public LshIndex(int bands, int rows) {
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("段数和每段行数必须大于0: " + bands + ", " + rows);
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.bandKeys = new long[bands][16];
+    }
+
+    /**
+     * 根据目标Jaccard阈值选择段数和行数，使(1/bands)^(1/rows)最接近阈值
+     *
+     * @param numHashes        签名长度
+     * @param jaccardThreshold 目标Jaccard阈值
+     */
+    public static LshIndex forThreshold(int numHashes, double jaccardThreshold) {
+        if (jaccardThreshold <= 0.0 || jaccardThreshold > 1.0) {
+            throw new IllegalArgumentException("Jaccard阈值必须在(0, 1]之间: " + jaccardThreshold);
+        }
+        int bestRows = 1;
+        double bestError = Double.MAX_VALUE;
+        for (int rows = 1; rows <= numHashes; rows++) {
+            int bands = numHashes / rows;
+            double error = Math.abs(Math.pow(1.0 / bands, 1.0 / rows) - jaccardThreshold);
+            if (error < bestError) {
+                bestError = error;
+                bestRows = rows;
+            }
+        }
+        return new LshIndex(numHashes / bestRows, bestRows);
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * 已加入的文档数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 加入一篇文档的签名，文档编号按加入顺序从0开始
+     * 空文本的签名不参与分段，不会与任何文档成为候选对
+     *
+     * @return 文档编号
+     */
+    public int add(long[] signature) {
+        if (signature.length < bands * rows) {
+            throw new IllegalArgumentException("签名长度不足: " + signature.length);
+        }
+        int id = size++;
+        if (id == bandKeys[0].length) {
+            for (int band = 0; band < bands; band++) {
+                bandKeys[band] = Arrays.copyOf(bandKeys[band], id * 2);
+            }
+        }
+
+        boolean empty = MinHasher.isEmpty(signature);
+        for (int band = 0; band < bands; band++) {
+            // 空签名使用编号作为段哈希，保证互不相同
+            long hash = empty ? id : bandHash(signature, band * rows);
+            bandKeys[band][id] = (hash << 32) | id;
+        }
+        return id;
+    }
+
+    private long bandHash(long[] signature, int offset) {
+        long hash = rows;
+        for (int i = offset; i < offset + rows; i++) {
+            hash = MinHasher.mix(hash * 31 + signature[i]);
+        }
+        // 留出一位，避免与空签名使用的编号段哈希冲突
+        return (hash >>> 32) | 0x80000000L;
+    }
+
+    /**
+     * 获取所有候选对
+     *
+     * @return 升序排列、去重后的候选对，每个元素为 (i &lt;&lt; 32) | j，其中 i &lt; j
+     */
+    public long[] candidatePairs() {
+        long[] pairs = new long[Math.max(16, size)];
+        int count = 0;
+
+        long[] keys = new long[size];
+        for (int band = 0; band < bands; band++) {
+            System.arraycopy(bandKeys[band], 0, keys, 0, size);
+            Arrays.sort(keys);
+
+            int start = 0;
+            while (start < size) {
+                long hash = keys[start] >>> 32;
+                int end = start + 1;
+                while (end < size && keys[end] >>> 32 == hash) {
+                    end++;
+                }
+                // 同一段内文档编号已按升序排列
+                for (int a = start; a < end; a++) {
+                    for (int b = a + 1; b < end; b++) {
+                        if (count == pairs.length) {
+                            pairs = Arrays.copyOf(pairs, count * 2);
+                        }
+                        pairs[count++] = (keys[a] << 32) | (keys[b] & 0xFFFFFFFFL);
+                    }
+                }
+                start = end;
+            }
+        }
+
+        Arrays.sort(pairs, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || pairs[i] != pairs[unique - 1]) {
+                pairs[unique++] = pairs[i];
+            }
+        }
+        return Arrays.copyOf(pairs, unique);
+    }
+}
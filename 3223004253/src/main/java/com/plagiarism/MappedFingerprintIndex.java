@@ -0,0 +1,320 @@
+package com.plagiarism;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 内存映射指纹索引
+ * 指纹索引的磁盘格式，打开时只把文件以只读方式映射到内存，不解析也不加载到堆中，
+ * 多个进程打开同一索引时共享操作系统页缓存。查询时在有序指纹区间内二分查找
+ *
+ * 文件格式（大端序，各区段按8字节对齐）：
+ * <pre>
+ * 文件头     魔数、版本、k、窗口大小、文档数、不同指纹数、倒排项数及各区段偏移
+ * 指纹个数   int[文档数]
+ * 名称偏移   long[文档数 + 1]，指向名称区的UTF-8字节
+ * 名称区     全部文档名称的UTF-8字节
+ * 指纹区     long[不同指纹数]，升序
+ * 倒排偏移   long[不同指纹数 + 1]，指向倒排区的下标
+ * 倒排区     int[倒排项数]，每个指纹对应的文档编号，升序
+ * </pre>
+ *
+ * 单个MappedByteBuffer最大2GB，文件按1GB分段映射；分段大小是2的幂且区段8字节对齐，
+ * 因此int和long不会跨越分段
+ */
+public class MappedFingerprintIndex {
+
+    private static final int MAGIC = 0x504C4749;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 80;
+    private static final int SEGMENT_SHIFT = 30;
+
+    private final MappedByteBuffer[] segments;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final WinnowingFingerprinter fingerprinter;
+
+    private final int documentCount;
+    private final long fingerprintCount;
+    private final long fingerprintCountsOffset;
+    private final long nameOffsetsOffset;
+    private final long keysOffset;
+    private final long postingOffsetsOffset;
+    private final long postingsOffset;
+
+    private MappedFingerprintIndex(Path path, int segmentShift) throws IOException {
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("索引文件格式错误: " + path);
+            }
+            int count = (int) ((size + segmentMask) >>> segmentShift);
+            segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i << segmentShift;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentMask + 1, size - start));
+            }
+        } catch (IOException e) {
+            throw new IOException("无法读取索引文件: " + path + ", 错误: " + e.getMessage(), e);
+        }
+
+        if (readInt(0) != MAGIC || readInt(4) != VERSION) {
+            throw new IOException("索引文件格式错误: " + path);
+        }
+        this.fingerprinter = new WinnowingFingerprinter(readInt(8), readInt(12));
+        this.documentCount = readInt(16);
+        this.fingerprintCount = readLong(24);
+        this.fingerprintCountsOffset = readLong(40);
+        this.nameOffsetsOffset = readLong(48);
+        this.keysOffset = readLong(56);
+        this.postingOffsetsOffset = readLong(64);
+        this.postingsOffset = readLong(72);
+    }
+
+    /**
+     * 打开索引文件
+     */
+    public static MappedFingerprintIndex open(Path path) throws IOException {
+        return new MappedFingerprintIndex(path, SEGMENT_SHIFT);
+    }
+
+    /**
+     * 以指定分段大小打开索引文件，用于测试跨分段读取
+     */
+    static MappedFingerprintIndex open(Path path, int segmentShift) throws IOException {
+        return new MappedFingerprintIndex(path, segmentShift);
+    }
+
+    /**
+     * 命令行入口
+     * --index-build &lt;源文档目录&gt; &lt;索引文件&gt;
+     * 或 --index-query &lt;索引文件&gt; &lt;待查文件&gt; &lt;输出文件&gt;，可附加 --top 候选数
+     *
+     * @return 进程退出码
+     */
+    static int run(String[] args) throws IOException {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        List<String> positional = options.positional();
+        PlagiarismDetector detector = new PlagiarismDetector();
+        TextSimilarityCalculator calculator = detector.getSimilarityCalculator();
+
+        if ("--index-build".equals(args[0]) && positional.size() == 2) {
+            FingerprintIndex index = new FingerprintIndex(new WinnowingFingerprinter());
+            for (Path file : FileProcessor.listFiles(positional.get(0))) {
+                NormalizedText text = detector.getFileProcessor().readNormalized(file.toString());
+                index.add(file.toAbsolutePath().toString(), text.getChars());
+            }
+            write(index, Paths.get(positional.get(1)));
+            System.out.println("索引构建完成，共" + index.size() + "篇文档，" + index.distinctFingerprints() + "个指纹");
+            return 0;
+        }
+        if ("--index-query".equals(args[0]) && positional.size() == 3) {
+            MappedFingerprintIndex index = open(Paths.get(positional.get(0)));
+            DocumentProfile suspect = detector.readProfile(positional.get(1), "待查文件为空");
+            List<FingerprintIndex.Match> matches = index.query(suspect.getText().getChars(), options.getInt("top", 10));
+            FingerprintIndex.writeMatches(positional.get(2), matches, calculator, suspect,
+                    match -> calculator.createProfile(detector.getFileProcessor().readNormalized(match.getName())));
+            System.out.println("检索完成，共索引" + index.size() + "篇文档，候选来源" + matches.size() + "篇");
+            return 0;
+        }
+        throw new IllegalArgumentException("索引模式参数数量不正确");
+    }
+
+    /**
+     * 把内存指纹索引写成磁盘格式
+     *
+     * @param index 内存指纹索引
+     * @param path  索引文件路径
+     */
+    public static void write(FingerprintIndex index, Path path) throws IOException {
+        int documents = index.size();
+        long[] keys = index.sortedFingerprints();
+        byte[][] names = new byte[documents][];
+        long namesLength = 0;
+        for (int i = 0; i < documents; i++) {
+            names[i] = index.name(i).getBytes(StandardCharsets.UTF_8);
+            namesLength += names[i].length;
+        }
+
+        int[] buffer = new int[documents];
+        long postingCount = 0;
+        for (long key : keys) {
+            postingCount += index.postings(key, buffer);
+        }
+
+        long fingerprintCountsOffset = HEADER_SIZE;
+        long nameOffsetsOffset = align(fingerprintCountsOffset + 4L * documents);
+        long namesOffset = nameOffsetsOffset + 8L * (documents + 1);
+        long keysOffset = align(namesOffset + namesLength);
+        long postingOffsetsOffset = keysOffset + 8L * keys.length;
+        long postingsOffset = postingOffsetsOffset + 8L * (keys.length + 1);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(index.getFingerprinter().getK());
+            out.writeInt(index.getFingerprinter().getWindow());
+            out.writeInt(documents);
+            out.writeInt(0);
+            out.writeLong(keys.length);
+            out.writeLong(postingCount);
+            out.writeLong(fingerprintCountsOffset);
+            out.writeLong(nameOffsetsOffset);
+            out.writeLong(keysOffset);
+            out.writeLong(postingOffsetsOffset);
+            out.writeLong(postingsOffset);
+
+            for (int i = 0; i < documents; i++) {
+                out.writeInt(index.documentFingerprints(i));
+            }
+            pad(out, nameOffsetsOffset - (fingerprintCountsOffset + 4L * documents));
+
+            long nameOffset = namesOffset;
+            for (int i = 0; i < documents; i++) {
+                out.writeLong(nameOffset);
+                nameOffset += names[i].length;
+            }
+            out.writeLong(nameOffset);
+            for (byte[] name : names) {
+                out.write(name);
+            }
+            pad(out, keysOffset - (namesOffset + namesLength));
+
+            for (long key : keys) {
+                out.writeLong(key);
+            }
+            long postingOffset = 0;
+            for (long key : keys) {
+                out.writeLong(postingOffset);
+                postingOffset += index.postings(key, buffer);
+            }
+            out.writeLong(postingOffset);
+            for (long key : keys) {
+                int count = index.postings(key, buffer);
+                for (int i = 0; i < count; i++) {
+                    out.writeInt(buffer[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new IOException("无法写入索引文件: " + path + ", 错误: " + e.getMessage(), e);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static void pad(DataOutputStream out, long bytes) throws IOException {
+        for (long i = 0; i < bytes; i++) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * 已索引的文档数
+     */
+    public int size() {
+        return documentCount;
+    }
+
+    /**
+     * 不同指纹的个数
+     */
+    public long distinctFingerprints() {
+        return fingerprintCount;
+    }
+
+    /**
+     * 文档名称
+     */
+    public String name(int document) {
+        long start = readLong(nameOffsetsOffset + 8L * document);
+        long end = readLong(nameOffsetsOffset + 8L * (document + 1));
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            long position = start + i;
+            bytes[i] = segments[(int) (position >>> segmentShift)].get((int) (position & segmentMask));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 查询与文本共享指纹最多的文档，结果与内存指纹索引相同
+     *
+     * @param text  规范化文本字符数组
+     * @param limit 最多返回的文档数
+     * @return 按公共指纹数降序排列的匹配
+     */
+    public List<FingerprintIndex.Match> query(char[] text, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("返回数量必须大于0: " + limit);
+        }
+        long[] fingerprints = fingerprinter.fingerprints(text);
+        int[] shared = new int[documentCount];
+        int[] touched = new int[Math.min(documentCount, 16)];
+        int touchedCount = 0;
+
+        // 查询指纹升序，下一次查找从上一次的位置开始
+        long low = 0;
+        for (long fingerprint : fingerprints) {
+            long position = lowerBound(fingerprint, low);
+            low = position;
+            if (position == fingerprintCount || readLong(keysOffset + 8L * position) != fingerprint) {
+                continue;
+            }
+            long from = readLong(postingOffsetsOffset + 8L * position);
+            long to = readLong(postingOffsetsOffset + 8L * (position + 1));
+            for (long posting = from; posting < to; posting++) {
+                int document = readInt(postingsOffset + 4L * posting);
+                if (shared[document]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = document;
+                }
+            }
+        }
+
+        List<FingerprintIndex.Match> matches = new ArrayList<>(touchedCount);
+        for (int i = 0; i < touchedCount; i++) {
+            int document = touched[i];
+            matches.add(new FingerprintIndex.Match(document, name(document), shared[document],
+                    fingerprints.length, readInt(fingerprintCountsOffset + 4L * document)));
+        }
+        return FingerprintIndex.rank(matches, limit);
+    }
+
+    private long lowerBound(long fingerprint, long low) {
+        long high = fingerprintCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (readLong(keysOffset + 8L * middle) < fingerprint) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int readInt(long position) {
+        return segments[(int) (position >>> segmentShift)].getInt((int) (position & segmentMask));
+    }
+
+    private long readLong(long position) {
+        return segments[(int) (position >>> segmentShift)].getLong((int) (position & segmentMask));
+    }
+}
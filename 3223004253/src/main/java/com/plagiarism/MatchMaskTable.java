@@ -0,0 +1,138 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 匹配掩码表
+ * 为模式串中每个字符记录其出现位置的位向量，供位并行算法使用。
+ * 中文文本字母表很大，因此只按字符稀疏存储非零的64位字块，总存储量不超过模式串长度
+ */
+public class MatchMaskTable {
+
+    private final int length;
+    private final int wordCount;
+
+    // 字符到编号的开放寻址散列表
+    private final char[] slotKeys;
+    private final int[] slotIds;
+    private final int slotMask;
+
+    // 每个字符的掩码字块区间 [entryStart[id], entryEnd[id])，按字块序号递增排列
+    private final int[] entryStart;
+    private final int[] entryEnd;
+    private final int[] entryWords;
+    private final long[] entryBits;
+
+    /**
+     * 根据模式串构建匹配掩码表
+     *
+     * @param pattern 模式串字符数组
+     */
+    public MatchMaskTable(char[] pattern) {
+        this.length = pattern.length;
+        this.wordCount = (pattern.length + 63) >>> 6;
+
+        int maxDistinct = Math.min(Math.max(4, pattern.length), 1 << 16);
+        int capacity = Integer.highestOneBit(maxDistinct * 2 - 1) << 1;
+        this.slotKeys = new char[capacity];
+        this.slotIds = new int[capacity];
+        this.slotMask = capacity - 1;
+        Arrays.fill(slotIds, -1);
+
+        // 第一遍：为字符编号并统计出现次数
+        int[] ids = new int[pattern.length];
+        int[] counts = new int[maxDistinct];
+        int distinct = 0;
+        for (int i = 0; i < pattern.length; i++) {
+            char c = pattern[i];
+            int slot = slotOf(c);
+            if (slotIds[slot] < 0) {
+                slotKeys[slot] = c;
+                slotIds[slot] = distinct++;
+            }
+            ids[i] = slotIds[slot];
+            counts[ids[i]]++;
+        }
+
+        // 出现次数是该字符字块数量的上界，按此预留区间
+        this.entryStart = new int[distinct];
+        this.entryEnd = new int[distinct];
+        int offset = 0;
+        for (int id = 0; id < distinct; id++) {
+            entryStart[id] = offset;
+            entryEnd[id] = offset;
+            offset += counts[id];
+        }
+        this.entryWords = new int[offset];
+        this.entryBits = new long[offset];
+
+        // 第二遍：按位置顺序填充掩码，同一字块内的位置合并到同一项
+        for (int i = 0; i < pattern.length; i++) {
+            int id = ids[i];
+            int word = i >>> 6;
+            int end = entryEnd[id];
+            if (end > entryStart[id] && entryWords[end - 1] == word) {
+                entryBits[end - 1] |= 1L << (i & 63);
+            } else {
+                entryWords[end] = word;
+                entryBits[end] = 1L << (i & 63);
+                entryEnd[id] = end + 1;
+            }
+        }
+    }
+
+    private int slotOf(char c) {
+        int slot = (c * 0x9E3779B9) >>> 15 & slotMask;
+        while (slotIds[slot] >= 0 && slotKeys[slot] != c) {
+            slot = (slot + 1) & slotMask;
+        }
+        return slot;
+    }
+
+    /**
+     * 查找字符编号
+     *
+     * @param c 字符
+     * @return 字符编号；模式串中不存在该字符时返回-1
+     */
+    public int find(char c) {
+        return slotIds[slotOf(c)];
+    }
+
+    /**
+     * 模式串长度
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 模式串占用的64位字块数
+     */
+    public int wordCount() {
+        return wordCount;
+    }
+
+    /**
+     * 模式串中不同字符的个数，字符编号在[0, distinctCount())内
+     */
+    int distinctCount() {
+        return entryStart.length;
+    }
+
+    int entryStart(int id) {
+        return entryStart[id];
+    }
+
+    int entryEnd(int id) {
+        return entryEnd[id];
+    }
+
+    int[] entryWords() {
+        return entryWords;
+    }
+
+    long[] entryBits() {
+        return entryBits;
+    }
+}
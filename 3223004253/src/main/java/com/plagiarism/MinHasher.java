@@ -0,0 +1,109 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * MinHash签名生成器
+ * 以规范化文本的字符n-gram集合为元素，对每个哈希函数取最小值组成签名，
+ * 两篇文档签名中相同位置取值相等的比例是其n-gram集合Jaccard相似度的无偏估计
+ */
+public class MinHasher {
+
+    private final NGramVectorizer vectorizer;
+    private final long[] seeds;
+
+    /**
+     * @param numHashes   签名长度（哈希函数个数）
+     * @param shingleSize n-gram长度
+     * @param seed        随机种子，相同种子生成的签名可以相互比较
+     */
+    public MinHasher(int numHashes, int shingleSize, long seed) {
+        if (numHashes < 1) {
+            throw new IllegalArgumentException("哈希函数个数必须大于0: " + numHashes);
+        }
+        this.vectorizer = new NGramVectorizer(shingleSize);
+        this.seeds = new long[numHashes];
+
+        long state = seed;
+        for (int i = 0; i < numHashes; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            seeds[i] = mix(state);
+        }
+    }
+
+    /**
+     * 签名长度
+     */
+    public int getNumHashes() {
+        return seeds.length;
+    }
+
+    /**
+     * n-gram长度
+     */
+    public int getShingleSize() {
+        return vectorizer.getN();
+    }
+
+    /**
+     * 生成签名
+     * 不含任何n-gram的文本签名全部为Long.MAX_VALUE
+     *
+     * @param text 规范化文本字符数组
+     * @return MinHash签名
+     */
+    public long[] signature(char[] text) {
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        vectorizer.forEachShingle(text, shingle -> {
+            long base = mix(shingle);
+            for (int i = 0; i < signature.length; i++) {
+                long value = mix(base ^ seeds[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        });
+        return signature;
+    }
+
+    /**
+     * 签名是否来自不含任何n-gram的文本
+     */
+    public static boolean isEmpty(long[] signature) {
+        for (long value : signature) {
+            if (value != Long.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 由两个签名估计Jaccard相似度
+     */
+    public static double estimateJaccard(long[] signature1, long[] signature2) {
+        if (signature1.length != signature2.length) {
+            throw new IllegalArgumentException("签名长度不一致");
+        }
+        int equal = 0;
+        for (int i = 0; i < signature1.length; i++) {
+            if (signature1[i] == signature2[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / signature1.length;
+    }
+
+    /**
+     * 64位混合函数（MurmurHash3的fmix64）
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
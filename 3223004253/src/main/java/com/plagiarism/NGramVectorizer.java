@@ -0,0 +1,111 @@
+package com.plagiarism;
+
+import java.util.function.LongConsumer;
+
+/**
+ * 字符n-gram向量化器
+ * 在规范化文本上按字符滑动窗口生成n-gram，空格分隔符被跳过，
+ * 每个n-gram以滚动哈希得到的long值表示，不创建任何子串对象。
+ * n不超过4时直接把n个16位字符打包成一个long，结果无碰撞；更大的n使用多项式滚动哈希
+ */
+public class NGramVectorizer {
+
+    private static final long HASH_BASE = 0x100000001B3L;
+
+    private final int n;
+    private final long packMask;
+    private final long outgoingFactor;
+
+    /**
+     * @param n n-gram长度，例如2表示二元组
+     */
+    public NGramVectorizer(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n-gram长度必须大于0: " + n);
+        }
+        this.n = n;
+        this.packMask = n >= 4 ? -1L : (1L << (16 * n)) - 1;
+
+        long factor = 1L;
+        for (int i = 1; i < n; i++) {
+            factor *= HASH_BASE;
+        }
+        this.outgoingFactor = factor;
+    }
+
+    /**
+     * n-gram长度
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * 依次输出文本中每个n-gram的哈希值
+     *
+     * @param text     规范化文本字符数组
+     * @param consumer n-gram哈希值的接收者
+     */
+    public void forEachShingle(char[] text, LongConsumer consumer) {
+        if (n <= 4) {
+            forEachPackedShingle(text, consumer);
+        } else {
+            forEachRollingShingle(text, consumer);
+        }
+    }
+
+    private void forEachPackedShingle(char[] text, LongConsumer consumer) {
+        long packed = 0L;
+        int filled = 0;
+        for (char c : text) {
+            if (c == ' ') {
+                continue;
+            }
+            packed = ((packed << 16) | c) & packMask;
+            if (++filled >= n) {
+                consumer.accept(packed);
+            }
+        }
+    }
+
+    private void forEachRollingShingle(char[] text, LongConsumer consumer) {
+        char[] window = new char[n];
+        long hash = 0L;
+        int filled = 0;
+        for (char c : text) {
+            if (c == ' ') {
+                continue;
+            }
+            int slot = filled % n;
+            if (filled >= n) {
+                hash -= window[slot] * outgoingFactor;
+            }
+            hash = hash * HASH_BASE + c;
+            window[slot] = c;
+            if (++filled >= n) {
+                consumer.accept(hash);
+            }
+        }
+    }
+
+    /**
+     * 生成n-gram频率向量
+     *
+     * @param text 规范化文本字符数组
+     * @return n-gram哈希值的词频表
+     */
+    public TermFrequencyTable vectorize(char[] text) {
+        DetectionEvents.Vectorize event = new DetectionEvents.Vectorize();
+        event.begin();
+        TermFrequencyTable vector = new TermFrequencyTable(Math.min(text.length, 1 << 16));
+        forEachShingle(text, vector::increment);
+        if (event.shouldCommit()) {
+            event.kind = "ngram";
+            event.n = n;
+            event.textLength = text.length;
+            event.terms = vector.size();
+            event.commit();
+        }
+        return vector;
+    }
+}
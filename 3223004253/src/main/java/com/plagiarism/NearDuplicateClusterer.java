@@ -0,0 +1,242 @@
+package com.plagiarism;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 近似重复文档聚类器
+ * 先用MinHash签名和LSH索引找出n-gram集合Jaccard相似度可能超过目标值的候选对，
+ * 只对候选对计算综合相似度，再把超过阈值的文档对按连通分量合并为簇。
+ * 每个簇对应一组相互抄袭的文档
+ */
+public class NearDuplicateClusterer {
+
+    /** 默认签名长度 */
+    public static final int DEFAULT_NUM_HASHES = 128;
+
+    /** 默认n-gram长度 */
+    public static final int DEFAULT_SHINGLE_SIZE = 3;
+
+    /** 默认目标Jaccard相似度 */
+    public static final double DEFAULT_JACCARD_THRESHOLD = 0.5;
+
+    /** 默认综合相似度阈值 */
+    public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.8;
+
+    private static final long MINHASH_SEED = 0x5DEECE66DL;
+
+    private final TextSimilarityCalculator calculator;
+    private final MinHasher minHasher;
+    private final double jaccardThreshold;
+    private final double similarityThreshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param calculator          文本相似度计算器
+     * @param minHasher           MinHash签名生成器
+     * @param jaccardThreshold    候选对的目标Jaccard相似度
+     * @param similarityThreshold 判定为重复的综合相似度阈值
+     * @param pool                执行签名和比较任务的线程池
+     */
+    public NearDuplicateClusterer(TextSimilarityCalculator calculator, MinHasher minHasher,
+            double jaccardThreshold, double similarityThreshold, ForkJoinPool pool) {
+        this.calculator = calculator;
+        this.minHasher = minHasher;
+        this.jaccardThreshold = jaccardThreshold;
+        this.similarityThreshold = similarityThreshold;
+        this.pool = pool;
+    }
+
+    /**
+     * 命令行入口
+     * --cluster &lt;文档目录&gt; &lt;输出文件&gt;，可附加 --threshold 综合相似度阈值、--jaccard 目标Jaccard相似度、
+     * --hashes 签名长度、--shingle n-gram长度、--pairs 文档对输出文件、--threads 线程数
+     *
+     * @return 进程退出码
+     */
+    static int run(String[] args) throws IOException {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        if (options.positional().size() != 2) {
+            throw new IllegalArgumentException("聚类模式参数数量不正确");
+        }
+
+        List<Path> files = FileProcessor.listFiles(options.positional().get(0));
+        List<String> names = new ArrayList<>();
+        for (Path file : files) {
+            names.add(file.getFileName().toString());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(options.getThreads());
+        try {
+            TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+            MinHasher minHasher = new MinHasher(options.getInt("hashes", DEFAULT_NUM_HASHES),
+                    options.getInt("shingle", DEFAULT_SHINGLE_SIZE), MINHASH_SEED);
+            NearDuplicateClusterer clusterer = new NearDuplicateClusterer(calculator, minHasher,
+                    options.getDouble("jaccard", DEFAULT_JACCARD_THRESHOLD),
+                    options.getDouble("threshold", DEFAULT_SIMILARITY_THRESHOLD), pool);
+
+            List<DocumentProfile> profiles = SimilarityMatrixCalculator.readProfiles(files, calculator, pool);
+            List<SimilarPair> pairs = clusterer.findSimilarPairs(profiles);
+
+            String pairsPath = options.get("pairs", null);
+            if (pairsPath != null) {
+                try (SimilarityMatrixCalculator.PairWriter writer =
+                        new SimilarityMatrixCalculator.PairWriter(pairsPath, names, Double.NEGATIVE_INFINITY)) {
+                    for (SimilarPair pair : pairs) {
+                        writer.accept(pair.getFirst(), pair.getSecond(), pair.getSimilarity());
+                    }
+                }
+            }
+
+            List<int[]> clusters = cluster(profiles.size(), pairs);
+            writeClusters(options.positional().get(1), clusters, names);
+            System.out.println("聚类完成，共" + files.size() + "篇文档，相似文档对" + pairs.size()
+                    + "对，重复簇" + clusters.size() + "个");
+            return 0;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 找出综合相似度不低于阈值的文档对
+     *
+     * @param profiles 文档特征列表
+     * @return 按文档编号排序的相似文档对
+     */
+    public List<SimilarPair> findSimilarPairs(List<DocumentProfile> profiles) {
+        try {
+            long[][] signatures = pool.submit(() -> profiles.parallelStream()
+                    .map(profile -> minHasher.signature(profile.getText().getChars()))
+                    .toArray(long[][]::new)).get();
+
+            LshIndex index = LshIndex.forThreshold(minHasher.getNumHashes(), jaccardThreshold);
+            for (long[] signature : signatures) {
+                index.add(signature);
+            }
+            long[] candidates = index.candidatePairs();
+
+            return pool.submit(() -> Arrays.stream(candidates).parallel()
+                    .mapToObj(pair -> verify(profiles, signatures, (int) (pair >>> 32), (int) pair))
+                    .filter(pair -> pair != null)
+                    .collect(Collectors.toList())).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("计算相似文档对失败: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("计算相似文档对被中断", e);
+        }
+    }
+
+    private SimilarPair verify(List<DocumentProfile> profiles, long[][] signatures, int i, int j) {
+        // 分段碰撞的误报先用完整签名估计的Jaccard相似度过滤
+        if (MinHasher.estimateJaccard(signatures[i], signatures[j]) < jaccardThreshold) {
+            return null;
+        }
+        // 只需判断是否达到阈值，低于阈值的文档对提前结束
+        double similarity = calculator.calculateComprehensiveSimilarity(profiles.get(i), profiles.get(j),
+                similarityThreshold);
+        return similarity >= similarityThreshold ? new SimilarPair(i, j, similarity) : null;
+    }
+
+    /**
+     * 按相似文档对把文档合并为连通分量（并查集）
+     *
+     * @param count 文档总数
+     * @param pairs 相似文档对
+     * @return 至少包含两篇文档的簇，簇内编号升序，簇按最小编号排序
+     */
+    public static List<int[]> cluster(int count, List<SimilarPair> pairs) {
+        int[] parent = IntStream.range(0, count).toArray();
+        for (SimilarPair pair : pairs) {
+            int root1 = find(parent, pair.getFirst());
+            int root2 = find(parent, pair.getSecond());
+            if (root1 != root2) {
+                parent[Math.max(root1, root2)] = Math.min(root1, root2);
+            }
+        }
+
+        // 根总是分量内的最小编号，按编号顺序遍历即得到有序的簇
+        Map<Integer, List<Integer>> members = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            members.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(i);
+        }
+
+        List<int[]> clusters = new ArrayList<>();
+        for (List<Integer> group : members.values()) {
+            if (group.size() > 1) {
+                clusters.add(group.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        return clusters;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void writeClusters(String outputPath, List<int[]> clusters, List<String> names)
+            throws IOException {
+        try (PrintWriter writer = new PrintWriter(
+                Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8))) {
+            writer.println("簇编号\t文档数\t文档");
+            for (int c = 0; c < clusters.size(); c++) {
+                int[] cluster = clusters.get(c);
+                StringBuilder documents = new StringBuilder();
+                for (int id : cluster) {
+                    if (documents.length() > 0) {
+                        documents.append(", ");
+                    }
+                    documents.append(names.get(id));
+                }
+                writer.println((c + 1) + "\t" + cluster.length + "\t" + documents);
+            }
+        } catch (IOException e) {
+            throw new IOException("无法写入文件: " + outputPath + ", 错误: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 相似文档对
+     */
+    public static class SimilarPair {
+        private final int first;
+        private final int second;
+        private final double similarity;
+
+        public SimilarPair(int first, int second, double similarity) {
+            this.first = first;
+            this.second = second;
+            this.similarity = similarity;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+}
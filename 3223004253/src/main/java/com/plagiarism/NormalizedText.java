@@ -0,0 +1,109 @@
+package com.plagiarism;
+
+/**
+ * 规范化文本
+ * TextNormalizer的输出结果，由余弦、编辑距离、字符级三种相似度共享，
+ * 同时记录规范化过程中统计的字符类别数量
+ */
+public class NormalizedText {
+
+    /** 空文本 */
+    public static final NormalizedText EMPTY = new NormalizedText(new char[0], true, 0, 0, 0);
+
+    private final char[] chars;
+    private final boolean rawBlank;
+    private final int cjkCount;
+    private final int latinCount;
+    private final int digitCount;
+    private String text;
+    private volatile long contentHash;
+
+    NormalizedText(char[] chars, boolean rawBlank, int cjkCount, int latinCount, int digitCount) {
+        this.chars = chars;
+        this.rawBlank = rawBlank;
+        this.cjkCount = cjkCount;
+        this.latinCount = latinCount;
+        this.digitCount = digitCount;
+    }
+
+    /**
+     * 获取规范化后的字符数组
+     * 返回内部数组以避免复制，调用方不得修改
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    /**
+     * 规范化后的字符数
+     */
+    public int length() {
+        return chars.length;
+    }
+
+    /**
+     * 规范化后是否为空
+     */
+    public boolean isEmpty() {
+        return chars.length == 0;
+    }
+
+    /**
+     * 原始文本是否只包含空白字符（与String.trim().isEmpty()一致）
+     */
+    public boolean isRawBlank() {
+        return rawBlank;
+    }
+
+    /**
+     * 中文字符数
+     */
+    public int getCjkCount() {
+        return cjkCount;
+    }
+
+    /**
+     * 英文字母数
+     */
+    public int getLatinCount() {
+        return latinCount;
+    }
+
+    /**
+     * 数字字符数
+     */
+    public int getDigitCount() {
+        return digitCount;
+    }
+
+    /**
+     * 规范化文本的64位内容哈希（FNV-1a后接混合函数），首次调用时计算并缓存
+     */
+    public long contentHash() {
+        long hash = contentHash;
+        if (hash == 0L) {
+            hash = 0xCBF29CE484222325L;
+            for (char c : chars) {
+                hash = (hash ^ c) * 0x100000001B3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * 规范化后的字符串，首次调用时创建并缓存
+     */
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            result = new String(chars);
+            text = result;
+        }
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package com.plagiarism;
 
 import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 论文查重系统主类
@@ -10,6 +11,7 @@ public class PlagiarismDetector {
 
     private final FileProcessor fileProcessor;
     private final TextSimilarityCalculator similarityCalculator;
+    private DetectionCache cache;
 
     public PlagiarismDetector() {
         this.fileProcessor = new FileProcessor();
@@ -17,8 +19,12 @@ public class PlagiarismDetector {
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].startsWith("--")) {
+            System.exit(runMode(args));
+        }
+
         if (args.length != 3) {
-            System.err.println("使用方法: java PlagiarismDetector <原文文件路径> <抄袭版文件路径> <输出文件路径>");
+            printUsage();
             System.exit(1);
         }
 
@@ -27,6 +33,8 @@ public class PlagiarismDetector {
         String outputPath = args[2];
 
         PlagiarismDetector detector = new PlagiarismDetector();
+        // 单对比较时各项相似度并行计算以缩短耗时
+        detector.similarityCalculator.setComponentPool(ForkJoinPool.commonPool());
 
         try {
             // 验证输入参数
@@ -52,10 +60,96 @@ public class PlagiarismDetector {
         }
     }
 
+    /**
+     * 打印使用方法
+     */
+    private static void printUsage() {
+        System.err.println("使用方法: java PlagiarismDetector <原文文件路径> <抄袭版文件路径> <输出文件路径>");
+        System.err.println("  批量模式: java PlagiarismDetector --batch <清单文件>"
+                + " [--threads 线程数] [--summary 汇总文件] [--cache-mb 缓存容量]");
+        System.err.println("  目录模式: java PlagiarismDetector --batch-dir <原文文件路径> <抄袭版目录> <输出目录>"
+                + " [--threads 线程数] [--summary 汇总文件] [--cache-mb 缓存容量]");
+        System.err.println("  矩阵模式: java PlagiarismDetector --matrix <文档目录> <输出文件>"
+                + " [--threshold 阈值] [--threads 线程数] [--tile 分块大小]");
+        System.err.println("  聚类模式: java PlagiarismDetector --cluster <文档目录> <输出文件>"
+                + " [--threshold 阈值] [--jaccard 目标Jaccard] [--pairs 文档对文件] [--threads 线程数]"
+                + " [--hashes 签名长度，默认" + NearDuplicateClusterer.DEFAULT_NUM_HASHES + "]"
+                + " [--shingle n-gram长度，默认" + NearDuplicateClusterer.DEFAULT_SHINGLE_SIZE + "]");
+        System.err.println("  检索模式: java PlagiarismDetector --search <源文档目录> <待查文件> <输出文件> [--top 候选数]");
+        System.err.println("  建立索引: java PlagiarismDetector --index-build <源文档目录> <索引文件>");
+        System.err.println("  索引检索: java PlagiarismDetector --index-query <索引文件> <待查文件> <输出文件> [--top 候选数]");
+        System.err.println("  服务模式: java PlagiarismDetector --serve"
+                + " [--host 监听地址] [--port 端口] [--root 文件根目录] [--cache-mb 缓存容量]");
+    }
+
+    /**
+     * 执行以--开头的运行模式
+     *
+     * @return 进程退出码
+     */
+    private static int runMode(String[] args) {
+        try {
+            switch (args[0]) {
+                case "--batch":
+                case "--batch-dir":
+                    return BatchDetector.run(args);
+                case "--matrix":
+                    return SimilarityMatrixCalculator.run(args);
+                case "--cluster":
+                    return NearDuplicateClusterer.run(args);
+                case "--search":
+                    return FingerprintIndex.run(args);
+                case "--index-build":
+                case "--index-query":
+                    return MappedFingerprintIndex.run(args);
+                case "--serve":
+                    return SimilarityService.run(args);
+                default:
+                    printUsage();
+                    return 1;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("参数错误: " + e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            System.err.println("文件操作错误: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * 获取文件处理器
+     */
+    FileProcessor getFileProcessor() {
+        return fileProcessor;
+    }
+
+    /**
+     * 获取文本相似度计算器
+     */
+    TextSimilarityCalculator getSimilarityCalculator() {
+        return similarityCalculator;
+    }
+
+    /**
+     * 获取查重缓存，为null时不使用缓存
+     */
+    public DetectionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * 设置查重缓存，默认为null（不使用缓存）
+     * 设置后相同内容的文件只构建一次文档特征，相同的文档对只计算一次相似度
+     */
+    public void setCache(DetectionCache cache) {
+        this.cache = cache;
+    }
+
     /**
      * 验证输入参数
      */
-    private void validateInputs(String originalPath, String plagiarizedPath, String outputPath) {
+    void validateInputs(String originalPath, String plagiarizedPath, String outputPath) {
         if (!fileProcessor.isValidPath(originalPath)) {
             throw new IllegalArgumentException("原文文件路径无效: " + originalPath);
         }
@@ -81,20 +175,64 @@ public class PlagiarismDetector {
      * 执行查重检测
      */
     public double detectPlagiarism(String originalPath, String plagiarizedPath) throws IOException {
-        // 读取文件内容
-        String originalText = fileProcessor.readFile(originalPath);
-        String plagiarizedText = fileProcessor.readFile(plagiarizedPath);
+        // 读取文件内容并预处理
+        DocumentProfile original = readProfile(originalPath, "原文文件为空");
+        DocumentProfile plagiarized = readProfile(plagiarizedPath, "抄袭版文件为空");
 
-        // 检查文件是否为空
-        if (originalText.trim().isEmpty()) {
-            throw new IllegalArgumentException("原文文件为空");
+        // 计算相似度
+        return compare(original, plagiarized);
+    }
+
+    /**
+     * 执行查重检测，原文特征已预先构建
+     */
+    public double detectPlagiarism(DocumentProfile original, String plagiarizedPath) throws IOException {
+        DocumentProfile plagiarized = readProfile(plagiarizedPath, "抄袭版文件为空");
+
+        return compare(original, plagiarized);
+    }
+
+    /**
+     * 计算两篇文档的综合相似度，设置了缓存时先查找缓存
+     */
+    double compare(DocumentProfile original, DocumentProfile plagiarized) {
+        DetectionCache currentCache = cache;
+        if (currentCache == null) {
+            return similarityCalculator.calculateComprehensiveSimilarity(original, plagiarized);
+        }
+        return currentCache.getSimilarity(original, plagiarized, similarityCalculator);
+    }
+
+    /**
+     * 构建文本的文档特征，设置了缓存时相同内容的文本复用同一份特征
+     */
+    DocumentProfile createProfile(String text) {
+        return createProfile(TextNormalizer.normalize(text));
+    }
+
+    private DocumentProfile createProfile(NormalizedText text) {
+        DetectionCache currentCache = cache;
+        if (currentCache == null) {
+            return similarityCalculator.createProfile(text);
         }
+        return currentCache.getProfile(text, similarityCalculator);
+    }
 
-        if (plagiarizedText.trim().isEmpty()) {
-            throw new IllegalArgumentException("抄袭版文件为空");
+    /**
+     * 读取文件并构建文档特征
+     *
+     * @param filePath     文件路径
+     * @param emptyMessage 文件为空时的错误信息
+     * @return 文档特征
+     */
+    DocumentProfile readProfile(String filePath, String emptyMessage) throws IOException {
+        NormalizedText text = fileProcessor.readNormalized(filePath);
+
+        // 检查文件是否为空
+        if (text.isRawBlank()) {
+            throw new IllegalArgumentException(emptyMessage);
         }
 
-        // 计算相似度
-        return similarityCalculator.calculateComprehensiveSimilarity(originalText, plagiarizedText);
+        return createProfile(text);
     }
 }
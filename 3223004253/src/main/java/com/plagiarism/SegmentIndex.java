@@ -0,0 +1,257 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 文本分段索引
+ * 把规范化文本按内容切成长度约为目标值的连续片段，并为每个片段的字符三元组建立倒排索引，
+ * 用于把另一篇文本的片段与本文的片段对齐。长文档只需在对齐的片段组上运行字符级动态规划，
+ * 代价与文本长度成线性关系
+ *
+ * 倒排项以"三元组哈希高40位 | 片段编号"打包成long后排序，不创建桶对象
+ */
+public class SegmentIndex {
+
+    /** 对齐所用的字符n-gram长度 */
+    static final int SHINGLE_SIZE = 3;
+
+    /** 片段组的长度上限（以片段目标长度为单位），超过后在下一个对齐点强制结束 */
+    private static final int MAX_GROUP_SEGMENTS = 8;
+
+    private static final int SEGMENT_BITS = 24;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final char[] text;
+    private final int segmentLength;
+    private final int[] boundaries;
+    private final int[] shingleCounts;
+    private final long[] postings;
+
+    /**
+     * @param text          规范化文本字符数组
+     * @param segmentLength 片段目标长度
+     */
+    public SegmentIndex(char[] text, int segmentLength) {
+        if (segmentLength < 1) {
+            throw new IllegalArgumentException("片段长度必须大于0: " + segmentLength);
+        }
+        this.text = text;
+        this.segmentLength = segmentLength;
+        this.boundaries = split(text, segmentLength);
+        int segments = boundaries.length - 1;
+        if (segments > SEGMENT_MASK) {
+            throw new IllegalArgumentException("片段数量过多: " + segments);
+        }
+
+        NGramVectorizer vectorizer = new NGramVectorizer(SHINGLE_SIZE);
+        this.shingleCounts = new int[segments];
+        long[] entries = new long[Math.max(16, text.length)];
+        int count = 0;
+        for (int segment = 0; segment < segments; segment++) {
+            long[] keys = shingleKeys(vectorizer, segment(segment));
+            shingleCounts[segment] = keys.length;
+            if (count + keys.length > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, count + keys.length));
+            }
+            for (long key : keys) {
+                entries[count++] = key | segment;
+            }
+        }
+        this.postings = Arrays.copyOf(entries, count);
+        Arrays.sort(postings);
+    }
+
+    /**
+     * 按内容切分文本
+     * 片段边界由边界前4个字符的哈希决定，而不是由位置决定：两篇文本中相同的内容在相同的位置切断，
+     * 插入或删除只影响附近的片段，其余片段仍能一一对应。
+     * 片段长度不小于目标长度的一半，不大于目标长度的三倍，平均约为目标长度
+     *
+     * @return 片段边界，第k个片段为[boundaries[k], boundaries[k + 1])
+     */
+    static int[] split(char[] text, int segmentLength) {
+        int minLength = Math.max(1, segmentLength / 2);
+        int maxLength = Math.max(minLength + 1, segmentLength * 3);
+        long divisor = Math.max(1, segmentLength - minLength);
+
+        int[] result = new int[Math.max(4, text.length / segmentLength + 2)];
+        int count = 1;
+        int start = 0;
+        long window = 0L;
+        for (int i = 0; i < text.length; i++) {
+            window = (window << 16) | text[i];
+            int length = i + 1 - start;
+            boolean cut = i + 1 == text.length || length >= maxLength
+                    || (length >= minLength && Long.remainderUnsigned(MinHasher.mix(window), divisor) == 0);
+            if (cut) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count * 2);
+                }
+                start = i + 1;
+                result[count++] = start;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 片段内不重复的三元组键，低24位清零以留出片段编号的位置
+     */
+    private static long[] shingleKeys(NGramVectorizer vectorizer, char[] segment) {
+        // 三元组个数不超过片段长度
+        long[] keys = new long[segment.length];
+        int[] count = new int[1];
+        vectorizer.forEachShingle(segment, shingle -> keys[count[0]++] = MinHasher.mix(shingle) & ~SEGMENT_MASK);
+        Arrays.sort(keys, 0, count[0]);
+        int unique = 0;
+        for (int i = 0; i < count[0]; i++) {
+            if (unique == 0 || keys[i] != keys[unique - 1]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+
+    /**
+     * 片段目标长度
+     */
+    public int getSegmentLength() {
+        return segmentLength;
+    }
+
+    /**
+     * 片段数
+     */
+    public int segmentCount() {
+        return boundaries.length - 1;
+    }
+
+    /**
+     * 获取第index个片段的字符
+     */
+    public char[] segment(int index) {
+        return range(index, index + 1);
+    }
+
+    /**
+     * 获取连续片段[from, to)的字符
+     */
+    public char[] range(int from, int to) {
+        return Arrays.copyOfRange(text, boundaries[from], boundaries[to]);
+    }
+
+    /**
+     * 为另一篇文本的每个片段找到三元组Dice系数最高的片段
+     * 系数相同时（例如重复的段落）选择最靠近上一个对齐片段之后的片段，使对齐尽量保持顺序
+     *
+     * @param other 另一篇文本的分段索引
+     * @return 与other片段顺序一致的片段编号，没有任何公共三元组时为-1
+     */
+    public int[] align(SegmentIndex other) {
+        NGramVectorizer vectorizer = new NGramVectorizer(SHINGLE_SIZE);
+        int segments = segmentCount();
+        int[] shared = new int[segments];
+        int[] touched = new int[segments];
+        int[] matches = new int[other.segmentCount()];
+        int expected = 0;
+
+        for (int i = 0; i < matches.length; i++) {
+            long[] keys = shingleKeys(vectorizer, other.segment(i));
+            int touchedCount = 0;
+            for (long key : keys) {
+                int position = Arrays.binarySearch(postings, key);
+                if (position < 0) {
+                    position = -position - 1;
+                }
+                for (; position < postings.length && (postings[position] & ~SEGMENT_MASK) == key; position++) {
+                    int candidate = (int) (postings[position] & SEGMENT_MASK);
+                    if (shared[candidate]++ == 0) {
+                        touched[touchedCount++] = candidate;
+                    }
+                }
+            }
+
+            int best = -1;
+            double bestScore = 0.0;
+            for (int t = 0; t < touchedCount; t++) {
+                int candidate = touched[t];
+                double score = 2.0 * shared[candidate] / (keys.length + shingleCounts[candidate]);
+                if (score > bestScore || (score == bestScore
+                        && Math.abs(candidate - expected) < Math.abs(best - expected))) {
+                    bestScore = score;
+                    best = candidate;
+                }
+                shared[candidate] = 0;
+            }
+
+            matches[i] = best;
+            if (best >= 0) {
+                expected = best + 1;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 把另一篇文本的片段与本文的片段对齐为若干片段组
+     * 相邻片段对齐到同一片段或相邻片段时合并为一组，使跨越片段边界的修改落在同一组内；
+     * 两个片段在相同内容处结束（切分点一致）时结束当前组，对齐位置跳跃时也开始新组。
+     * 每组对应本文中一段连续片段，组内字符可直接用于动态规划
+     *
+     * @param other 另一篇文本的分段索引
+     * @return 片段组，每组为{other起始片段, other结束片段, 本文起始片段, 本文结束片段}（结束不含），
+     *         other中没有任何对齐片段的组的本文片段范围为空
+     */
+    public int[][] alignGroups(SegmentIndex other) {
+        int[] matches = align(other);
+        int[][] groups = new int[Math.max(4, matches.length)][];
+        int count = 0;
+
+        int groupStart = 0;
+        int originalFrom = -1;
+        int originalTo = -1;
+        for (int i = 0; i < matches.length; i++) {
+            int match = matches[i];
+            if (match >= 0 && originalFrom >= 0) {
+                boolean cleanBoundary = match == originalTo && endsAlike(other, i - 1, originalTo - 1);
+                boolean jump = match < originalFrom || match > originalTo + 1;
+                boolean tooLong = other.boundaries[i] - other.boundaries[groupStart]
+                        >= MAX_GROUP_SEGMENTS * segmentLength;
+                if (cleanBoundary || jump || tooLong) {
+                    groups[count++] = new int[] { groupStart, i, originalFrom, originalTo };
+                    groupStart = i;
+                    originalFrom = -1;
+                }
+            }
+            if (match >= 0) {
+                if (originalFrom < 0) {
+                    originalFrom = match;
+                    originalTo = match + 1;
+                } else {
+                    originalTo = Math.max(originalTo, match + 1);
+                }
+            }
+        }
+        if (groupStart < matches.length) {
+            groups[count++] = originalFrom < 0
+                    ? new int[] { groupStart, matches.length, 0, 0 }
+                    : new int[] { groupStart, matches.length, originalFrom, originalTo };
+        }
+        return Arrays.copyOf(groups, count);
+    }
+
+    /**
+     * 两个片段的末尾4个字符是否相同，即是否在相同内容处切断
+     */
+    private boolean endsAlike(SegmentIndex other, int otherSegment, int segment) {
+        int otherEnd = other.boundaries[otherSegment + 1];
+        int end = boundaries[segment + 1];
+        int length = Math.min(4, Math.min(otherEnd - other.boundaries[otherSegment], end - boundaries[segment]));
+        for (int k = 1; k <= length; k++) {
+            if (other.text[otherEnd - k] != text[end - k]) {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+}
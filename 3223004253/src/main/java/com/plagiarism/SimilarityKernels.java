@@ -0,0 +1,110 @@
+package com.plagiarism;
+
+/**
+ * 相似度计算的内层循环
+ * 本类为标量实现。src/vector/java中的VectorKernels以jdk.incubator.vector实现相同的循环，
+ * 运行时加载了该模块且类路径上有VectorKernels时自动改用SIMD实现，两种实现的结果完全相同；
+ * 模块或类不可用时使用标量实现。启用SIMD实现（src/vector/run_vector.sh与run_vector.bat执行相同的步骤）：
+ * <pre>
+ * javac --release 17 -encoding UTF-8 --add-modules jdk.incubator.vector -cp 主代码输出目录 -d 输出目录 src/vector/java/com/plagiarism/*.java
+ * java --add-modules jdk.incubator.vector -cp 主代码输出目录:输出目录 com.plagiarism.PlagiarismDetector ...
+ * </pre>
+ *
+ * 实例无状态，可被多个线程共享
+ */
+class SimilarityKernels {
+
+    /** SIMD实现的类名 */
+    static final String VECTOR_KERNELS = "com.plagiarism.VectorKernels";
+
+    private static final SimilarityKernels INSTANCE = load(VECTOR_KERNELS);
+
+    /**
+     * 当前使用的实现
+     */
+    static SimilarityKernels get() {
+        return INSTANCE;
+    }
+
+    /**
+     * 加载指定的实现，失败时返回标量实现
+     */
+    static SimilarityKernels load(String className) {
+        try {
+            return (SimilarityKernels) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // 未加载jdk.incubator.vector模块时，向量实现类无法链接
+            return new SimilarityKernels();
+        }
+    }
+
+    /**
+     * 是否为SIMD实现
+     */
+    boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * 按TextNormalizer的规则逐字符折叠：中文、字母和数字写入折叠后的字符，分隔符写为空格，并按字符类别累加计数
+     *
+     * @param chars       原始字符
+     * @param from        起始位置
+     * @param to          结束位置（不含）
+     * @param folded      输出数组
+     * @param position    输出数组的起始下标
+     * @param classCounts 以TextNormalizer字符类别为下标的计数
+     * @return 是否含有大于空格的字符
+     */
+    boolean fold(char[] chars, int from, int to, char[] folded, int position, int[] classCounts) {
+        boolean visible = false;
+        for (int i = from; i < to; i++) {
+            char c = chars[i];
+            visible |= c > ' ';
+            byte charClass = TextNormalizer.classify(c);
+            if (charClass == TextNormalizer.CLASS_PUNCTUATION || charClass == TextNormalizer.CLASS_WHITESPACE) {
+                folded[position + i - from] = ' ';
+            } else {
+                classCounts[charClass]++;
+                folded[position + i - from] = TextNormalizer.fold(c);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * 使用两行滚动数组计算Levenshtein距离
+     *
+     * @param s1 较长文本的字符数组
+     * @param s2 较短文本的字符数组
+     * @return 编辑距离
+     */
+    int editDistance(char[] s1, char[] s2) {
+        int m = s1.length;
+        int n = s2.length;
+
+        int[] prev = new int[n + 1];
+        int[] curr = new int[n + 1];
+
+        for (int j = 0; j <= n; j++) {
+            prev[j] = j;
+        }
+
+        for (int i = 1; i <= m; i++) {
+            char c = s1[i - 1];
+            curr[0] = i;
+            for (int j = 1; j <= n; j++) {
+                if (c == s2[j - 1]) {
+                    curr[j] = prev[j - 1];
+                } else {
+                    curr[j] = Math.min(Math.min(prev[j], curr[j - 1]), prev[j - 1]) + 1;
+                }
+            }
+            int[] temp = prev;
+            prev = curr;
+            curr = temp;
+        }
+
+        return prev[n];
+    }
+}
@@ -0,0 +1,264 @@
+package com.plagiarism;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * 相似度矩阵计算器
+ * 计算一组文档两两之间的综合相似度。相似度是对称的，因此只计算上三角；
+ * 文档按块划分为若干分块对，分块对在ForkJoinPool中递归拆分调度，
+ * 同一分块内的文档特征（词频向量、匹配掩码表）被反复复用，具有较好的缓存局部性
+ */
+public class SimilarityMatrixCalculator {
+
+    /** 默认分块大小 */
+    public static final int DEFAULT_TILE_SIZE = 8;
+
+    private final TextSimilarityCalculator calculator;
+    private final ForkJoinPool pool;
+    private final int tileSize;
+    private double threshold = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param calculator 文本相似度计算器
+     * @param pool       执行分块任务的线程池
+     * @param tileSize   每个分块包含的文档数
+     */
+    public SimilarityMatrixCalculator(TextSimilarityCalculator calculator, ForkJoinPool pool, int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("分块大小必须大于0: " + tileSize);
+        }
+        this.calculator = calculator;
+        this.pool = pool;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * 获取剪枝阈值
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 设置剪枝阈值，默认不剪枝
+     * 低于阈值的文档对提前结束计算，回调得到的相似度只保证低于阈值，不低于阈值的文档对仍为精确值
+     */
+    public void setThreshold(double threshold) {
+        if (Double.isNaN(threshold)) {
+            throw new IllegalArgumentException("相似度阈值无效: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * 命令行入口
+     * --matrix &lt;文档目录&gt; &lt;输出文件&gt;，可附加 --threshold 阈值、--threads 线程数、--tile 分块大小
+     *
+     * @return 进程退出码
+     */
+    static int run(String[] args) throws IOException {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        if (options.positional().size() != 2) {
+            throw new IllegalArgumentException("矩阵模式参数数量不正确");
+        }
+
+        List<Path> files = FileProcessor.listFiles(options.positional().get(0));
+        double threshold = options.getDouble("threshold", Double.NEGATIVE_INFINITY);
+        ForkJoinPool pool = new ForkJoinPool(options.getThreads());
+        try {
+            TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+            List<DocumentProfile> profiles = readProfiles(files, calculator, pool);
+
+            SimilarityMatrixCalculator matrixCalculator = new SimilarityMatrixCalculator(
+                    calculator, pool, options.getInt("tile", DEFAULT_TILE_SIZE));
+            // 只输出不低于阈值的文档对，低于阈值的相似度无需精确
+            matrixCalculator.setThreshold(threshold);
+            List<String> names = new ArrayList<>();
+            for (Path file : files) {
+                names.add(file.getFileName().toString());
+            }
+
+            try (PairWriter writer = new PairWriter(options.positional().get(1), names, threshold)) {
+                matrixCalculator.compute(profiles, writer);
+                System.out.println("相似度矩阵计算完成，共" + files.size() + "篇文档，输出" + writer.getWrittenPairs() + "对");
+            }
+            return 0;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 并行读取文件并构建文档特征
+     */
+    static List<DocumentProfile> readProfiles(List<Path> files, TextSimilarityCalculator calculator,
+            ForkJoinPool pool) throws IOException {
+        FileProcessor fileProcessor = new FileProcessor();
+        try {
+            return pool.submit(() -> files.parallelStream().map(file -> {
+                try {
+                    return calculator.createProfile(fileProcessor.readNormalized(file.toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList())).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("构建文档特征失败: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("读取文档被中断", e);
+        }
+    }
+
+    /**
+     * 计算所有文档对的相似度
+     * 每个i &lt; j的文档对恰好回调一次，回调可能来自多个线程
+     *
+     * @param profiles 文档特征列表
+     * @param consumer 线程安全的结果接收者
+     */
+    public void compute(List<DocumentProfile> profiles, PairConsumer consumer) {
+        int blocks = (profiles.size() + tileSize - 1) / tileSize;
+        List<int[]> tiles = new ArrayList<>();
+        for (int rowBlock = 0; rowBlock < blocks; rowBlock++) {
+            for (int columnBlock = rowBlock; columnBlock < blocks; columnBlock++) {
+                tiles.add(new int[] { rowBlock, columnBlock });
+            }
+        }
+
+        pool.invoke(new TileTask(profiles, tiles, 0, tiles.size(), consumer));
+    }
+
+    /**
+     * 计算完整的对称相似度矩阵，对角线为1.0
+     */
+    public double[][] computeMatrix(List<DocumentProfile> profiles) {
+        int n = profiles.size();
+        double[][] matrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            matrix[i][i] = 1.0;
+        }
+
+        // 每个单元格只由一个线程写入，invoke返回时结果对调用线程可见
+        compute(profiles, (i, j, similarity) -> {
+            matrix[i][j] = similarity;
+            matrix[j][i] = similarity;
+        });
+        return matrix;
+    }
+
+    /**
+     * 分块任务，区间内超过一个分块时二分拆分，由工作窃取平衡负载
+     */
+    private class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<DocumentProfile> profiles;
+        private final List<int[]> tiles;
+        private final int from;
+        private final int to;
+        private final PairConsumer consumer;
+
+        TileTask(List<DocumentProfile> profiles, List<int[]> tiles, int from, int to, PairConsumer consumer) {
+            this.profiles = profiles;
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(profiles, tiles, from, middle, consumer),
+                        new TileTask(profiles, tiles, middle, to, consumer));
+                return;
+            }
+            if (to > from) {
+                computeTile(tiles.get(from));
+            }
+        }
+
+        private void computeTile(int[] tile) {
+            int rowStart = tile[0] * tileSize;
+            int rowEnd = Math.min(rowStart + tileSize, profiles.size());
+            int columnStart = tile[1] * tileSize;
+            int columnEnd = Math.min(columnStart + tileSize, profiles.size());
+
+            for (int i = rowStart; i < rowEnd; i++) {
+                DocumentProfile original = profiles.get(i);
+                for (int j = Math.max(columnStart, i + 1); j < columnEnd; j++) {
+                    double similarity = calculator.calculateComprehensiveSimilarity(original, profiles.get(j),
+                            threshold);
+                    consumer.accept(i, j, similarity);
+                }
+            }
+        }
+    }
+
+    /**
+     * 文档对相似度的接收者
+     */
+    public interface PairConsumer {
+        void accept(int i, int j, double similarity);
+    }
+
+    /**
+     * 将文档对相似度逐行写入文件，可只输出不低于阈值的文档对
+     * 每行依次为文档1、文档2、相似度，以制表符分隔
+     */
+    public static class PairWriter implements PairConsumer, Closeable {
+        private final PrintWriter writer;
+        private final List<String> names;
+        private final double threshold;
+        private long writtenPairs;
+
+        public PairWriter(String outputPath, List<String> names, double threshold) throws IOException {
+            try {
+                this.writer = new PrintWriter(Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new IOException("无法写入文件: " + outputPath + ", 错误: " + e.getMessage(), e);
+            }
+            this.names = names;
+            this.threshold = threshold;
+            writer.println("文档1\t文档2\t相似度");
+        }
+
+        @Override
+        public synchronized void accept(int i, int j, double similarity) {
+            if (similarity >= threshold) {
+                writer.printf("%s\t%s\t%.2f%n", names.get(i), names.get(j), similarity);
+                writtenPairs++;
+            }
+        }
+
+        public synchronized long getWrittenPairs() {
+            return writtenPairs;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+            if (writer.checkError()) {
+                throw new IOException("写入相似度结果失败");
+            }
+        }
+    }
+}
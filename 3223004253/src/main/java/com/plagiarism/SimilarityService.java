@@ -0,0 +1,448 @@
+package com.plagiarism;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地HTTP查重服务
+ * 使用JDK内置的HttpServer常驻运行，避免每次查重启动一个JVM：
+ * <pre>
+ * POST /similarity   表单参数 text1、text2，可选 threshold，返回两段文本的综合相似度
+ * GET  /detect       查询参数 original、plagiarized（文件路径），返回两个文件的查重结果
+ * GET  /stats        返回缓存命中情况和合并的请求数
+ * </pre>
+ * 响应为JSON，成功时为 {"similarity":0.8734}，失败时为 {"error":"..."}。
+ * 查重器设置了DetectionCache时，重复提交的文本和文件直接从缓存取得结果。
+ * 指定根目录时，/detect 的文件路径相对根目录解析，超出根目录的路径返回403；
+ * 未指定根目录时，/detect 只在监听回环地址时可用，否则一律返回403。
+ *
+ * 每个请求在虚拟线程上处理（JDK 21及以上，通过反射获取，低版本退回为缓存线程池）。
+ * 参数完全相同的并发请求合并为一次计算：第一个请求计算，其余请求等待同一个结果
+ */
+public class SimilarityService {
+
+    /** 默认监听端口 */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** 请求体的最大字节数 */
+    static final int MAX_BODY_BYTES = 64 << 20;
+
+    private final PlagiarismDetector detector;
+    private final Path root;
+    private final ConcurrentHashMap<List<Object>, CompletableFuture<Double>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile boolean detectEnabled;
+
+    /**
+     * 不限制文件路径的服务，/detect 只在监听回环地址时可用
+     *
+     * @param detector 查重器，所有请求共享
+     */
+    public SimilarityService(PlagiarismDetector detector) {
+        this.detector = detector;
+        this.root = null;
+    }
+
+    /**
+     * /detect 只能访问根目录内文件的服务
+     *
+     * @param detector 查重器，所有请求共享
+     * @param root     文件根目录，必须存在
+     */
+    public SimilarityService(PlagiarismDetector detector, Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("根目录不存在: " + root);
+        }
+        this.detector = detector;
+        this.root = root.toRealPath();
+    }
+
+    /**
+     * 命令行入口
+     * --serve，可附加 --host 监听地址（默认127.0.0.1）、--port 端口、
+     * --root 文件根目录（监听非回环地址时必须指定才能使用/detect）、
+     * --cache-mb 缓存容量（默认256MB，0为不使用缓存）；进程结束前一直运行
+     *
+     * @return 进程退出码
+     */
+    static int run(String[] args) throws IOException {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        if (!options.positional().isEmpty()) {
+            throw new IllegalArgumentException("服务模式参数数量不正确");
+        }
+
+        PlagiarismDetector detector = new PlagiarismDetector();
+        int cacheMb = options.getInt("cache-mb", (int) (DetectionCache.DEFAULT_MAXIMUM_BYTES >> 20));
+        if (cacheMb < 0) {
+            throw new IllegalArgumentException("缓存容量不能为负数: " + cacheMb);
+        }
+        if (cacheMb > 0) {
+            detector.setCache(new DetectionCache((long) cacheMb << 20));
+        }
+
+        String root = options.get("root", null);
+        SimilarityService service = root == null
+                ? new SimilarityService(detector)
+                : new SimilarityService(detector, Paths.get(root));
+        service.start(new InetSocketAddress(options.get("host", "127.0.0.1"), options.getInt("port", DEFAULT_PORT)));
+        System.out.println("查重服务已启动，端口: " + service.getPort()
+                + (service.usesVirtualThreads() ? "（虚拟线程）" : "（平台线程）"));
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            service.stop();
+            stopped.countDown();
+        }));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    /**
+     * 启动服务
+     *
+     * @param address 监听地址，端口为0时由系统分配
+     */
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("服务已启动");
+        }
+        try {
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            throw new IOException("无法启动服务: " + address + ", 错误: " + e.getMessage(), e);
+        }
+        detectEnabled = root != null || address.getAddress() == null || address.getAddress().isLoopbackAddress();
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/similarity", this::handleSimilarity);
+        server.createContext("/detect", this::handleDetect);
+        server.createContext("/stats", this::handleStats);
+        server.start();
+    }
+
+    /**
+     * 停止服务，等待正在处理的请求最多1秒
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    /**
+     * 实际监听的端口
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("服务未启动");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 请求是否在虚拟线程上处理
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreadExecutorFactory() != null;
+    }
+
+    /**
+     * 因与进行中的相同请求合并而未单独计算的请求数
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    /**
+     * 每个任务一个虚拟线程的执行器，运行时不支持虚拟线程时使用缓存线程池
+     */
+    private static ExecutorService newRequestExecutor() {
+        Method factory = virtualThreadExecutorFactory();
+        if (factory != null) {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // 退回平台线程
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    private static Method virtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private void handleSimilarity(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "只支持POST请求");
+                return;
+            }
+            Map<String, String> parameters = parameters(exchange);
+            String text1 = required(parameters, "text1");
+            String text2 = required(parameters, "text2");
+            String thresholdValue = parameters.get("threshold");
+
+            double similarity;
+            if (thresholdValue == null) {
+                similarity = coalesce(Arrays.asList("similarity", text1, text2),
+                        () -> detector.compare(detector.createProfile(text1), detector.createProfile(text2)));
+            } else {
+                // 低于阈值时结果为上界而非精确值，不放入结果缓存
+                double threshold = parseThreshold(thresholdValue);
+                similarity = coalesce(Arrays.asList("similarity", text1, text2, threshold),
+                        () -> detector.getSimilarityCalculator().calculateComprehensiveSimilarity(
+                                detector.createProfile(text1), detector.createProfile(text2), threshold));
+            }
+            sendSimilarity(exchange, similarity);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            sendError(exchange, 500, e.getMessage());
+        }
+    }
+
+    private void handleDetect(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "只支持GET和POST请求");
+                return;
+            }
+            if (!detectEnabled) {
+                sendError(exchange, 403, "监听非回环地址时需要指定--root才能使用文件查重");
+                return;
+            }
+            Map<String, String> parameters = parameters(exchange);
+            String originalPath = resolvePath(required(parameters, "original"));
+            String plagiarizedPath = resolvePath(required(parameters, "plagiarized"));
+            FileProcessor fileProcessor = detector.getFileProcessor();
+            if (!fileProcessor.isValidPath(originalPath) || !fileProcessor.fileExists(originalPath)) {
+                throw new IllegalArgumentException("原文文件不存在: " + originalPath);
+            }
+            if (!fileProcessor.isValidPath(plagiarizedPath) || !fileProcessor.fileExists(plagiarizedPath)) {
+                throw new IllegalArgumentException("抄袭版文件不存在: " + plagiarizedPath);
+            }
+
+            double similarity = coalesce(Arrays.asList("detect", originalPath, plagiarizedPath),
+                    () -> detector.detectPlagiarism(originalPath, plagiarizedPath));
+            sendSimilarity(exchange, similarity);
+        } catch (SecurityException e) {
+            sendError(exchange, 403, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            sendError(exchange, 500, e.getMessage());
+        }
+    }
+
+    /**
+     * 相对根目录解析请求中的文件路径
+     * 规范化后超出根目录的路径（包括经符号链接指向根目录外的文件）抛出SecurityException；
+     * 未指定根目录时原样返回
+     */
+    private String resolvePath(String path) throws IOException {
+        if (root == null) {
+            return path;
+        }
+        Path resolved;
+        try {
+            resolved = root.resolve(path).normalize();
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("文件路径无效: " + path);
+        }
+        if (!resolved.startsWith(root) || (Files.exists(resolved) && !resolved.toRealPath().startsWith(root))) {
+            throw new SecurityException("文件路径超出根目录: " + path);
+        }
+        return resolved.toString();
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            sendError(exchange, 405, "只支持GET请求");
+            return;
+        }
+        StringBuilder json = new StringBuilder("{\"coalescedRequests\":").append(getCoalescedRequests());
+        DetectionCache cache = detector.getCache();
+        if (cache != null) {
+            appendCacheStats(json, "profileCache", cache.getProfileCache());
+            appendCacheStats(json, "resultCache", cache.getResultCache());
+        }
+        send(exchange, 200, json.append('}').toString());
+    }
+
+    private static void appendCacheStats(StringBuilder json, String name, BoundedCache<?, ?> cache) {
+        json.append(",\"").append(name).append("\":{")
+                .append("\"hits\":").append(cache.getHitCount())
+                .append(",\"misses\":").append(cache.getMissCount())
+                .append(",\"evictions\":").append(cache.getEvictionCount())
+                .append(",\"entries\":").append(cache.size())
+                .append(",\"bytes\":").append(cache.getWeightedSize())
+                .append(",\"maximumBytes\":").append(cache.getMaximumWeight())
+                .append('}');
+    }
+
+    /**
+     * 合并参数相同的并发请求
+     * 第一个请求登记一个未完成的结果并计算，计算期间到达的相同请求直接等待该结果；
+     * 计算结束后移除登记，之后的请求重新计算，因此不会返回过期的结果
+     *
+     * @param key         请求参数
+     * @param computation 计算过程
+     * @return 计算结果
+     */
+    double coalesce(List<Object> key, Callable<Double> computation) throws Exception {
+        CompletableFuture<Double> future = new CompletableFuture<>();
+        CompletableFuture<Double> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedRequests.incrementAndGet();
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+
+        try {
+            double result = computation.call();
+            future.complete(result);
+            return result;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } catch (Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static double parseThreshold(String value) {
+        try {
+            double threshold = Double.parseDouble(value);
+            if (Double.isNaN(threshold)) {
+                throw new NumberFormatException();
+            }
+            return threshold;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("相似度阈值无效: " + value);
+        }
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("缺少参数: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * 合并查询字符串和表单请求体中的参数
+     */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), parameters);
+        if ("POST".equals(exchange.getRequestMethod())) {
+            parseForm(new String(readBody(exchange.getRequestBody()), StandardCharsets.UTF_8), parameters);
+        }
+        return parameters;
+    }
+
+    private static void parseForm(String form, Map<String, String> parameters) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] readBody(InputStream body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = body.read(chunk)) > 0) {
+            if (buffer.size() + read > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("请求体过大，最大" + MAX_BODY_BYTES + "字节");
+            }
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void sendSimilarity(HttpExchange exchange, double similarity) throws IOException {
+        send(exchange, 200, String.format(Locale.ROOT, "{\"similarity\":%.4f}", similarity));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "{\"error\":\"" + escapeJson(String.valueOf(message)) + "\"}");
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String escapeJson(String text) {
+        StringBuilder builder = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 后缀自动机
+ * 在线性时间内为一段文本构建，接受且只接受该文本的所有子串。另一段文本逐字符流过自动机，
+ * 即可在线性时间内得到以每个位置结尾、同时出现在两段文本中的最长子串长度
+ *
+ * 字符集很大（汉字），每个状态的转移以边链表保存，查找转移使用以"状态 &lt;&lt; 16 | 字符"为键的
+ * 全局开放寻址哈希表；状态数不超过2n，边数不超过3n
+ */
+public class SuffixAutomaton {
+
+    private int[] length;
+    private int[] link;
+    private int[] firstEdge;
+    private int states;
+
+    private int[] edgeNext;
+    private int[] edgeTarget;
+    private char[] edgeLabel;
+    private int edges;
+
+    private long[] hashKeys;
+    private int[] hashEdges;
+    private int hashSize;
+
+    /**
+     * @param text 文本字符数组
+     */
+    public SuffixAutomaton(char[] text) {
+        int capacity = Math.max(2, text.length * 2);
+        length = new int[capacity];
+        link = new int[capacity];
+        firstEdge = new int[capacity];
+        edgeNext = new int[Math.max(4, text.length + 8)];
+        edgeTarget = new int[edgeNext.length];
+        edgeLabel = new char[edgeNext.length];
+        hashKeys = new long[Integer.highestOneBit(Math.max(8, edgeNext.length)) * 4];
+        hashEdges = new int[hashKeys.length];
+
+        int last = newState(0, -1);
+        for (char c : text) {
+            last = extend(last, c);
+        }
+    }
+
+    private int extend(int last, char c) {
+        int current = newState(length[last] + 1, 0);
+        int p = last;
+        while (p != -1 && edgeOf(p, c) < 0) {
+            addEdge(p, c, current);
+            p = link[p];
+        }
+        if (p == -1) {
+            return current;
+        }
+
+        int q = edgeTarget[edgeOf(p, c)];
+        if (length[p] + 1 == length[q]) {
+            link[current] = q;
+            return current;
+        }
+
+        int clone = newState(length[p] + 1, link[q]);
+        for (int edge = firstEdge[q]; edge >= 0; edge = edgeNext[edge]) {
+            addEdge(clone, edgeLabel[edge], edgeTarget[edge]);
+        }
+        while (p != -1) {
+            int edge = edgeOf(p, c);
+            if (edge < 0 || edgeTarget[edge] != q) {
+                break;
+            }
+            edgeTarget[edge] = clone;
+            p = link[p];
+        }
+        link[q] = clone;
+        link[current] = clone;
+        return current;
+    }
+
+    private int newState(int stateLength, int stateLink) {
+        if (states == length.length) {
+            length = Arrays.copyOf(length, states * 2);
+            link = Arrays.copyOf(link, states * 2);
+            firstEdge = Arrays.copyOf(firstEdge, states * 2);
+        }
+        length[states] = stateLength;
+        link[states] = stateLink;
+        firstEdge[states] = -1;
+        return states++;
+    }
+
+    private void addEdge(int state, char c, int target) {
+        if (edges == edgeNext.length) {
+            edgeNext = Arrays.copyOf(edgeNext, edges * 2);
+            edgeTarget = Arrays.copyOf(edgeTarget, edges * 2);
+            edgeLabel = Arrays.copyOf(edgeLabel, edges * 2);
+        }
+        edgeNext[edges] = firstEdge[state];
+        edgeTarget[edges] = target;
+        edgeLabel[edges] = c;
+        firstEdge[state] = edges;
+
+        if ((hashSize + 1) * 2 > hashKeys.length) {
+            resizeHash();
+        }
+        long key = key(state, c);
+        int slot = slotOf(key);
+        hashKeys[slot] = key;
+        // 哈希表中保存边编号加1，0表示空槽
+        hashEdges[slot] = edges + 1;
+        hashSize++;
+        edges++;
+    }
+
+    private int edgeOf(int state, char c) {
+        return hashEdges[slotOf(key(state, c))] - 1;
+    }
+
+    private static long key(int state, char c) {
+        return ((long) state << 16) | c;
+    }
+
+    private int slotOf(long key) {
+        int mask = hashKeys.length - 1;
+        int slot = (int) MinHasher.mix(key) & mask;
+        while (hashEdges[slot] != 0 && hashKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resizeHash() {
+        long[] oldKeys = hashKeys;
+        int[] oldEdges = hashEdges;
+        hashKeys = new long[oldKeys.length * 2];
+        hashEdges = new int[oldEdges.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldEdges[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                hashKeys[slot] = oldKeys[i];
+                hashEdges[slot] = oldEdges[i];
+            }
+        }
+    }
+
+    /**
+     * 状态数
+     */
+    public int stateCount() {
+        return states;
+    }
+
+    /**
+     * 文本是否为自动机所代表文本的子串
+     */
+    public boolean contains(char[] pattern) {
+        int state = 0;
+        for (char c : pattern) {
+            int edge = edgeOf(state, c);
+            if (edge < 0) {
+                return false;
+            }
+            state = edgeTarget[edge];
+        }
+        return true;
+    }
+
+    /**
+     * 统计文本中被长度不小于minLength的公共子串覆盖的字符数
+     * 对每个位置求出以其结尾的最长公共子串，长度达到minLength时该子串内的字符都被覆盖
+     *
+     * @param text      待比较的文本
+     * @param minLength 公共子串的最小长度
+     * @return 被覆盖的字符数
+     */
+    public int coveredCharacters(char[] text, int minLength) {
+        if (minLength < 1) {
+            throw new IllegalArgumentException("公共子串最小长度必须大于0: " + minLength);
+        }
+        int state = 0;
+        int matched = 0;
+        int covered = 0;
+        int coveredUntil = 0;
+        for (int i = 0; i < text.length; i++) {
+            char c = text[i];
+            int edge = edgeOf(state, c);
+            while (edge < 0 && state != 0) {
+                state = link[state];
+                matched = length[state];
+                edge = edgeOf(state, c);
+            }
+            if (edge < 0) {
+                matched = 0;
+            } else {
+                state = edgeTarget[edge];
+                matched++;
+            }
+
+            if (matched >= minLength) {
+                // 覆盖区间以i结尾且右端单调递增，只需记录已覆盖的右端
+                covered += i + 1 - Math.max(i + 1 - matched, coveredUntil);
+                coveredUntil = i + 1;
+            }
+        }
+        return covered;
+    }
+}
@@ -0,0 +1,164 @@
+package com.plagiarism;
+
+/**
+ * 词频表
+ * 以long为键、int为值的开放寻址散列表，键是词或n-gram的哈希值。
+ * 计数以基本类型存储，不产生装箱对象，并在累加时同步维护平方和以便直接得到向量模长
+ */
+public class TermFrequencyTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+    private int mask;
+    private int shift;
+    private long sumOfSquares;
+
+    public TermFrequencyTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预计的不同键数量
+     */
+    public TermFrequencyTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * 将键的计数加1
+     */
+    public void increment(long key) {
+        add(key, 1);
+    }
+
+    /**
+     * 将键的计数增加delta
+     *
+     * @param key   词的哈希值
+     * @param delta 增量，必须为正数
+     */
+    public void add(long key, int delta) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("词频增量必须为正数: " + delta);
+        }
+
+        // 计数为0的槽位即为空槽
+        int slot = slotOf(key);
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        int old = counts[slot];
+        if (old == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] = old + delta;
+        sumOfSquares += (long) delta * (2L * old + delta);
+
+        if (size * 2 > counts.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(oldCounts.length * 2);
+
+        for (int i = 0; i < oldCounts.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                while (counts[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * 获取键的计数，不存在时返回0
+     */
+    public int get(long key) {
+        int slot = slotOf(key);
+        while (counts[slot] != 0) {
+            if (keys[slot] == key) {
+                return counts[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * 不同键的数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 向量模长
+     */
+    public double norm() {
+        return Math.sqrt(sumOfSquares);
+    }
+
+    /**
+     * 计算与另一词频表的点积
+     * 只遍历较小的表并在较大的表中查找，不需要构造键的并集
+     */
+    public long dot(TermFrequencyTable other) {
+        TermFrequencyTable smaller = size <= other.size ? this : other;
+        TermFrequencyTable larger = smaller == this ? other : this;
+
+        long[] smallerKeys = smaller.keys;
+        int[] smallerCounts = smaller.counts;
+        long dotProduct = 0L;
+        for (int i = 0; i < smallerCounts.length; i++) {
+            int count = smallerCounts[i];
+            if (count != 0) {
+                dotProduct += (long) count * larger.get(smallerKeys[i]);
+            }
+        }
+        return dotProduct;
+    }
+
+    /**
+     * 计算与另一词频表的余弦相似度
+     */
+    public double cosine(TermFrequencyTable other) {
+        double norm1 = norm();
+        double norm2 = other.norm();
+
+        if (norm1 == 0.0 || norm2 == 0.0) {
+            return 0.0;
+        }
+
+        return dot(other) / (norm1 * norm2);
+    }
+}
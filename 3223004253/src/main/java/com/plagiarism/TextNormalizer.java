@@ -0,0 +1,247 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * 文本规范化器
+ * 单次扫描完成字符分类、大小写与全角折叠、空白合并，结果写入可复用的字符缓冲区。
+ * 规范化规则与原先的正则预处理一致：仅保留中文、英文字母和数字，其余字符视为分隔符，
+ * 连续分隔符合并为一个空格，首尾不保留空格。
+ * 启用SIMD实现时，字符串和字符数组改为先整段分类折叠、再合并空格（见SimilarityKernels），结果相同
+ *
+ * 实例不是线程安全的，每个线程应使用独立实例；reset后缓冲区可在多篇文档间复用
+ */
+public class TextNormalizer {
+
+    /** 字符类别：标点及其他字符，视为分隔符 */
+    public static final byte CLASS_PUNCTUATION = 0;
+    /** 字符类别：中文（U+4E00至U+9FA5） */
+    public static final byte CLASS_CJK = 1;
+    /** 字符类别：英文字母（含全角） */
+    public static final byte CLASS_LATIN = 2;
+    /** 字符类别：数字（含全角） */
+    public static final byte CLASS_DIGIT = 3;
+    /** 字符类别：空白 */
+    public static final byte CLASS_WHITESPACE = 4;
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /** 向量实现分块折叠时的块大小 */
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final byte[] CHAR_CLASS = new byte[Character.MAX_VALUE + 1];
+    private static final char[] FOLDED = new char[Character.MAX_VALUE + 1];
+
+    static {
+        for (char c = '\u4e00'; c <= '\u9fa5'; c++) {
+            register(c, CLASS_CJK, c);
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            register(c, CLASS_LATIN, c);
+            register((char) (c - 'a' + 'A'), CLASS_LATIN, c);
+            register((char) (c - 'a' + '\uff41'), CLASS_LATIN, c);
+            register((char) (c - 'a' + '\uff21'), CLASS_LATIN, c);
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            register(c, CLASS_DIGIT, c);
+            register((char) (c - '0' + '\uff10'), CLASS_DIGIT, c);
+        }
+        for (char c : new char[] { ' ', '\t', '\n', '\u000B', '\f', '\r', '\u3000' }) {
+            register(c, CLASS_WHITESPACE, ' ');
+        }
+    }
+
+    private static void register(char c, byte charClass, char folded) {
+        CHAR_CLASS[c] = charClass;
+        FOLDED[c] = folded;
+    }
+
+    /**
+     * 获取字符类别
+     *
+     * @param c 字符
+     * @return 字符类别常量
+     */
+    public static byte classify(char c) {
+        return CHAR_CLASS[c];
+    }
+
+    /**
+     * 获取字符折叠后的形式：字母转为半角小写，数字转为半角
+     */
+    static char fold(char c) {
+        return FOLDED[c];
+    }
+
+    /**
+     * 一次性规范化文本
+     *
+     * @param text 原始文本，null视为空文本
+     * @return 规范化文本
+     */
+    public static NormalizedText normalize(CharSequence text) {
+        if (text == null) {
+            return NormalizedText.EMPTY;
+        }
+        DetectionEvents.Preprocess event = new DetectionEvents.Preprocess();
+        event.begin();
+        NormalizedText normalized = new TextNormalizer(text.length()).append(text).toNormalizedText();
+        if (event.shouldCommit()) {
+            event.inputLength = text.length();
+            event.outputLength = normalized.length();
+            event.commit();
+        }
+        return normalized;
+    }
+
+    private char[] buffer;
+    private int length;
+    private boolean pendingSeparator;
+    private boolean rawBlank = true;
+    private final int[] classCounts = new int[CLASS_DIGIT + 1];
+    private char[] chunk;
+    private char[] folded;
+
+    public TextNormalizer() {
+        this(256);
+    }
+
+    /**
+     * @param initialCapacity 缓冲区初始容量
+     */
+    public TextNormalizer(int initialCapacity) {
+        this.buffer = new char[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * 清空状态，保留缓冲区以便复用
+     */
+    public TextNormalizer reset() {
+        length = 0;
+        pendingSeparator = false;
+        rawBlank = true;
+        Arrays.fill(classCounts, 0);
+        return this;
+    }
+
+    /**
+     * 追加一段原始文本
+     */
+    public TextNormalizer append(CharSequence text) {
+        int n = text.length();
+        ensureCapacity(length + n);
+        if (!(text instanceof String) || !SimilarityKernels.get().isVectorized()) {
+            for (int i = 0; i < n; i++) {
+                accept(text.charAt(i));
+            }
+            return this;
+        }
+
+        // 字符串分块复制到字符数组后整段折叠
+        allocateScratch(n);
+        for (int start = 0; start < n; start += chunk.length) {
+            int end = Math.min(n, start + chunk.length);
+            ((String) text).getChars(start, end, chunk, 0);
+            appendFolded(chunk, 0, end - start);
+        }
+        return this;
+    }
+
+    /**
+     * 追加一段原始字符，可用于分块读取的文件内容
+     */
+    public TextNormalizer append(char[] chars, int offset, int count) {
+        ensureCapacity(length + count);
+        if (!SimilarityKernels.get().isVectorized()) {
+            for (int i = offset, end = offset + count; i < end; i++) {
+                accept(chars[i]);
+            }
+            return this;
+        }
+
+        allocateScratch(count);
+        for (int start = offset, end = offset + count; start < end; start += folded.length) {
+            appendFolded(chars, start, Math.min(end, start + folded.length));
+        }
+        return this;
+    }
+
+    private void allocateScratch(int n) {
+        if (folded == null || folded.length < Math.min(n, CHUNK_SIZE)) {
+            chunk = new char[Math.min(n, CHUNK_SIZE)];
+            folded = new char[chunk.length];
+        }
+    }
+
+    /**
+     * 先由向量实现整段完成分类和折叠，再合并连续的空格
+     */
+    private void appendFolded(char[] chars, int from, int to) {
+        if (SimilarityKernels.get().fold(chars, from, to, folded, 0, classCounts)) {
+            rawBlank = false;
+        }
+
+        // 空格只在紧跟非空格字符时保留；不保留的字符会被下一个字符覆盖，因此循环内没有分支
+        int end = length;
+        if (pendingSeparator) {
+            buffer[end++] = ' ';
+        }
+        int afterContent = end > 0 && buffer[end - 1] != ' ' ? 1 : 0;
+        for (int k = 0, n = to - from; k < n; k++) {
+            char c = folded[k];
+            int content = c != ' ' ? 1 : 0;
+            buffer[end] = c;
+            end += content | afterContent;
+            afterContent = content;
+        }
+
+        // 末尾的空格作为待输出的分隔符
+        pendingSeparator = end > 0 && buffer[end - 1] == ' ';
+        length = pendingSeparator ? end - 1 : end;
+    }
+
+    private void accept(char c) {
+        if (c > ' ') {
+            rawBlank = false;
+        }
+
+        byte charClass = CHAR_CLASS[c];
+        if (charClass == CLASS_PUNCTUATION || charClass == CLASS_WHITESPACE) {
+            // 分隔符只在已有内容之后才需要输出
+            pendingSeparator = length > 0;
+            return;
+        }
+        classCounts[charClass]++;
+
+        if (pendingSeparator) {
+            buffer[length++] = ' ';
+            pendingSeparator = false;
+        }
+        buffer[length++] = FOLDED[c];
+    }
+
+    private void ensureCapacity(int required) {
+        // 每个输入字符最多产生一个输出字符，另加一个待输出的分隔符
+        if (required + 1 > buffer.length) {
+            if (required < 0 || required >= MAX_CAPACITY) {
+                throw new IllegalArgumentException("规范化文本超过数组长度上限");
+            }
+            buffer = Arrays.copyOf(buffer, (int) Math.min(MAX_CAPACITY, Math.max(required + 1L, buffer.length * 2L)));
+        }
+    }
+
+    /**
+     * 当前已规范化的字符数
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 生成规范化文本，缓冲区内容被复制，规范化器可继续复用
+     */
+    public NormalizedText toNormalizedText() {
+        return new NormalizedText(Arrays.copyOf(buffer, length), rawBlank, classCounts[CLASS_CJK],
+                classCounts[CLASS_LATIN], classCounts[CLASS_DIGIT]);
+    }
+}
@@ -1,7 +1,12 @@
 package com.plagiarism;
 
-import java.util.*;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * 文本相似度计算器
@@ -9,114 +14,603 @@ import java.util.regex.Pattern;
  */
 public class TextSimilarityCalculator {
 
-    private static final Pattern CHINESE_PATTERN = Pattern.compile("[\\u4e00-\\u9fa5]");
-    private static final Pattern ENGLISH_PATTERN = Pattern.compile("[a-zA-Z]");
+    private static final long WORD_HASH_SEED = 0xCBF29CE484222325L;
+    private static final long WORD_HASH_BASE = 0x100000001B3L;
+
+    /** 分段模式下片段的默认目标长度 */
+    public static final int DEFAULT_SEGMENT_LENGTH = 200;
+
+    /** 子串覆盖率的默认公共子串最小长度 */
+    public static final int DEFAULT_MIN_SUBSTRING_LENGTH = 5;
+
+    private final EditDistanceCalculator editDistanceCalculator = new EditDistanceCalculator();
+    private final BitVectorEditDistanceCalculator bitVectorEditDistanceCalculator =
+            new BitVectorEditDistanceCalculator();
+    private final LcsCalculator lcsCalculator = new LcsCalculator();
+
+    private EditDistanceBackend editDistanceBackend = EditDistanceBackend.LINEAR_SPACE;
+    private LcsBackend lcsBackend = LcsBackend.BIT_PARALLEL;
+    private NGramVectorizer nGramVectorizer = new NGramVectorizer(2);
+    private AlignmentMode alignmentMode = AlignmentMode.WHOLE_TEXT;
+    private int segmentLength = DEFAULT_SEGMENT_LENGTH;
+    private CharacterMetric characterMetric = CharacterMetric.LCS;
+    private int minSubstringLength = DEFAULT_MIN_SUBSTRING_LENGTH;
+    private ForkJoinPool componentPool;
+    private LanguageDetector languageDetector = new LanguageDetector();
+    private final EnumMap<TextLanguage, Tokenization> tokenizations = new EnumMap<>(TextLanguage.class);
+
+    public TextSimilarityCalculator() {
+        // 中文没有空格分词，按空白切分会把整句当作一个词；无法判定语言的文本按字符处理
+        tokenizations.put(TextLanguage.CHINESE, Tokenization.CHARACTER_NGRAM);
+        tokenizations.put(TextLanguage.ENGLISH, Tokenization.WORD);
+        tokenizations.put(TextLanguage.MIXED, Tokenization.CHARACTER_NGRAM);
+        tokenizations.put(TextLanguage.UNKNOWN, Tokenization.CHARACTER_NGRAM);
+    }
+
+    /**
+     * 获取编辑距离计算后端
+     */
+    public EditDistanceBackend getEditDistanceBackend() {
+        return editDistanceBackend;
+    }
+
+    /**
+     * 设置编辑距离计算后端
+     */
+    public void setEditDistanceBackend(EditDistanceBackend editDistanceBackend) {
+        if (editDistanceBackend == null) {
+            throw new IllegalArgumentException("编辑距离计算后端不能为空");
+        }
+        this.editDistanceBackend = editDistanceBackend;
+    }
+
+    /**
+     * 获取最长公共子序列计算后端
+     */
+    public LcsBackend getLcsBackend() {
+        return lcsBackend;
+    }
+
+    /**
+     * 设置最长公共子序列计算后端
+     */
+    public void setLcsBackend(LcsBackend lcsBackend) {
+        if (lcsBackend == null) {
+            throw new IllegalArgumentException("最长公共子序列计算后端不能为空");
+        }
+        this.lcsBackend = lcsBackend;
+    }
+
+    /**
+     * 获取中文及混合文本余弦相似度所用的字符n-gram长度
+     */
+    public int getShingleSize() {
+        return nGramVectorizer.getN();
+    }
+
+    /**
+     * 设置中文及混合文本余弦相似度所用的字符n-gram长度，默认为2
+     */
+    public void setShingleSize(int shingleSize) {
+        this.nGramVectorizer = new NGramVectorizer(shingleSize);
+    }
+
+    /**
+     * 获取编辑距离和字符级相似度的对齐方式
+     */
+    public AlignmentMode getAlignmentMode() {
+        return alignmentMode;
+    }
+
+    /**
+     * 设置编辑距离和字符级相似度的对齐方式
+     */
+    public void setAlignmentMode(AlignmentMode alignmentMode) {
+        if (alignmentMode == null) {
+            throw new IllegalArgumentException("对齐方式不能为空");
+        }
+        this.alignmentMode = alignmentMode;
+    }
+
+    /**
+     * 获取分段模式下片段的目标长度
+     */
+    public int getSegmentLength() {
+        return segmentLength;
+    }
+
+    /**
+     * 设置分段模式下片段的目标长度，默认为200个字符
+     */
+    public void setSegmentLength(int segmentLength) {
+        if (segmentLength < 1) {
+            throw new IllegalArgumentException("片段长度必须大于0: " + segmentLength);
+        }
+        this.segmentLength = segmentLength;
+    }
+
+    /**
+     * 获取字符级相似度的计算方式
+     */
+    public CharacterMetric getCharacterMetric() {
+        return characterMetric;
+    }
+
+    /**
+     * 设置字符级相似度的计算方式
+     */
+    public void setCharacterMetric(CharacterMetric characterMetric) {
+        if (characterMetric == null) {
+            throw new IllegalArgumentException("字符级相似度计算方式不能为空");
+        }
+        this.characterMetric = characterMetric;
+    }
+
+    /**
+     * 获取子串覆盖率的公共子串最小长度
+     */
+    public int getMinSubstringLength() {
+        return minSubstringLength;
+    }
+
+    /**
+     * 设置子串覆盖率的公共子串最小长度，默认为5个字符
+     */
+    public void setMinSubstringLength(int minSubstringLength) {
+        if (minSubstringLength < 1) {
+            throw new IllegalArgumentException("公共子串最小长度必须大于0: " + minSubstringLength);
+        }
+        this.minSubstringLength = minSubstringLength;
+    }
+
+    /**
+     * 获取并行计算各项相似度所用的线程池，为null时在调用线程上依次计算
+     */
+    public ForkJoinPool getComponentPool() {
+        return componentPool;
+    }
+
+    /**
+     * 设置并行计算各项相似度所用的线程池，默认为null（依次计算）
+     * 设置后编辑距离相似度和字符级相似度作为独立任务提交到线程池，余弦相似度在调用线程上计算，
+     * 单对文档的耗时接近三者中最慢的一项。多个线程可共享同一线程池同时调用
+     */
+    public void setComponentPool(ForkJoinPool componentPool) {
+        this.componentPool = componentPool;
+    }
+
+    /**
+     * 获取语言检测器
+     */
+    public LanguageDetector getLanguageDetector() {
+        return languageDetector;
+    }
+
+    /**
+     * 设置语言检测器，可调整大文本的采样阈值和置信度
+     */
+    public void setLanguageDetector(LanguageDetector languageDetector) {
+        if (languageDetector == null) {
+            throw new IllegalArgumentException("语言检测器不能为空");
+        }
+        this.languageDetector = languageDetector;
+    }
+
+    /**
+     * 获取某种语言的文本计算余弦相似度时的分词方式
+     */
+    public Tokenization getTokenization(TextLanguage language) {
+        return tokenizations.get(language);
+    }
+
+    /**
+     * 设置某种语言的文本计算余弦相似度时的分词方式
+     * 默认中文、混合及未知语言按字符n-gram，英文按词；两篇文档中任一按字符n-gram时均按字符n-gram比较
+     */
+    public void setTokenization(TextLanguage language, Tokenization tokenization) {
+        if (language == null || tokenization == null) {
+            throw new IllegalArgumentException("语言类型和分词方式不能为空");
+        }
+        tokenizations.put(language, tokenization);
+    }
+
+    /**
+     * 影响综合相似度结果的参数，用作结果缓存键的一部分
+     * 计算后端和线程池只影响耗时，不包含在内
+     */
+    List<Object> resultSettings() {
+        return Arrays.asList(getShingleSize(), alignmentMode, segmentLength, characterMetric, minSubstringLength,
+                new ArrayList<>(tokenizations.values()));
+    }
 
     /**
      * 计算综合相似度
      * 结合余弦相似度和编辑距离相似度
      */
     public double calculateComprehensiveSimilarity(String text1, String text2) {
-        // 文本预处理
-        String processedText1 = preprocessText(text1);
-        String processedText2 = preprocessText(text2);
+        // 文本预处理，三种相似度共享同一份规范化结果
+        DocumentProfile profile1 = createProfile(text1);
+        DocumentProfile profile2 = createProfile(text2);
 
-        // 计算余弦相似度
-        double cosineSimilarity = calculateCosineSimilarity(processedText1, processedText2);
+        return calculateComprehensiveSimilarity(profile1, profile2);
+    }
 
-        // 计算编辑距离相似度
-        double editDistanceSimilarity = calculateEditDistanceSimilarity(processedText1, processedText2);
+    /**
+     * 基于文档特征计算综合相似度
+     * 原文的特征可在多次比较间复用
+     *
+     * @param original  原文特征
+     * @param candidate 抄袭版特征
+     * @return 综合相似度
+     */
+    public double calculateComprehensiveSimilarity(DocumentProfile original, DocumentProfile candidate) {
+        DetectionEvents.Comparison event = new DetectionEvents.Comparison();
+        event.begin();
+        double similarity = computeComprehensiveSimilarity(original, candidate);
+        commitComparison(event, original, candidate, Double.NaN, similarity);
+        return similarity;
+    }
+
+    private double computeComprehensiveSimilarity(DocumentProfile original, DocumentProfile candidate) {
+        ForkJoinPool pool = componentPool;
+        if (pool != null) {
+            return calculateComponentsInParallel(pool, original, candidate);
+        }
+
+        // 计算余弦相似度
+        double cosineSimilarity = calculateCosineSimilarity(original, candidate);
+
+        double editDistanceSimilarity;
+        double characterSimilarity;
+        if (alignmentMode == AlignmentMode.SEGMENTED) {
+            double[] segmented = calculateSegmentedSimilarities(original, candidate);
+            editDistanceSimilarity = segmented[0];
+            characterSimilarity = characterMetric == CharacterMetric.LCS
+                    ? segmented[1] : calculateCoverageSimilarity(original, candidate);
+        } else {
+            // 计算编辑距离相似度
+            editDistanceSimilarity = calculateEditDistanceSimilarity(original, candidate);
 
-        // 计算字符级相似度
-        double characterSimilarity = calculateCharacterSimilarity(processedText1, processedText2);
+            // 计算字符级相似度
+            characterSimilarity = characterMetric == CharacterMetric.LCS
+                    ? calculateCharacterSimilarity(original, candidate) : calculateCoverageSimilarity(original, candidate);
+        }
 
         // 加权平均
         return cosineSimilarity * 0.5 + editDistanceSimilarity * 0.3 + characterSimilarity * 0.2;
     }
 
     /**
-     * 文本预处理
+     * 在线程池中并行计算各项相似度，结果与依次计算相同
      */
-    public String preprocessText(String text) {
-        if (text == null)
-            return "";
-
-        // 去除标点符号和特殊字符
-        String cleaned = text.replaceAll("[^\\u4e00-\\u9fa5a-zA-Z0-9\\s]", " ");
+    private double calculateComponentsInParallel(ForkJoinPool pool, DocumentProfile original,
+            DocumentProfile candidate) {
+        boolean segmented = alignmentMode == AlignmentMode.SEGMENTED;
+        boolean lcs = characterMetric == CharacterMetric.LCS;
+        if (!segmented && lcs) {
+            // 位向量编辑距离与公共子序列共用原文的匹配掩码表，先构建一次以免两个任务重复构建
+            original.getMatchMasks();
+        }
 
-        // 转换为小写
-        cleaned = cleaned.toLowerCase();
+        ForkJoinTask<double[]> segmentedTask = null;
+        ForkJoinTask<Double> editDistanceTask = null;
+        ForkJoinTask<Double> characterTask = null;
+        if (segmented) {
+            segmentedTask = fork(pool, () -> calculateSegmentedSimilarities(original, candidate));
+        } else {
+            editDistanceTask = fork(pool, () -> calculateEditDistanceSimilarity(original, candidate));
+        }
+        if (!lcs) {
+            characterTask = fork(pool, () -> calculateCoverageSimilarity(original, candidate));
+        } else if (!segmented) {
+            characterTask = fork(pool, () -> calculateCharacterSimilarity(original, candidate));
+        }
 
-        // 去除多余空格
-        cleaned = cleaned.replaceAll("\\s+", " ").trim();
+        double cosineSimilarity = calculateCosineSimilarity(original, candidate);
+        double editDistanceSimilarity = segmentedTask != null ? segmentedTask.join()[0] : editDistanceTask.join();
+        double characterSimilarity = characterTask != null ? characterTask.join() : segmentedTask.join()[1];
 
-        return cleaned;
+        return cosineSimilarity * 0.5 + editDistanceSimilarity * 0.3 + characterSimilarity * 0.2;
     }
 
     /**
-     * 计算余弦相似度
+     * 把任务提交到线程池
+     * 调用线程是该线程池的工作线程时压入自身的任务队列，join时可直接执行或窃取其他任务，不会阻塞工作线程
      */
-    public double calculateCosineSimilarity(String text1, String text2) {
-        Map<String, Integer> vector1 = generateWordVector(text1);
-        Map<String, Integer> vector2 = generateWordVector(text2);
+    private static <T> ForkJoinTask<T> fork(ForkJoinPool pool, Callable<T> callable) {
+        ForkJoinTask<T> task = ForkJoinTask.adapt(callable);
+        if (ForkJoinTask.getPool() == pool) {
+            task.fork();
+        } else {
+            pool.execute(task);
+        }
+        return task;
+    }
 
-        return calculateCosineSimilarity(vector1, vector2);
+    /**
+     * 计算综合相似度，只关心结果是否达到阈值
+     *
+     * @see #calculateComprehensiveSimilarity(DocumentProfile, DocumentProfile, double)
+     */
+    public double calculateComprehensiveSimilarity(String text1, String text2, double threshold) {
+        return calculateComprehensiveSimilarity(createProfile(text1), createProfile(text2), threshold);
     }
 
     /**
-     * 计算余弦相似度（基于词频向量）
+     * 基于文档特征计算综合相似度，低于阈值的文档对提前结束
+     * 依次使用长度比、余弦相似度和字符直方图交集估计综合相似度的上界，上界低于阈值时直接返回；
+     * 否则把剩余的分数差额换算为编辑距离上界和公共子序列长度下界，动态规划越界即停止。
+     * 分段模式和子串覆盖率只使用前两项上界
+     *
+     * @param original  原文特征
+     * @param candidate 抄袭版特征
+     * @param threshold 相似度阈值
+     * @return 综合相似度不低于阈值时为精确值，否则为一个低于阈值的上界
      */
-    private double calculateCosineSimilarity(Map<String, Integer> vector1, Map<String, Integer> vector2) {
-        Set<String> allWords = new HashSet<>();
-        allWords.addAll(vector1.keySet());
-        allWords.addAll(vector2.keySet());
+    public double calculateComprehensiveSimilarity(DocumentProfile original, DocumentProfile candidate,
+            double threshold) {
+        if (Double.isNaN(threshold)) {
+            throw new IllegalArgumentException("相似度阈值无效: " + threshold);
+        }
+        DetectionEvents.Comparison event = new DetectionEvents.Comparison();
+        event.begin();
+        double similarity = computeComprehensiveSimilarity(original, candidate, threshold);
+        commitComparison(event, original, candidate, threshold, similarity);
+        return similarity;
+    }
 
-        if (allWords.isEmpty()) {
-            return 0.0;
+    private double computeComprehensiveSimilarity(DocumentProfile original, DocumentProfile candidate,
+            double threshold) {
+        int length1 = original.length();
+        int length2 = candidate.length();
+        int maxLength = Math.max(length1, length2);
+        if (threshold <= 0.0 || maxLength == 0) {
+            return computeComprehensiveSimilarity(original, candidate);
         }
 
-        double dotProduct = 0.0;
-        for (String word : allWords) {
-            int freq1 = vector1.getOrDefault(word, 0);
-            int freq2 = vector2.getOrDefault(word, 0);
-            dotProduct += freq1 * freq2;
+        // 编辑距离不小于长度差，公共子序列不超过较短文本，两者的相似度都不超过长度比；
+        // 子串覆盖的字符数不超过抄袭版长度
+        double lengthRatio = (double) Math.min(length1, length2) / maxLength;
+        double characterBound = characterMetric == CharacterMetric.LCS ? lengthRatio : (double) length2 / maxLength;
+        double bound = 0.5 + lengthRatio * 0.3 + characterBound * 0.2;
+        if (bound < threshold) {
+            return bound;
         }
 
-        double norm1 = calculateVectorNorm(vector1);
-        double norm2 = calculateVectorNorm(vector2);
+        double cosineSimilarity = calculateCosineSimilarity(original, candidate);
+        bound = cosineSimilarity * 0.5 + lengthRatio * 0.3 + characterBound * 0.2;
+        if (bound < threshold) {
+            return bound;
+        }
+        if (alignmentMode == AlignmentMode.SEGMENTED || characterMetric != CharacterMetric.LCS) {
+            return computeComprehensiveSimilarity(original, candidate);
+        }
 
-        if (norm1 == 0.0 || norm2 == 0.0) {
-            return 0.0;
+        // 公共子序列不超过两篇文本字符直方图的交集，编辑距离不小于较长文本长度减去该交集
+        double histogramRatio = (double) histogramIntersection(original.getCharacterHistogram(),
+                candidate.getCharacterHistogram()) / maxLength;
+        bound = cosineSimilarity * 0.5 + histogramRatio * 0.5;
+        if (bound < threshold) {
+            return bound;
+        }
+
+        char[] chars1 = original.getText().getChars();
+        char[] chars2 = candidate.getText().getChars();
+        double requiredEditDistanceSimilarity = (threshold - cosineSimilarity * 0.5 - histogramRatio * 0.2) / 0.3;
+        int maxDistance = (int) Math.max(0, Math.min(maxLength,
+                Math.floor(maxLength * (1.0 - requiredEditDistanceSimilarity))));
+        // 波前后端与位向量算法逐位相同，带上界时使用可提前结束的单线程位向量算法
+        int editDistance = editDistanceBackend != EditDistanceBackend.LINEAR_SPACE
+                ? bitVectorEditDistanceCalculator.calculate(original.getMatchMasks(), chars2, maxDistance)
+                : editDistanceCalculator.calculate(chars1, chars2, maxDistance);
+        double editDistanceSimilarity = toEditDistanceSimilarity(editDistance, length1, length2);
+        if (editDistance > maxDistance) {
+            bound = cosineSimilarity * 0.5 + editDistanceSimilarity * 0.3 + histogramRatio * 0.2;
+            // 浮点舍入可能使上界恰好落在阈值上，此时退回精确计算
+            return bound < threshold ? bound : computeComprehensiveSimilarity(original, candidate);
         }
 
-        return dotProduct / (norm1 * norm2);
+        double requiredCharacterSimilarity = (threshold - cosineSimilarity * 0.5 - editDistanceSimilarity * 0.3) / 0.2;
+        int minLength = (int) Math.max(0, Math.ceil(maxLength * requiredCharacterSimilarity));
+        int lcsLength = lcsCalculator.calculate(original.getMatchMasks(), chars2, minLength);
+        double score = cosineSimilarity * 0.5 + editDistanceSimilarity * 0.3
+                + toCharacterSimilarity(lcsLength, length1, length2) * 0.2;
+        if (lcsLength < minLength && score >= threshold) {
+            return computeComprehensiveSimilarity(original, candidate);
+        }
+        return score;
     }
 
     /**
-     * 生成词频向量
+     * 基于已知的编辑距离和最长公共子序列长度计算综合相似度，供增量查重使用
+     * 只适用于整篇对齐；字符级相似度使用子串覆盖率时忽略lcsLength
+     *
+     * @param original     原文特征
+     * @param candidate    抄袭版特征
+     * @param editDistance 两篇文本的编辑距离
+     * @param lcsLength    两篇文本的最长公共子序列长度
+     * @return 综合相似度
      */
-    private Map<String, Integer> generateWordVector(String text) {
-        Map<String, Integer> wordVector = new HashMap<>();
-        String[] words = text.split("\\s+");
+    double calculateComprehensiveSimilarity(DocumentProfile original, DocumentProfile candidate,
+            int editDistance, int lcsLength) {
+        DetectionEvents.Comparison event = new DetectionEvents.Comparison();
+        event.begin();
+        double cosineSimilarity = calculateCosineSimilarity(original, candidate);
+        double editDistanceSimilarity = toEditDistanceSimilarity(editDistance, original.length(), candidate.length());
+        double characterSimilarity = characterMetric == CharacterMetric.LCS
+                ? toCharacterSimilarity(lcsLength, original.length(), candidate.length())
+                : calculateCoverageSimilarity(original, candidate);
+        double similarity = cosineSimilarity * 0.5 + editDistanceSimilarity * 0.3 + characterSimilarity * 0.2;
+        commitComparison(event, original, candidate, Double.NaN, similarity);
+        return similarity;
+    }
+
+    private void commitComparison(DetectionEvents.Comparison event, DocumentProfile original,
+            DocumentProfile candidate, double threshold, double similarity) {
+        if (event.shouldCommit()) {
+            event.length1 = original.length();
+            event.length2 = candidate.length();
+            event.alignmentMode = alignmentMode.name();
+            event.characterMetric = characterMetric.name();
+            event.threshold = threshold;
+            event.similarity = similarity;
+            event.commit();
+        }
+    }
+
+    private static void commitComponent(DetectionEvents.SimilarityComponent event, String component,
+            String algorithm, DocumentProfile profile1, DocumentProfile profile2, double similarity) {
+        if (event.shouldCommit()) {
+            event.component = component;
+            event.algorithm = algorithm;
+            event.length1 = profile1.length();
+            event.length2 = profile2.length();
+            event.similarity = similarity;
+            event.commit();
+        }
+    }
 
-        for (String word : words) {
-            if (!word.trim().isEmpty()) {
-                wordVector.put(word, wordVector.getOrDefault(word, 0) + 1);
+    /**
+     * 两个字符直方图的交集大小，即各字符在两篇文本中出现次数的较小值之和
+     */
+    private static long histogramIntersection(long[] histogram1, long[] histogram2) {
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < histogram1.length && j < histogram2.length) {
+            long c1 = histogram1[i] >>> 32;
+            long c2 = histogram2[j] >>> 32;
+            if (c1 < c2) {
+                i++;
+            } else if (c1 > c2) {
+                j++;
+            } else {
+                total += Math.min((int) histogram1[i++], (int) histogram2[j++]);
             }
         }
+        return total;
+    }
 
-        return wordVector;
+    /**
+     * 计算一篇原文与多篇抄袭版的综合相似度
+     *
+     * @param original   原文特征
+     * @param candidates 抄袭版特征列表
+     * @return 与candidates顺序一致的综合相似度数组
+     */
+    public double[] calculateComprehensiveSimilarity(DocumentProfile original, List<DocumentProfile> candidates) {
+        double[] similarities = new double[candidates.size()];
+        for (int i = 0; i < similarities.length; i++) {
+            similarities[i] = calculateComprehensiveSimilarity(original, candidates.get(i));
+        }
+        return similarities;
+    }
+
+    /**
+     * 构建文档特征
+     *
+     * @param text 原始文本，null视为空文本
+     * @return 文档特征
+     */
+    public DocumentProfile createProfile(String text) {
+        return createProfile(TextNormalizer.normalize(text));
+    }
+
+    /**
+     * 基于规范化文本构建文档特征
+     */
+    public DocumentProfile createProfile(NormalizedText text) {
+        // 规范化时已统计字符类别，无需再次扫描
+        return new DocumentProfile(text, languageDetector.classify(text.getCjkCount(), text.getLatinCount()));
     }
 
     /**
-     * 计算向量模长
+     * 文本预处理
+     * 单次扫描去除标点符号和特殊字符、转换为小写并合并多余空格
      */
-    private double calculateVectorNorm(Map<String, Integer> vector) {
-        double sum = 0.0;
-        for (int frequency : vector.values()) {
-            sum += frequency * frequency;
+    public String preprocessText(String text) {
+        if (text == null)
+            return "";
+
+        return TextNormalizer.normalize(text).toString();
+    }
+
+    /**
+     * 计算余弦相似度
+     * 中文及混合文本使用字符n-gram向量，英文文本使用词频向量
+     */
+    public double calculateCosineSimilarity(String text1, String text2) {
+        char[] chars1 = text1.toCharArray();
+        char[] chars2 = text2.toCharArray();
+
+        return calculateCosineSimilarity(chars1, chars2,
+                usesCharacterNGrams(languageDetector.detect(chars1), languageDetector.detect(chars2)));
+    }
+
+    private double calculateCosineSimilarity(char[] text1, char[] text2, boolean characterNGrams) {
+        if (characterNGrams) {
+            NGramVectorizer vectorizer = nGramVectorizer;
+            return vectorizer.vectorize(text1).cosine(vectorizer.vectorize(text2));
+        }
+        return generateWordVector(text1).cosine(generateWordVector(text2));
+    }
+
+    private double calculateCosineSimilarity(DocumentProfile profile1, DocumentProfile profile2) {
+        DetectionEvents.SimilarityComponent event = new DetectionEvents.SimilarityComponent();
+        event.begin();
+        double similarity;
+        String algorithm;
+        // 中文及混合文本使用字符n-gram向量
+        if (usesCharacterNGrams(profile1.getLanguage(), profile2.getLanguage())) {
+            NGramVectorizer vectorizer = nGramVectorizer;
+            similarity = profile1.getNGramVector(vectorizer).cosine(profile2.getNGramVector(vectorizer));
+            algorithm = "ngram";
+        } else {
+            similarity = profile1.getWordVector(this).cosine(profile2.getWordVector(this));
+            algorithm = "word";
         }
-        return Math.sqrt(sum);
+        commitComponent(event, "cosine", algorithm, profile1, profile2, similarity);
+        return similarity;
+    }
+
+    /**
+     * 两段文本中任一按语言路由到字符n-gram时使用字符n-gram向量
+     */
+    private boolean usesCharacterNGrams(TextLanguage language1, TextLanguage language2) {
+        return tokenizations.get(language1) == Tokenization.CHARACTER_NGRAM
+                || tokenizations.get(language2) == Tokenization.CHARACTER_NGRAM;
+    }
+
+    /**
+     * 生成词频向量
+     * 按空白字符切分，每个词以字符哈希值作为键，不创建子串对象
+     */
+    TermFrequencyTable generateWordVector(char[] text) {
+        DetectionEvents.Vectorize event = new DetectionEvents.Vectorize();
+        event.begin();
+        TermFrequencyTable wordVector = new TermFrequencyTable();
+
+        long hash = 0L;
+        boolean inWord = false;
+        for (int i = 0; i <= text.length; i++) {
+            boolean separator = i == text.length
+                    || TextNormalizer.classify(text[i]) == TextNormalizer.CLASS_WHITESPACE;
+            if (!separator) {
+                hash = (inWord ? hash : WORD_HASH_SEED) * WORD_HASH_BASE + text[i];
+                inWord = true;
+            } else if (inWord) {
+                wordVector.increment(hash);
+                inWord = false;
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.kind = "word";
+            event.textLength = text.length;
+            event.terms = wordVector.size();
+            event.commit();
+        }
+        return wordVector;
     }
 
     /**
@@ -127,8 +621,33 @@ public class TextSimilarityCalculator {
             return 0.0;
         }
 
+        return calculateEditDistanceSimilarity(text1.toCharArray(), text2.toCharArray());
+    }
+
+    private double calculateEditDistanceSimilarity(char[] text1, char[] text2) {
         int editDistance = calculateEditDistance(text1, text2);
-        int maxLength = Math.max(text1.length(), text2.length());
+        return toEditDistanceSimilarity(editDistance, text1.length, text2.length);
+    }
+
+    private double calculateEditDistanceSimilarity(DocumentProfile profile1, DocumentProfile profile2) {
+        DetectionEvents.SimilarityComponent event = new DetectionEvents.SimilarityComponent();
+        event.begin();
+        char[] chars2 = profile2.getText().getChars();
+        int editDistance;
+        if (editDistanceBackend == EditDistanceBackend.BIT_VECTOR) {
+            editDistance = bitVectorEditDistanceCalculator.calculate(profile1.getMatchMasks(), chars2);
+        } else if (editDistanceBackend == EditDistanceBackend.WAVEFRONT) {
+            editDistance = wavefrontDp().editDistance(profile1.getMatchMasks(), chars2);
+        } else {
+            editDistance = editDistanceCalculator.calculate(profile1.getText().getChars(), chars2);
+        }
+        double similarity = toEditDistanceSimilarity(editDistance, profile1.length(), profile2.length());
+        commitComponent(event, "editDistance", editDistanceBackend.name(), profile1, profile2, similarity);
+        return similarity;
+    }
+
+    private double toEditDistanceSimilarity(int editDistance, int length1, int length2) {
+        int maxLength = Math.max(length1, length2);
 
         if (maxLength == 0) {
             return 1.0;
@@ -140,32 +659,32 @@ public class TextSimilarityCalculator {
     /**
      * 计算编辑距离（Levenshtein距离）
      */
-    private int calculateEditDistance(String s1, String s2) {
-        int m = s1.length();
-        int n = s2.length();
-
-        int[][] dp = new int[m + 1][n + 1];
-
-        // 初始化
-        for (int i = 0; i <= m; i++) {
-            dp[i][0] = i;
+    private int calculateEditDistance(char[] s1, char[] s2) {
+        if (editDistanceBackend == EditDistanceBackend.BIT_VECTOR) {
+            return bitVectorEditDistanceCalculator.calculate(s1, s2);
         }
-        for (int j = 0; j <= n; j++) {
-            dp[0][j] = j;
+        if (editDistanceBackend == EditDistanceBackend.WAVEFRONT) {
+            return wavefrontDp().editDistance(s1, s2);
         }
+        return editDistanceCalculator.calculate(s1, s2);
+    }
 
-        // 填充dp表
-        for (int i = 1; i <= m; i++) {
-            for (int j = 1; j <= n; j++) {
-                if (s1.charAt(i - 1) == s2.charAt(j - 1)) {
-                    dp[i][j] = dp[i - 1][j - 1];
-                } else {
-                    dp[i][j] = Math.min(Math.min(dp[i - 1][j], dp[i][j - 1]), dp[i - 1][j - 1]) + 1;
-                }
-            }
+    /**
+     * 计算最长公共子序列长度
+     */
+    private int calculateLcs(char[] s1, char[] s2) {
+        if (lcsBackend == LcsBackend.WAVEFRONT) {
+            return wavefrontDp().lcs(s1, s2);
         }
+        return lcsCalculator.calculate(s1, s2);
+    }
 
-        return dp[m][n];
+    /**
+     * 波前并行动态规划，使用各项相似度共享的线程池，未设置时使用公共线程池
+     */
+    private WavefrontDp wavefrontDp() {
+        ForkJoinPool pool = componentPool;
+        return new WavefrontDp(pool != null ? pool : ForkJoinPool.commonPool());
     }
 
     /**
@@ -176,9 +695,30 @@ public class TextSimilarityCalculator {
             return 0.0;
         }
 
+        return calculateCharacterSimilarity(text1.toCharArray(), text2.toCharArray());
+    }
+
+    private double calculateCharacterSimilarity(char[] text1, char[] text2) {
         // 计算最长公共子序列
-        int lcsLength = calculateLCS(text1, text2);
-        int maxLength = Math.max(text1.length(), text2.length());
+        int lcsLength = calculateLcs(text1, text2);
+        return toCharacterSimilarity(lcsLength, text1.length, text2.length);
+    }
+
+    private double calculateCharacterSimilarity(DocumentProfile profile1, DocumentProfile profile2) {
+        DetectionEvents.SimilarityComponent event = new DetectionEvents.SimilarityComponent();
+        event.begin();
+        // 以原文的匹配掩码表为模式串，一对多比较时只需构建一次
+        MatchMaskTable masks = profile1.getMatchMasks();
+        char[] chars2 = profile2.getText().getChars();
+        int lcsLength = lcsBackend == LcsBackend.WAVEFRONT
+                ? wavefrontDp().lcs(masks, chars2) : lcsCalculator.calculate(masks, chars2);
+        double similarity = toCharacterSimilarity(lcsLength, profile1.length(), profile2.length());
+        commitComponent(event, "lcs", lcsBackend.name(), profile1, profile2, similarity);
+        return similarity;
+    }
+
+    private double toCharacterSimilarity(int lcsLength, int length1, int length2) {
+        int maxLength = Math.max(length1, length2);
 
         if (maxLength == 0) {
             return 1.0;
@@ -188,53 +728,93 @@ public class TextSimilarityCalculator {
     }
 
     /**
-     * 计算最长公共子序列长度
+     * 计算子串覆盖率
+     * 抄袭版中被长度不小于公共子串最小长度的、同时出现在原文中的子串覆盖的字符比例，
+     * 基于原文的后缀自动机，时间与两段文本长度之和成线性关系
+     *
+     * @param original  原文
+     * @param candidate 抄袭版
+     * @return 覆盖率，抄袭版规范化后为空时为1.0
      */
-    private int calculateLCS(String s1, String s2) {
-        int m = s1.length();
-        int n = s2.length();
-
-        int[][] dp = new int[m + 1][n + 1];
+    public double calculateSubstringCoverage(String original, String candidate) {
+        if (original == null || candidate == null) {
+            return 0.0;
+        }
 
-        for (int i = 1; i <= m; i++) {
-            for (int j = 1; j <= n; j++) {
-                if (s1.charAt(i - 1) == s2.charAt(j - 1)) {
-                    dp[i][j] = dp[i - 1][j - 1] + 1;
-                } else {
-                    dp[i][j] = Math.max(dp[i - 1][j], dp[i][j - 1]);
-                }
-            }
+        DocumentProfile originalProfile = createProfile(original);
+        char[] chars = createProfile(candidate).getText().getChars();
+        if (chars.length == 0) {
+            return 1.0;
         }
+        return (double) originalProfile.getSuffixAutomaton().coveredCharacters(chars, minSubstringLength)
+                / chars.length;
+    }
 
-        return dp[m][n];
+    /**
+     * 以子串覆盖的字符数代替公共子序列长度计算字符级相似度，同样除以较长文本的长度
+     */
+    private double calculateCoverageSimilarity(DocumentProfile original, DocumentProfile candidate) {
+        DetectionEvents.SimilarityComponent event = new DetectionEvents.SimilarityComponent();
+        event.begin();
+        int covered = original.getSuffixAutomaton()
+                .coveredCharacters(candidate.getText().getChars(), minSubstringLength);
+        double similarity = toCharacterSimilarity(covered, original.length(), candidate.length());
+        commitComponent(event, "substringCoverage", "SUFFIX_AUTOMATON", original, candidate, similarity);
+        return similarity;
     }
 
     /**
-     * 检测文本语言类型
+     * 分段对齐后计算编辑距离相似度和字符级相似度
+     * 两篇文本按内容切分为片段，抄袭版的片段按三元组重合度对齐到原文片段并合并为片段组，
+     * 只在每组对应的两段文本上运行动态规划。文档级编辑距离为各组编辑距离之和加上未被任何组覆盖的
+     * 原文片段长度，文档级公共子序列长度为各组之和，均不超过整篇比较时的取值范围
+     *
+     * @return 编辑距离相似度和字符级相似度
      */
-    public TextLanguage detectLanguage(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            return TextLanguage.UNKNOWN;
+    private double[] calculateSegmentedSimilarities(DocumentProfile original, DocumentProfile candidate) {
+        DetectionEvents.SimilarityComponent event = new DetectionEvents.SimilarityComponent();
+        event.begin();
+        SegmentIndex originalSegments = original.getSegmentIndex(segmentLength);
+        SegmentIndex candidateSegments = candidate.getSegmentIndex(segmentLength);
+
+        boolean[] covered = new boolean[originalSegments.segmentCount()];
+        long editDistance = 0;
+        long lcsLength = 0;
+        for (int[] group : originalSegments.alignGroups(candidateSegments)) {
+            char[] text2 = candidateSegments.range(group[0], group[1]);
+            char[] text1 = originalSegments.range(group[2], group[3]);
+            editDistance += calculateEditDistance(text1, text2);
+            if (characterMetric == CharacterMetric.LCS) {
+                lcsLength += calculateLcs(text1, text2);
+            }
+            Arrays.fill(covered, group[2], group[3], true);
         }
-
-        int chineseCount = 0;
-        int englishCount = 0;
-
-        for (char c : text.toCharArray()) {
-            if (CHINESE_PATTERN.matcher(String.valueOf(c)).matches()) {
-                chineseCount++;
-            } else if (ENGLISH_PATTERN.matcher(String.valueOf(c)).matches()) {
-                englishCount++;
+        for (int i = 0; i < covered.length; i++) {
+            if (!covered[i]) {
+                editDistance += originalSegments.segment(i).length;
             }
         }
 
-        if (chineseCount > englishCount) {
-            return TextLanguage.CHINESE;
-        } else if (englishCount > chineseCount) {
-            return TextLanguage.ENGLISH;
-        } else {
-            return TextLanguage.MIXED;
-        }
+        int length1 = original.length();
+        int length2 = candidate.length();
+        int maxLength = Math.max(length1, length2);
+        double editDistanceSimilarity = toEditDistanceSimilarity(
+                (int) Math.max(Math.abs(length1 - length2), Math.min(editDistance, maxLength)), length1, length2);
+        double characterSimilarity = toCharacterSimilarity((int) Math.min(lcsLength, Math.min(length1, length2)),
+                length1, length2);
+        // 分段模式同时得到两项相似度，事件中记录编辑距离相似度
+        commitComponent(event, "segmented", editDistanceBackend.name(), original, candidate, editDistanceSimilarity);
+        return new double[] { editDistanceSimilarity, characterSimilarity };
+    }
+
+    /**
+     * 检测文本语言类型
+     * 使用查表分类，支持代理对表示的扩展区汉字，超长文本按采样估计
+     *
+     * @see LanguageDetector
+     */
+    public TextLanguage detectLanguage(String text) {
+        return languageDetector.detect(text);
     }
 
     /**
@@ -243,4 +823,47 @@ public class TextSimilarityCalculator {
     public enum TextLanguage {
         CHINESE, ENGLISH, MIXED, UNKNOWN
     }
+
+    /**
+     * 余弦相似度的分词方式枚举
+     * CHARACTER_NGRAM为字符n-gram，WORD为按空白切分的词
+     */
+    public enum Tokenization {
+        CHARACTER_NGRAM, WORD
+    }
+
+    /**
+     * 编辑距离计算后端枚举
+     * LINEAR_SPACE为两行滚动数组动态规划，BIT_VECTOR为Myers位向量算法，
+     * WAVEFRONT为按反对角线分块在多核上并行的位向量算法，适合单对超长文本
+     */
+    public enum EditDistanceBackend {
+        LINEAR_SPACE, BIT_VECTOR, WAVEFRONT
+    }
+
+    /**
+     * 最长公共子序列计算后端枚举
+     * BIT_PARALLEL为单线程位并行算法，WAVEFRONT为按反对角线分块在多核上并行的位并行算法
+     */
+    public enum LcsBackend {
+        BIT_PARALLEL, WAVEFRONT
+    }
+
+    /**
+     * 编辑距离和字符级相似度的对齐方式枚举
+     * WHOLE_TEXT对整篇文本运行动态规划，结果精确；
+     * SEGMENTED先切分片段并对齐，只在对齐的片段对上运行动态规划，适合长文档
+     */
+    public enum AlignmentMode {
+        WHOLE_TEXT, SEGMENTED
+    }
+
+    /**
+     * 字符级相似度计算方式枚举
+     * LCS为最长公共子序列长度占较长文本的比例；
+     * SUBSTRING_COVERAGE为被足够长的公共子串覆盖的字符数占较长文本的比例，线性时间
+     */
+    public enum CharacterMetric {
+        LCS, SUBSTRING_COVERAGE
+    }
 }
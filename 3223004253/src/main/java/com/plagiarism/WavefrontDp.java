@@ -0,0 +1,386 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 波前并行动态规划
+ * 在多核上计算一对长文本的编辑距离和最长公共子序列，结果与单线程的位并行算法完全相同。
+ *
+ * 动态规划矩阵按"模式串字块组 × 文本列区间"划分为分块：同一分块行的分块依次更新该行字块的位向量，
+ * 同一列区间的分块依次把每列的水平进位从低位字块传给高位字块。分块(r, c)只依赖(r - 1, c)和(r, c - 1)，
+ * 同一反对角线上的分块互不依赖，由ForkJoinPool的工作窃取并行执行。
+ * 每个分块维护依赖计数，两个依赖都完成后才被提交，不需要全局的逐条对角线同步
+ */
+public class WavefrontDp {
+
+    /** 每个分块包含的默认64位字块数，即1024个模式串字符 */
+    public static final int DEFAULT_TILE_WORDS = 16;
+
+    /** 每个分块包含的默认文本列数 */
+    public static final int DEFAULT_TILE_COLUMNS = 4096;
+
+    private final ForkJoinPool pool;
+    private final int tileWords;
+    private final int tileColumns;
+
+    /**
+     * @param pool 执行分块任务的线程池
+     */
+    public WavefrontDp(ForkJoinPool pool) {
+        this(pool, DEFAULT_TILE_WORDS, DEFAULT_TILE_COLUMNS);
+    }
+
+    /**
+     * @param pool        执行分块任务的线程池
+     * @param tileWords   每个分块包含的64位字块数
+     * @param tileColumns 每个分块包含的文本列数
+     */
+    public WavefrontDp(ForkJoinPool pool, int tileWords, int tileColumns) {
+        if (pool == null) {
+            throw new IllegalArgumentException("线程池不能为空");
+        }
+        if (tileWords < 1 || tileColumns < 1) {
+            throw new IllegalArgumentException("分块大小必须大于0: " + tileWords + " x " + tileColumns);
+        }
+        this.pool = pool;
+        this.tileWords = tileWords;
+        this.tileColumns = tileColumns;
+    }
+
+    /**
+     * 计算编辑距离，以较短文本作为模式串
+     */
+    public int editDistance(char[] s1, char[] s2) {
+        if (s1.length == 0 || s2.length == 0) {
+            return Math.max(s1.length, s2.length);
+        }
+        return s1.length <= s2.length
+                ? editDistance(new MatchMaskTable(s1), s2) : editDistance(new MatchMaskTable(s2), s1);
+    }
+
+    /**
+     * 基于已构建的匹配掩码表计算编辑距离
+     *
+     * @param pattern 模式串的匹配掩码表
+     * @param text    文本字符数组
+     * @return 编辑距离
+     */
+    public int editDistance(MatchMaskTable pattern, char[] text) {
+        if (pattern.length() == 0 || text.length == 0) {
+            return Math.max(pattern.length(), text.length);
+        }
+        EditDistanceGrid grid = new EditDistanceGrid(pattern, text);
+        run(grid);
+        return pattern.length() + grid.scoreDelta;
+    }
+
+    /**
+     * 计算最长公共子序列长度，以较短文本作为模式串
+     */
+    public int lcs(char[] s1, char[] s2) {
+        if (s1.length == 0 || s2.length == 0) {
+            return 0;
+        }
+        return s1.length <= s2.length ? lcs(new MatchMaskTable(s1), s2) : lcs(new MatchMaskTable(s2), s1);
+    }
+
+    /**
+     * 基于已构建的匹配掩码表计算最长公共子序列长度
+     *
+     * @param pattern 模式串的匹配掩码表
+     * @param text    文本字符数组
+     * @return 最长公共子序列长度
+     */
+    public int lcs(MatchMaskTable pattern, char[] text) {
+        if (pattern.length() == 0 || text.length == 0) {
+            return 0;
+        }
+        LcsGrid grid = new LcsGrid(pattern, text);
+        run(grid);
+
+        // 模式串长度之外的高位始终保持为1，因此0位数量即为LCS长度
+        int ones = 0;
+        for (long word : grid.v) {
+            ones += Long.bitCount(word);
+        }
+        return grid.v.length * 64 - ones;
+    }
+
+    private void run(Grid grid) {
+        if (grid.rows == 1 && grid.columns == 1) {
+            // 只有一个分块时无需调度
+            grid.computeTile(0, 0);
+            return;
+        }
+        Tile root = new Tile(null, grid, 0, 0);
+        if (ForkJoinTask.getPool() == pool) {
+            root.invoke();
+        } else {
+            pool.invoke(root);
+        }
+    }
+
+    /**
+     * 分块网格，保存分块之间传递的状态和依赖计数
+     */
+    private abstract class Grid {
+        final MatchMaskTable pattern;
+        final int[] textIds;
+        final int words;
+        final int rows;
+        final int columns;
+        final AtomicIntegerArray pending;
+
+        // 每个分块行内各字符第一个落在该行字块范围内的掩码项，由该行第一个分块构建，最后一个分块释放
+        final int[][] rowEntries;
+
+        Grid(MatchMaskTable pattern, char[] text) {
+            this.pattern = pattern;
+            this.words = pattern.wordCount();
+            this.rows = (words + tileWords - 1) / tileWords;
+            this.columns = (int) ((text.length + (long) tileColumns - 1) / tileColumns);
+            this.textIds = new int[text.length];
+            for (int j = 0; j < text.length; j++) {
+                textIds[j] = pattern.find(text[j]);
+            }
+            this.rowEntries = new int[rows][];
+            this.pending = new AtomicIntegerArray(rows * columns);
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    pending.set(row * columns + column, (row > 0 ? 1 : 0) + (column > 0 ? 1 : 0));
+                }
+            }
+        }
+
+        /**
+         * 记录分块的一个依赖已完成
+         *
+         * @return 该分块的依赖是否全部完成
+         */
+        boolean release(int row, int column) {
+            return pending.decrementAndGet(row * columns + column) == 0;
+        }
+
+        void computeTile(int row, int column) {
+            int fromWord = row * tileWords;
+            int toWord = Math.min(words, fromWord + tileWords);
+            int fromColumn = column * tileColumns;
+            int toColumn = (int) Math.min(textIds.length, (long) fromColumn + tileColumns);
+
+            if (column == 0) {
+                rowEntries[row] = firstEntries(fromWord);
+            }
+            computeTile(rowEntries[row], fromWord, toWord, fromColumn, toColumn);
+            if (column == columns - 1) {
+                rowEntries[row] = null;
+            }
+        }
+
+        /**
+         * 各字符第一个字块序号不小于fromWord的掩码项
+         */
+        private int[] firstEntries(int fromWord) {
+            int[] entryWords = pattern.entryWords();
+            int[] first = new int[pattern.distinctCount()];
+            for (int id = 0; id < first.length; id++) {
+                int low = pattern.entryStart(id);
+                int high = pattern.entryEnd(id);
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (entryWords[middle] < fromWord) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                first[id] = low;
+            }
+            return first;
+        }
+
+        abstract void computeTile(int[] firstEntries, int fromWord, int toWord, int fromColumn, int toColumn);
+    }
+
+    /**
+     * 编辑距离网格，与BitVectorEditDistanceCalculator的多字块算法逐位相同
+     * 每列在字块之间传递的水平差值保存在hin中，初始为第0行的+1
+     */
+    private final class EditDistanceGrid extends Grid {
+        final long[] pv;
+        final long[] mv;
+        final byte[] hin;
+        final long lastBit;
+
+        // 只由最后一个分块行更新，该行分块依次执行
+        int scoreDelta;
+
+        EditDistanceGrid(MatchMaskTable pattern, char[] text) {
+            super(pattern, text);
+            this.pv = new long[words];
+            this.mv = new long[words];
+            Arrays.fill(pv, -1L);
+            this.hin = new byte[text.length];
+            Arrays.fill(hin, (byte) 1);
+            this.lastBit = 1L << ((pattern.length() - 1) & 63);
+        }
+
+        @Override
+        void computeTile(int[] firstEntries, int fromWord, int toWord, int fromColumn, int toColumn) {
+            int[] entryWords = pattern.entryWords();
+            long[] entryBits = pattern.entryBits();
+            int lastWord = words - 1;
+            int delta = 0;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                int id = textIds[j];
+                int entry = id < 0 ? 0 : firstEntries[id];
+                int entryEnd = id < 0 ? 0 : pattern.entryEnd(id);
+
+                int h = hin[j];
+                for (int w = fromWord; w < toWord; w++) {
+                    long eq = 0L;
+                    if (entry < entryEnd && entryWords[entry] == w) {
+                        eq = entryBits[entry++];
+                    }
+
+                    long pvw = pv[w];
+                    long mvw = mv[w];
+                    long hinIsNeg = h < 0 ? 1L : 0L;
+
+                    long xv = eq | mvw;
+                    eq |= hinIsNeg;
+                    long xh = (((eq & pvw) + pvw) ^ pvw) | eq;
+                    long ph = mvw | ~(xh | pvw);
+                    long mh = pvw & xh;
+
+                    if (w == lastWord) {
+                        if ((ph & lastBit) != 0) {
+                            delta++;
+                        } else if ((mh & lastBit) != 0) {
+                            delta--;
+                        }
+                    }
+
+                    int hout = 0;
+                    if (ph < 0) {
+                        hout = 1;
+                    } else if (mh < 0) {
+                        hout = -1;
+                    }
+
+                    ph <<= 1;
+                    mh <<= 1;
+                    if (h > 0) {
+                        ph |= 1L;
+                    } else if (h < 0) {
+                        mh |= 1L;
+                    }
+
+                    pv[w] = mh | ~(xv | ph);
+                    mv[w] = ph & xv;
+                    h = hout;
+                }
+                hin[j] = (byte) h;
+            }
+            scoreDelta += delta;
+        }
+    }
+
+    /**
+     * 最长公共子序列网格，与LcsCalculator逐位相同
+     * 每列在字块之间传递的加法进位保存在carry中，初始为0
+     */
+    private final class LcsGrid extends Grid {
+        final long[] v;
+        final boolean[] carry;
+
+        LcsGrid(MatchMaskTable pattern, char[] text) {
+            super(pattern, text);
+            this.v = new long[words];
+            Arrays.fill(v, -1L);
+            this.carry = new boolean[text.length];
+        }
+
+        @Override
+        void computeTile(int[] firstEntries, int fromWord, int toWord, int fromColumn, int toColumn) {
+            int[] entryWords = pattern.entryWords();
+            long[] entryBits = pattern.entryBits();
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                int id = textIds[j];
+                long c = carry[j] ? 1 : 0;
+                int entry = id < 0 ? 0 : firstEntries[id];
+                int entryEnd = id < 0 ? 0 : pattern.entryEnd(id);
+                if (c == 0 && (entry >= entryEnd || entryWords[entry] >= toWord)) {
+                    // 本分块内没有匹配也没有进位，V' = V
+                    continue;
+                }
+
+                // V' = (V + (V & M)) | (V & ~M)，M为零的字块仅需传播进位
+                int w = c != 0 ? fromWord : entryWords[entry];
+                while (w < toWord) {
+                    long old = v[w];
+                    long match = 0;
+                    if (entry < entryEnd && entryWords[entry] == w) {
+                        match = entryBits[entry++];
+                    } else if (c == 0) {
+                        if (entry >= entryEnd) {
+                            break;
+                        }
+                        w = entryWords[entry];
+                        continue;
+                    }
+
+                    long u = old & match;
+                    long sum = old + u;
+                    long nextCarry = Long.compareUnsigned(sum, old) < 0 ? 1 : 0;
+                    sum += c;
+                    if (sum == 0 && c != 0) {
+                        nextCarry = 1;
+                    }
+                    v[w] = sum | (old & ~match);
+                    c = nextCarry;
+                    w++;
+                }
+                carry[j] = w >= toWord && c != 0;
+            }
+        }
+    }
+
+    /**
+     * 分块任务，完成后提交依赖已全部完成的右侧和下方分块
+     * 子任务以当前任务为完成者，根任务在所有分块完成后才完成
+     */
+    private static final class Tile extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final Grid grid;
+        private final int row;
+        private final int column;
+
+        Tile(CountedCompleter<?> completer, Grid grid, int row, int column) {
+            super(completer);
+            this.grid = grid;
+            this.row = row;
+            this.column = column;
+        }
+
+        @Override
+        public void compute() {
+            grid.computeTile(row, column);
+            if (row + 1 < grid.rows && grid.release(row + 1, column)) {
+                addToPendingCount(1);
+                new Tile(this, grid, row + 1, column).fork();
+            }
+            if (column + 1 < grid.columns && grid.release(row, column + 1)) {
+                addToPendingCount(1);
+                new Tile(this, grid, row, column + 1).fork();
+            }
+            tryComplete();
+        }
+    }
+}
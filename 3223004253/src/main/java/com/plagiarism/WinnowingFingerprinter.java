@@ -0,0 +1,126 @@
+package com.plagiarism;
+
+import java.util.Arrays;
+
+/**
+ * Winnowing指纹生成器
+ * 对规范化文本的每个k-gram计算哈希，在连续window个哈希组成的滑动窗口中选取最小值
+ * （相同时取最右侧）作为指纹。长度不少于window+k-1的公共片段至少产生一个公共指纹，
+ * 而指纹数量只有k-gram数量的约2/(window+1)
+ */
+public class WinnowingFingerprinter {
+
+    /** 默认k-gram长度 */
+    public static final int DEFAULT_K = 5;
+
+    /** 默认窗口大小 */
+    public static final int DEFAULT_WINDOW = 4;
+
+    private final NGramVectorizer vectorizer;
+    private final int window;
+
+    public WinnowingFingerprinter() {
+        this(DEFAULT_K, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param k      k-gram长度
+     * @param window 窗口内的k-gram个数
+     */
+    public WinnowingFingerprinter(int k, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("窗口大小必须大于0: " + window);
+        }
+        this.vectorizer = new NGramVectorizer(k);
+        this.window = window;
+    }
+
+    public int getK() {
+        return vectorizer.getN();
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * 生成指纹集合
+     *
+     * @param text 规范化文本字符数组
+     * @return 升序排列、去重后的指纹
+     */
+    public long[] fingerprints(char[] text) {
+        Selector selector = new Selector(window);
+        vectorizer.forEachShingle(text, shingle -> selector.accept(MinHasher.mix(shingle)));
+        selector.finish();
+
+        long[] result = Arrays.copyOf(selector.selected, selector.count);
+        Arrays.sort(result);
+        int unique = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (unique == 0 || result[i] != result[unique - 1]) {
+                result[unique++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, unique);
+    }
+
+    /**
+     * 滑动窗口最小值选择，窗口保存在环形缓冲区中
+     */
+    private static class Selector {
+        private final long[] buffer;
+        private long[] selected = new long[16];
+        private int count;
+        private int position;
+        private int minPosition = -1;
+
+        Selector(int window) {
+            this.buffer = new long[window];
+        }
+
+        void accept(long hash) {
+            int window = buffer.length;
+            buffer[position % window] = hash;
+            position++;
+            if (position < window) {
+                return;
+            }
+
+            int start = position - window;
+            if (minPosition < start) {
+                // 原最小值滑出窗口，从右向左重新扫描，相同时保留最右侧
+                minPosition = position - 1;
+                for (int i = position - 2; i >= start; i--) {
+                    if (buffer[i % window] < buffer[minPosition % window]) {
+                        minPosition = i;
+                    }
+                }
+                select(buffer[minPosition % window]);
+            } else if (hash <= buffer[minPosition % window]) {
+                minPosition = position - 1;
+                select(hash);
+            }
+        }
+
+        /**
+         * 文本不足一个窗口时，取全部k-gram的最小值
+         */
+        void finish() {
+            if (position > 0 && position < buffer.length) {
+                long min = buffer[0];
+                for (int i = 1; i < position; i++) {
+                    min = Math.min(min, buffer[i]);
+                }
+                select(min);
+            }
+        }
+
+        private void select(long hash) {
+            if (count == selected.length) {
+                selected = Arrays.copyOf(selected, count * 2);
+            }
+            selected[count++] = hash;
+        }
+    }
+}
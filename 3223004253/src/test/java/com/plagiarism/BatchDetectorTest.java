@@ -0,0 +1,131 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BatchDetector单元测试类
+ * 测试清单与目录两种批量查重模式
+ */
+public class BatchDetectorTest {
+
+    private PlagiarismDetector detector;
+    private BatchDetector batchDetector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new PlagiarismDetector();
+        batchDetector = new BatchDetector(detector, 2);
+    }
+
+    @Test
+    @DisplayName("测试清单模式输出与单次查重一致")
+    void testManifestMode(@TempDir Path tempDir) throws IOException {
+        Path original = write(tempDir, "original.txt", "今天是星期天，天气晴，今天晚上我要去看电影。");
+        Path copy1 = write(tempDir, "copy1.txt", "今天是周天，天气晴朗，我晚上要去看电影。");
+        Path copy2 = write(tempDir, "copy2.txt", "今天是星期天，天气晴，今天晚上我要去看电影。");
+        Path output1 = tempDir.resolve("result1.txt");
+        Path output2 = tempDir.resolve("result2.txt");
+        Path manifest = write(tempDir, "manifest.txt",
+                "# 原文\t抄袭版\t输出\n"
+                        + original + "\t" + copy1 + "\t" + output1 + "\n"
+                        + "\n"
+                        + original + "\t" + copy2 + "\t" + output2 + "\n");
+
+        List<BatchDetector.BatchTask> tasks = batchDetector.readManifest(manifest.toString());
+        List<BatchDetector.BatchResult> results = batchDetector.run(tasks);
+
+        assertEquals(2, results.size(), "应该执行两组任务");
+        double expected = detector.detectPlagiarism(original.toString(), copy1.toString());
+        assertEquals(expected, results.get(0).getSimilarity(), 1e-12, "批量结果应该与单次查重一致");
+        assertEquals(String.format("%.2f", expected), read(output1), "输出文件格式应该与单次查重一致");
+        assertEquals("1.00", read(output2), "相同文本的输出应该为1.00");
+    }
+
+    @Test
+    @DisplayName("测试目录模式与汇总文件")
+    void testDirectoryModeWithSummary(@TempDir Path tempDir) throws IOException {
+        Path original = write(tempDir, "original.txt", "今天天气很好，我要去看电影。");
+        Path candidates = Files.createDirectory(tempDir.resolve("candidates"));
+        write(candidates, "a.txt", "今天天气很好，我要去看电影。");
+        write(candidates, "b.txt", "");
+        Path outputDir = tempDir.resolve("output");
+        Path summary = tempDir.resolve("summary.txt");
+
+        List<BatchDetector.BatchTask> tasks = batchDetector.listDirectory(
+                original.toString(), candidates.toString(), outputDir.toString());
+        List<BatchDetector.BatchResult> results = batchDetector.run(tasks);
+        batchDetector.writeSummary(summary.toString(), results);
+
+        assertEquals(2, results.size(), "目录下的每个文件都应该生成一组任务");
+        assertTrue(results.get(0).isSuccess(), "正常文件应该查重成功");
+        assertFalse(results.get(1).isSuccess(), "空文件应该查重失败且不影响其他任务");
+        assertEquals("1.00", read(outputDir.resolve("result_a.txt")), "结果应该写入输出目录");
+
+        List<String> lines = Files.readAllLines(summary);
+        assertEquals(3, lines.size(), "汇总文件应该包含表头和两行结果");
+        assertTrue(lines.get(1).endsWith("\t1.00"), "汇总文件应该包含相似度");
+        assertTrue(lines.get(2).contains("抄袭版文件为空"), "汇总文件应该包含错误信息");
+    }
+
+    @Test
+    @DisplayName("测试并发任务共享同一原文时只读取一次原文")
+    void testOriginalReadOnce(@TempDir Path tempDir) throws IOException {
+        Path original = write(tempDir, "original.txt", "今天是星期天，天气晴，今天晚上我要去看电影。");
+        Path candidates = Files.createDirectory(tempDir.resolve("candidates"));
+        for (int i = 0; i < 16; i++) {
+            write(candidates, "copy" + i + ".txt", "今天是周天，天气晴朗，我晚上要去看电影。" + i);
+        }
+
+        AtomicInteger originalReads = new AtomicInteger();
+        PlagiarismDetector countingDetector = new PlagiarismDetector() {
+            @Override
+            DocumentProfile readProfile(String filePath, String emptyMessage) throws IOException {
+                if (filePath.equals(original.toString())) {
+                    originalReads.incrementAndGet();
+                }
+                return super.readProfile(filePath, emptyMessage);
+            }
+        };
+        BatchDetector concurrent = new BatchDetector(countingDetector, 8);
+        List<BatchDetector.BatchResult> results = concurrent.run(concurrent.listDirectory(
+                original.toString(), candidates.toString(), tempDir.resolve("output").toString()));
+
+        assertEquals(16, results.size(), "每个候选文件都应该有结果");
+        assertTrue(results.stream().allMatch(BatchDetector.BatchResult::isSuccess), "所有任务都应该成功");
+        assertEquals(1, originalReads.get(), "同一原文应该只读取一次");
+
+        concurrent.run(concurrent.listDirectory(
+                original.toString(), candidates.toString(), tempDir.resolve("output").toString()));
+        assertEquals(2, originalReads.get(), "每次批量运行结束后应该释放原文特征");
+    }
+
+    @Test
+    @DisplayName("测试格式错误的清单")
+    void testMalformedManifest(@TempDir Path tempDir) throws IOException {
+        Path manifest = write(tempDir, "manifest.txt", "only_one_field.txt\n");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            batchDetector.readManifest(manifest.toString());
+        }, "格式错误的清单应该抛出IllegalArgumentException");
+    }
+
+    private Path write(Path dir, String name, String content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, content.getBytes("UTF-8"));
+        return file;
+    }
+
+    private String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), "UTF-8");
+    }
+}
@@ -0,0 +1,83 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * BitVectorEditDistanceCalculator单元测试类
+ * 测试Myers位向量编辑距离算法及其分块版本
+ */
+public class BitVectorEditDistanceCalculatorTest {
+
+    private BitVectorEditDistanceCalculator calculator;
+    private EditDistanceCalculator reference;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new BitVectorEditDistanceCalculator();
+        reference = new EditDistanceCalculator();
+    }
+
+    @Test
+    @DisplayName("测试基本编辑距离")
+    void testBasicDistance() {
+        assertEquals(3, calculator.calculate("kitten".toCharArray(), "sitting".toCharArray()),
+                "kitten与sitting的编辑距离应该为3");
+        assertEquals(1, calculator.calculate("今天天气很好".toCharArray(), "今天天气好".toCharArray()),
+                "删除一个字符的编辑距离应该为1");
+        assertEquals(3, calculator.calculate(new char[0], "abc".toCharArray()), "与空文本的编辑距离应该为文本长度");
+    }
+
+    @Test
+    @DisplayName("测试单字块与多字块结果与动态规划一致")
+    void testMatchesDynamicProgramming() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            char[] s1 = randomText(random, random.nextInt(round < 100 ? 64 : 400));
+            char[] s2 = randomText(random, random.nextInt(round < 100 ? 64 : 400));
+
+            assertEquals(reference.calculate(s1, s2), calculator.calculate(s1, s2),
+                    "位向量算法结果应该与动态规划一致");
+        }
+    }
+
+    @Test
+    @DisplayName("测试带上界的编辑距离提前结束")
+    void testBoundedDistance() {
+        Random random = new Random(17);
+        for (int round = 0; round < 200; round++) {
+            char[] s1 = randomText(random, 1 + random.nextInt(round < 100 ? 64 : 400));
+            char[] s2 = randomText(random, 1 + random.nextInt(round < 100 ? 64 : 400));
+            int expected = reference.calculate(s1, s2);
+            int maxDistance = random.nextInt(400);
+
+            assertEquals(expected <= maxDistance ? expected : maxDistance + 1,
+                    calculator.calculate(new MatchMaskTable(s1), s2, maxDistance),
+                    "未超过上界时结果应该精确，超过时应该返回上界加1");
+        }
+    }
+
+    @Test
+    @DisplayName("测试选择位向量后端计算编辑距离相似度")
+    void testSelectableBackend() {
+        TextSimilarityCalculator similarityCalculator = new TextSimilarityCalculator();
+        double expected = similarityCalculator.calculateEditDistanceSimilarity("今天天气很好", "今天天气好");
+
+        similarityCalculator.setEditDistanceBackend(TextSimilarityCalculator.EditDistanceBackend.BIT_VECTOR);
+
+        assertEquals(expected, similarityCalculator.calculateEditDistanceSimilarity("今天天气很好", "今天天气好"),
+                1e-9, "不同后端的编辑距离相似度应该一致");
+    }
+
+    private char[] randomText(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (char) ('一' + random.nextInt(5));
+        }
+        return text;
+    }
+}
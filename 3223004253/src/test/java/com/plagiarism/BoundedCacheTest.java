@@ -0,0 +1,154 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BoundedCache单元测试类
+ * 测试字节预算、频率准入和命中统计
+ */
+public class BoundedCacheTest {
+
+    @Test
+    @DisplayName("测试命中和未命中统计")
+    void testHitMissStatistics() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(1000, 16);
+
+        assertNull(cache.get("a"), "空缓存应该未命中");
+        cache.put("a", 1, 10);
+        assertEquals(Integer.valueOf(1), cache.get("a"), "放入后应该命中");
+        assertEquals(Integer.valueOf(1), cache.get("a"), "再次查找应该命中");
+
+        assertEquals(2, cache.getHitCount(), "命中次数应该为2");
+        assertEquals(1, cache.getMissCount(), "未命中次数应该为1");
+        assertEquals(2.0 / 3, cache.hitRate(), 1e-12, "命中率应该为2/3");
+        assertEquals(10, cache.getWeightedSize(), "字节数应该为条目大小之和");
+
+        cache.put("a", 2, 30);
+        assertEquals(Integer.valueOf(2), cache.get("a"), "替换后应该返回新值");
+        assertEquals(30, cache.getWeightedSize(), "替换后字节数应该更新");
+    }
+
+    @Test
+    @DisplayName("测试值不满足条件时计为未命中")
+    void testConditionalGet() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(1000, 16);
+        cache.put("a", 1, 10);
+
+        assertNull(cache.get("a", value -> value == 2), "值不满足条件时应该未命中");
+        assertEquals(Integer.valueOf(1), cache.get("a", value -> value == 1), "值满足条件时应该命中");
+
+        assertEquals(1, cache.getHitCount(), "只有满足条件的查找计为命中");
+        assertEquals(1, cache.getMissCount(), "不满足条件的查找计为未命中");
+    }
+
+    @Test
+    @DisplayName("测试条件判断期间不阻塞其他线程")
+    void testConditionEvaluatedOutsideLock() throws Exception {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(1000, 16);
+        cache.put("a", 1, 10);
+        CountDownLatch testing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> lookup = executor.submit(() -> cache.get("a", value -> {
+                testing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }));
+            assertTrue(testing.await(10, TimeUnit.SECONDS), "应该开始判断条件");
+
+            // 条件判断尚未结束时，其他线程的放入和查找不应该被阻塞
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                cache.put("b", 2, 10);
+                assertEquals(Integer.valueOf(2), cache.get("b"), "其他条目应该可以正常查找");
+            });
+            release.countDown();
+
+            assertEquals(Integer.valueOf(1), lookup.get(10, TimeUnit.SECONDS), "条件满足时应该命中");
+            assertEquals(2, cache.getHitCount(), "两次查找都应该计为命中");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("测试总字节数不超过预算")
+    void testWeightBound() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(1000, 64);
+        for (int i = 0; i < 500; i++) {
+            cache.put(i, "v" + i, 7 + i % 50);
+            assertTrue(cache.getWeightedSize() <= 1000, "总字节数不应超过预算");
+        }
+        assertTrue(cache.getEvictionCount() > 0, "超出预算后应该淘汰条目");
+        assertTrue(cache.size() > 0, "淘汰后应该保留部分条目");
+    }
+
+    @Test
+    @DisplayName("测试频繁访问的条目不被一次性条目挤掉")
+    void testFrequentEntrySurvives() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(100, 16);
+        cache.put("hot", 0, 40);
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot");
+        }
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("once" + i, i, 40);
+        }
+        assertEquals(Integer.valueOf(0), cache.get("hot"), "频繁访问的条目应该保留");
+    }
+
+    @Test
+    @DisplayName("测试访问频率更高的新条目替换旧条目")
+    void testAdmissionByFrequency() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(100, 16);
+        cache.put("old1", 1, 45);
+        cache.put("old2", 2, 45);
+
+        // 多次未命中后放入，新条目的访问频率高于试用段中的旧条目
+        cache.get("new");
+        cache.get("new");
+        cache.put("new", 3, 45);
+
+        assertEquals(Integer.valueOf(3), cache.get("new"), "频率更高的新条目应该被缓存");
+        assertEquals(2, cache.size(), "淘汰一个旧条目后应该剩两个条目");
+        assertTrue(cache.getWeightedSize() <= 100, "总字节数不应超过预算");
+    }
+
+    @Test
+    @DisplayName("测试超过预算的条目不被缓存")
+    void testOversizedEntryRejected() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(100, 16);
+        cache.put("small", 1, 10);
+        cache.put("huge", 2, 101);
+
+        assertNull(cache.get("huge"), "超过预算的条目不应被缓存");
+        assertEquals(Integer.valueOf(1), cache.get("small"), "已有条目不应受影响");
+        assertEquals(1, cache.getRejectionCount(), "应该记录一次拒绝");
+    }
+
+    @Test
+    @DisplayName("测试参数校验")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, Integer>(0, 16),
+                "容量为0应该抛出异常");
+        BoundedCache<String, Integer> cache = new BoundedCache<>(100, 16);
+        assertThrows(IllegalArgumentException.class, () -> cache.put("a", 1, -1), "负数大小应该抛出异常");
+        assertThrows(IllegalArgumentException.class, () -> cache.put("a", null, 1), "空值应该抛出异常");
+    }
+}
@@ -0,0 +1,114 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * DetectionCache单元测试类
+ * 测试文档特征和相似度结果的缓存
+ */
+public class DetectionCacheTest {
+
+    @Test
+    @DisplayName("测试相同内容的文本复用文档特征")
+    void testProfileReuse() {
+        DetectionCache cache = new DetectionCache(1 << 20);
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+
+        DocumentProfile first = cache.getProfile(TextNormalizer.normalize("今天天气晴，我要去看电影。"), calculator);
+        DocumentProfile second = cache.getProfile(TextNormalizer.normalize("今天天气晴，我要去看电影！"), calculator);
+        DocumentProfile other = cache.getProfile(TextNormalizer.normalize("明天下雨，我留在家里看书。"), calculator);
+
+        assertSame(first, second, "规范化后相同的文本应该复用同一份特征");
+        assertNotSame(first, other, "不同的文本应该构建新的特征");
+        assertEquals(1, cache.getProfileCache().getHitCount(), "应该命中一次");
+        assertEquals(2, cache.getProfileCache().getMissCount(), "应该未命中两次");
+    }
+
+    @Test
+    @DisplayName("测试相同的文档对只计算一次相似度")
+    void testResultReuse() {
+        DetectionCache cache = new DetectionCache(1 << 20);
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        DocumentProfile original = calculator.createProfile("今天是星期天，天气晴，今天晚上我要去看电影。");
+        DocumentProfile candidate = calculator.createProfile("今天是周天，天气晴朗，我晚上要去看电影。");
+
+        double expected = calculator.calculateComprehensiveSimilarity(original, candidate);
+        assertEquals(expected, cache.getSimilarity(original, candidate, calculator), 1e-12, "首次计算结果应该一致");
+        assertEquals(expected, cache.getSimilarity(calculator.createProfile("今天是星期天，天气晴，今天晚上我要去看电影。"),
+                candidate, calculator), 1e-12, "缓存结果应该一致");
+        assertEquals(1, cache.getResultCache().getHitCount(), "内容相同的文档对应该命中缓存");
+
+        // 影响结果的参数改变后不应使用旧结果
+        calculator.setAlignmentMode(TextSimilarityCalculator.AlignmentMode.SEGMENTED);
+        assertEquals(calculator.calculateComprehensiveSimilarity(original, candidate),
+                cache.getSimilarity(original, candidate, calculator), 1e-12, "参数改变后应该重新计算");
+        assertEquals(1, cache.getResultCache().getHitCount(), "参数改变后不应命中缓存");
+    }
+
+    @Test
+    @DisplayName("测试内容哈希冲突时不使用其他文档对的结果")
+    void testResultHashCollision() throws Exception {
+        DetectionCache cache = new DetectionCache(1 << 20);
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        DocumentProfile original = calculator.createProfile("今天是星期天，天气晴，今天晚上我要去看电影。");
+        NormalizedText text1 = TextNormalizer.normalize("今天是周天，天气晴朗，我晚上要去看电影。");
+        NormalizedText text2 = TextNormalizer.normalize("明天是周一，下雨降温，我早上要去上学校。");
+        assertEquals(text1.length(), text2.length(), "两篇文本长度应该相同");
+
+        // 模拟两篇长度相同的不同文本的内容哈希冲突
+        Field contentHash = NormalizedText.class.getDeclaredField("contentHash");
+        contentHash.setAccessible(true);
+        contentHash.setLong(text2, text1.contentHash());
+
+        DocumentProfile candidate1 = calculator.createProfile(text1);
+        DocumentProfile candidate2 = calculator.createProfile(text2);
+        double expected1 = calculator.calculateComprehensiveSimilarity(original, candidate1);
+        double expected2 = calculator.calculateComprehensiveSimilarity(original, candidate2);
+        assertNotEquals(expected1, expected2, "两篇文本的相似度应该不同");
+
+        assertEquals(expected1, cache.getSimilarity(original, candidate1, calculator), 1e-12, "首次计算结果应该一致");
+        assertEquals(expected2, cache.getSimilarity(original, candidate2, calculator), 1e-12, "哈希冲突时应该重新计算");
+        assertEquals(expected1, cache.getSimilarity(original, candidate1, calculator), 1e-12, "被替换的文档对应该重新计算");
+        assertEquals(0, cache.getResultCache().getHitCount(), "哈希冲突不应该计为命中");
+        assertEquals(3, cache.getResultCache().getMissCount(), "哈希冲突应该计为未命中");
+    }
+
+    @Test
+    @DisplayName("测试查重器重复检查相同文件时使用缓存")
+    void testDetectorUsesCache(@TempDir Path tempDir) throws Exception {
+        Path original = tempDir.resolve("orig.txt");
+        Path plagiarized = tempDir.resolve("copy.txt");
+        Path resubmitted = tempDir.resolve("copy2.txt");
+        Files.write(original, "今天是星期天，天气晴，今天晚上我要去看电影。".getBytes(StandardCharsets.UTF_8));
+        Files.write(plagiarized, "今天是周天，天气晴朗，我晚上要去看电影。".getBytes(StandardCharsets.UTF_8));
+        Files.write(resubmitted, "今天是周天，天气晴朗，我晚上要去看电影。".getBytes(StandardCharsets.UTF_8));
+
+        PlagiarismDetector uncached = new PlagiarismDetector();
+        double expected = uncached.detectPlagiarism(original.toString(), plagiarized.toString());
+
+        PlagiarismDetector detector = new PlagiarismDetector();
+        DetectionCache cache = new DetectionCache(DetectionCache.DEFAULT_MAXIMUM_BYTES);
+        detector.setCache(cache);
+        assertEquals(expected, detector.detectPlagiarism(original.toString(), plagiarized.toString()), 1e-12,
+                "使用缓存时结果应该一致");
+        assertEquals(expected, detector.detectPlagiarism(original.toString(), resubmitted.toString()), 1e-12,
+                "重复提交的文件结果应该一致");
+
+        assertEquals(1, cache.getResultCache().getHitCount(), "重复提交的文件应该命中结果缓存");
+        assertEquals(2, cache.getProfileCache().getHitCount(), "原文和重复提交的文件应该命中特征缓存");
+    }
+
+    @Test
+    @DisplayName("测试容量过小时抛出异常")
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new DetectionCache(100), "容量过小应该抛出异常");
+    }
+}
@@ -0,0 +1,71 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * DetectionEvents单元测试类
+ * 测试查重各阶段在JFR记录中产生的事件
+ */
+public class DetectionEventsTest {
+
+    @Test
+    @DisplayName("测试一次查重产生各阶段事件")
+    void testDetectionStagesRecorded(@TempDir Path tempDir) throws Exception {
+        Path original = tempDir.resolve("orig.txt");
+        Path plagiarized = tempDir.resolve("copy.txt");
+        Files.write(original, "今天是星期天，天气晴，今天晚上我要去看电影。".getBytes(StandardCharsets.UTF_8));
+        Files.write(plagiarized, "今天是周天，天气晴朗，我晚上要去看电影。".getBytes(StandardCharsets.UTF_8));
+        Path output = tempDir.resolve("result.txt");
+        Path dump = tempDir.resolve("detect.jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String name : new String[] { "FileRead", "Preprocess", "Vectorize", "SimilarityComponent",
+                    "Comparison", "ResultWrite" }) {
+                recording.enable("com.plagiarism." + name);
+            }
+            recording.start();
+
+            PlagiarismDetector detector = new PlagiarismDetector();
+            double similarity = detector.detectPlagiarism(original.toString(), plagiarized.toString());
+            detector.getFileProcessor().writeResult(output.toString(), similarity);
+            detector.getSimilarityCalculator().createProfile("预处理事件");
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Set<String> names = new HashSet<>();
+        Set<String> components = new HashSet<>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName());
+            if (event.getEventType().getName().equals("com.plagiarism.SimilarityComponent")) {
+                components.add(event.getString("component"));
+            }
+            if (event.getEventType().getName().equals("com.plagiarism.FileRead")) {
+                assertEquals("buffered", event.getString("method"), "小文件应该整块读入");
+                assertTrue(event.getLong("bytes") > 0, "事件应该记录文件大小");
+            }
+        }
+
+        for (String name : new String[] { "FileRead", "Preprocess", "Vectorize", "SimilarityComponent",
+                "Comparison", "ResultWrite" }) {
+            assertTrue(names.contains("com.plagiarism." + name), "应该记录事件: " + name);
+        }
+        assertTrue(components.containsAll(Set.of("cosine", "editDistance", "lcs")), "应该记录每项相似度: " + components);
+    }
+}
@@ -0,0 +1,72 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DocumentProfile单元测试类
+ * 测试基于文档特征的综合相似度计算
+ */
+public class DocumentProfileTest {
+
+    private TextSimilarityCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new TextSimilarityCalculator();
+    }
+
+    @Test
+    @DisplayName("测试文档特征与字符串接口结果一致")
+    void testProfileMatchesStringApi() {
+        String original = "今天是星期天，天气晴，今天晚上我要去看电影。";
+        String candidate = "今天是周天，天气晴朗，我晚上要去看电影。";
+
+        double expected = calculator.calculateComprehensiveSimilarity(original, candidate);
+        double actual = calculator.calculateComprehensiveSimilarity(
+                calculator.createProfile(original), calculator.createProfile(candidate));
+
+        assertEquals(expected, actual, 1e-12, "文档特征接口的结果应该与字符串接口一致");
+    }
+
+    @Test
+    @DisplayName("测试一篇原文与多篇抄袭版比较")
+    void testOneVersusMany() {
+        DocumentProfile original = calculator.createProfile("Today is a good day, I will watch a movie tonight.");
+        List<String> texts = Arrays.asList(
+                "Today is a good day, I will watch a movie tonight.",
+                "Tomorrow is a bad day, I will read a book at home.",
+                "");
+        List<DocumentProfile> candidates = Arrays.asList(
+                calculator.createProfile(texts.get(0)),
+                calculator.createProfile(texts.get(1)),
+                calculator.createProfile(texts.get(2)));
+
+        calculator.setEditDistanceBackend(TextSimilarityCalculator.EditDistanceBackend.BIT_VECTOR);
+        double[] similarities = calculator.calculateComprehensiveSimilarity(original, candidates);
+
+        assertEquals(3, similarities.length, "结果数量应该与抄袭版数量一致");
+        for (int i = 0; i < similarities.length; i++) {
+            assertEquals(calculator.calculateComprehensiveSimilarity(
+                    "Today is a good day, I will watch a movie tonight.", texts.get(i)),
+                    similarities[i], 1e-12, "一对多结果应该与逐对计算一致");
+        }
+        assertEquals(1.0, similarities[0], 0.01, "相同文本的相似度应该为1.0");
+    }
+
+    @Test
+    @DisplayName("测试文档特征属性")
+    void testProfileAttributes() {
+        DocumentProfile profile1 = calculator.createProfile("今天天气很好！");
+        DocumentProfile profile2 = calculator.createProfile("今天天气很好。。");
+
+        assertEquals(6, profile1.length(), "规范化后的长度应该为6");
+        assertEquals(TextSimilarityCalculator.TextLanguage.CHINESE, profile1.getLanguage(), "应该检测为中文");
+        assertEquals(profile1.getContentHash(), profile2.getContentHash(), "规范化结果相同的文本内容哈希应该相同");
+    }
+}
@@ -0,0 +1,78 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * EditDistanceCalculator单元测试类
+ * 测试两行滚动数组与带状剪枝的编辑距离计算
+ */
+public class EditDistanceCalculatorTest {
+
+    private EditDistanceCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new EditDistanceCalculator();
+    }
+
+    @Test
+    @DisplayName("测试基本编辑距离")
+    void testBasicDistance() {
+        assertEquals(3, calculator.calculate("kitten".toCharArray(), "sitting".toCharArray()),
+                "kitten与sitting的编辑距离应该为3");
+        assertEquals(1, calculator.calculate("今天天气很好".toCharArray(), "今天天气好".toCharArray()),
+                "删除一个字符的编辑距离应该为1");
+        assertEquals(0, calculator.calculate(new char[0], new char[0]), "两个空文本的编辑距离应该为0");
+        assertEquals(5, calculator.calculate("abcde".toCharArray(), new char[0]), "与空文本的编辑距离应该为文本长度");
+    }
+
+    @Test
+    @DisplayName("测试带状算法在上界内的结果与完整算法一致")
+    void testBandedMatchesFull() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            char[] s1 = randomText(random, random.nextInt(40));
+            char[] s2 = randomText(random, random.nextInt(40));
+            int expected = calculator.calculate(s1, s2);
+            int bound = random.nextInt(45);
+
+            int banded = calculator.calculate(s1, s2, bound);
+
+            if (expected <= bound) {
+                assertEquals(expected, banded, "距离不超过上界时应该返回精确值");
+            } else {
+                assertEquals(bound + 1, banded, "距离超过上界时应该返回上界加1");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试长度差超过上界时立即返回")
+    void testLengthDifferenceExceedsBound() {
+        char[] longText = new char[10000];
+        char[] shortText = new char[10];
+
+        assertEquals(6, calculator.calculate(longText, shortText, 5), "长度差超过上界时应该返回上界加1");
+    }
+
+    @Test
+    @DisplayName("测试负数上界")
+    void testNegativeBound() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            calculator.calculate("a".toCharArray(), "b".toCharArray(), -1);
+        }, "负数上界应该抛出IllegalArgumentException");
+    }
+
+    private char[] randomText(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (char) ('a' + random.nextInt(4));
+        }
+        return text;
+    }
+}
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * FileProcessor单元测试类
@@ -176,5 +177,61 @@ public class FileProcessorTest {
                     "相似度" + similarities[i] + "应该格式化为" + expected[i]);
         }
     }
-}
 
+    @Test
+    @DisplayName("测试流式读取并规范化")
+    void testReadNormalized(@TempDir Path tempDir) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append("第").append(i).append("段：今天是星期天，Hello World！\r\n");
+        }
+        String testContent = builder.toString();
+        Path testFile = tempDir.resolve("stream.txt");
+        Files.write(testFile, testContent.getBytes("UTF-8"));
+
+        String expected = TextNormalizer.normalize(testContent).toString();
+        assertEquals(expected, fileProcessor.readNormalized(testFile.toString()).toString(),
+                "流式读取结果应该与整体规范化一致");
+
+        // 使用很小的映射块，使多字节字符跨越块边界
+        for (long chunk : new long[] { 7, 64, 1000 }) {
+            NormalizedText text = fileProcessor.readNormalized(testFile.toString(), 0, chunk);
+            assertEquals(expected, text.toString(), "分块大小为" + chunk + "时结果应该一致");
+            assertFalse(text.isRawBlank());
+        }
+    }
+
+    @Test
+    @DisplayName("测试映射块小于一个多字节字符")
+    void testReadNormalizedTinyChunks(@TempDir Path tempDir) throws IOException {
+        String testContent = "今天是星期天，天气晴😀，今天晚上我要去看电影。";
+        Path testFile = tempDir.resolve("tiny.txt");
+        Files.write(testFile, testContent.getBytes("UTF-8"));
+
+        String expected = TextNormalizer.normalize(testContent).toString();
+        for (long chunk = 1; chunk <= 3; chunk++) {
+            long mappingChunk = chunk;
+            NormalizedText text = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> fileProcessor.readNormalized(testFile.toString(), 0, mappingChunk),
+                    "分块大小为" + chunk + "时不应该死循环");
+            assertEquals(expected, text.toString(), "分块大小为" + chunk + "时结果应该一致");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> fileProcessor.readNormalized(testFile.toString(), 0, 0));
+    }
+
+    @Test
+    @DisplayName("测试流式读取空白文件和非法字节")
+    void testReadNormalizedEdgeCases(@TempDir Path tempDir) throws IOException {
+        Path blankFile = tempDir.resolve("blank.txt");
+        Files.write(blankFile, " \n\t ".getBytes("UTF-8"));
+        assertTrue(fileProcessor.readNormalized(blankFile.toString()).isRawBlank(), "只含空白的文件应该被识别");
+
+        Path invalidFile = tempDir.resolve("invalid.txt");
+        Files.write(invalidFile, new byte[] { 'a', (byte) 0xFF, 'b', (byte) 0xE4, (byte) 0xB8 });
+        assertEquals("a b", fileProcessor.readNormalized(invalidFile.toString(), 0, 3).toString(),
+                "非法字节应该被替换为分隔符");
+
+        assertThrows(IOException.class, () -> fileProcessor.readNormalized(tempDir.resolve("missing.txt").toString()));
+    }
+}
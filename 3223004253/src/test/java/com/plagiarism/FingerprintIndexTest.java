@@ -0,0 +1,71 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * FingerprintIndex单元测试类
+ * 测试指纹倒排索引的添加与查询
+ */
+public class FingerprintIndexTest {
+
+    private static final String SOURCE = "今天是星期天，天气晴，今天晚上我要去看电影，看完电影再去吃夜宵。";
+
+    @Test
+    @DisplayName("测试查询来源文档")
+    void testQuery() {
+        FingerprintIndex index = new FingerprintIndex(new WinnowingFingerprinter());
+        index.add("无关.txt", "一位真正的作家永远只为内心写作，只有内心才不会欺骗他。".toCharArray());
+        index.add("来源.txt", SOURCE.toCharArray());
+        index.add("部分.txt", "今天是星期天，天气晴，我们去爬山。".toCharArray());
+
+        List<FingerprintIndex.Match> matches = index.query(
+                "今天是星期天，天气晴，今天晚上我要去看电影，看完电影再去吃宵夜。".toCharArray(), 10);
+
+        assertEquals("来源.txt", matches.get(0).getName(), "共享指纹最多的文档应该排在第一位");
+        assertEquals(1, matches.get(0).getDocumentId());
+        assertTrue(matches.get(0).getContainment() > 0.5, "抄袭文本的大部分指纹应该来自来源文档");
+        for (FingerprintIndex.Match match : matches) {
+            assertNotEquals("无关.txt", match.getName(), "没有公共指纹的文档不应该出现");
+        }
+    }
+
+    @Test
+    @DisplayName("测试返回数量限制")
+    void testLimit() {
+        FingerprintIndex index = new FingerprintIndex(new WinnowingFingerprinter());
+        for (int i = 0; i < 5; i++) {
+            index.add("副本" + i, SOURCE.toCharArray());
+        }
+
+        List<FingerprintIndex.Match> matches = index.query(SOURCE.toCharArray(), 3);
+        assertEquals(3, matches.size(), "结果数量应该受限制");
+        assertEquals(0, matches.get(0).getDocumentId(), "公共指纹数相同时按编号排序");
+        assertEquals(1.0, matches.get(0).getContainment(), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> index.query(SOURCE.toCharArray(), 0));
+    }
+
+    @Test
+    @DisplayName("测试大量文档时的扩容")
+    void testResize() {
+        FingerprintIndex index = new FingerprintIndex(new WinnowingFingerprinter());
+        for (int i = 0; i < 300; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = 0; j < 50; j++) {
+                text.append((char) ('一' + (i * 50 + j) % 20000));
+            }
+            index.add("文档" + i, text.toString().toCharArray());
+        }
+
+        assertEquals(300, index.size());
+        StringBuilder query = new StringBuilder();
+        for (int j = 0; j < 50; j++) {
+            query.append((char) ('一' + 150 * 50 + j));
+        }
+        assertEquals("文档150", index.query(query.toString().toCharArray(), 1).get(0).getName(),
+                "扩容后应该仍能查到文档");
+    }
+}
@@ -0,0 +1,141 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * IncrementalSimilarityChecker单元测试类
+ * 测试增量查重的结果与完整计算一致，以及局部修改只推进修改区域附近的字符
+ */
+public class IncrementalSimilarityCheckerTest {
+
+    private static final String ALPHABET = "今天是星期天气晴晚上我要去看电影书";
+
+    @Test
+    @DisplayName("测试随机修订序列的结果与完整计算一致")
+    void testRandomRevisions() {
+        Random random = new Random(23);
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        for (int interval : new int[] { 1, 7, 64 }) {
+            DocumentProfile original = calculator.createProfile(randomText(random, 150));
+            IncrementalSimilarityChecker checker = new IncrementalSimilarityChecker(calculator, original, interval);
+
+            StringBuilder revision = new StringBuilder(randomText(random, 130));
+            for (int round = 0; round < 40; round++) {
+                String text = revision.toString();
+                assertEquals(calculator.calculateComprehensiveSimilarity(original, calculator.createProfile(text)),
+                        checker.check(text), 1e-12, "增量结果应该与完整计算一致: 间隔" + interval + ", 第" + round + "轮");
+                edit(random, revision);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试空修订版和长度超过64位字块的原文")
+    void testBoundaryRevisions() {
+        Random random = new Random(5);
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        DocumentProfile original = calculator.createProfile(randomText(random, 300));
+        IncrementalSimilarityChecker checker = new IncrementalSimilarityChecker(calculator, original, 16);
+
+        String[] revisions = { randomText(random, 200), "", randomText(random, 10), original.getText().toString(),
+                original.getText().toString() + "晴", "" };
+        for (String text : revisions) {
+            assertEquals(calculator.calculateComprehensiveSimilarity(original, calculator.createProfile(text)),
+                    checker.check(text), 1e-12, "增量结果应该与完整计算一致: 长度" + text.length());
+        }
+
+        IncrementalSimilarityChecker emptyOriginal = new IncrementalSimilarityChecker(calculator,
+                calculator.createProfile(""), 16);
+        String text = randomText(random, 50);
+        assertEquals(calculator.calculateComprehensiveSimilarity(calculator.createProfile(""),
+                calculator.createProfile(text)), emptyOriginal.check(text), 1e-12, "原文为空时结果应该一致");
+    }
+
+    @Test
+    @DisplayName("测试局部修改只推进修改区域附近的字符")
+    void testLocalEditAdvancesLittle() {
+        Random random = new Random(30);
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        String originalText = randomText(random, 30000);
+        DocumentProfile original = calculator.createProfile(originalText);
+        IncrementalSimilarityChecker checker = new IncrementalSimilarityChecker(calculator, original);
+
+        StringBuilder revision = new StringBuilder(originalText);
+        for (int i = 0; i < revision.length(); i += 50) {
+            revision.setCharAt(i, '书');
+        }
+        checker.check(revision.toString());
+        assertEquals(2 * revision.length(), checker.getLastAdvancedLength(), "首次检查应该双向各推进一遍");
+
+        revision.replace(15000, 15100, randomText(random, 120));
+        String text = revision.toString();
+        assertEquals(calculator.calculateComprehensiveSimilarity(original, calculator.createProfile(text)),
+                checker.check(text), 1e-12, "增量结果应该与完整计算一致");
+        assertTrue(checker.getLastAdvancedLength() <= 120 + 2 * IncrementalSimilarityChecker.DEFAULT_CHECKPOINT_INTERVAL,
+                "局部修改只应推进修改区域附近的字符: " + checker.getLastAdvancedLength());
+    }
+
+    @Test
+    @DisplayName("测试子串覆盖率和分段对齐方式")
+    void testOtherModes() {
+        Random random = new Random(11);
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        DocumentProfile original = calculator.createProfile(randomText(random, 400));
+        IncrementalSimilarityChecker checker = new IncrementalSimilarityChecker(calculator, original, 32);
+
+        StringBuilder revision = new StringBuilder(original.getText().toString());
+        calculator.setCharacterMetric(TextSimilarityCalculator.CharacterMetric.SUBSTRING_COVERAGE);
+        for (int round = 0; round < 5; round++) {
+            edit(random, revision);
+            String text = revision.toString();
+            assertEquals(calculator.calculateComprehensiveSimilarity(original, calculator.createProfile(text)),
+                    checker.check(text), 1e-12, "子串覆盖率模式下结果应该一致");
+        }
+
+        calculator.setAlignmentMode(TextSimilarityCalculator.AlignmentMode.SEGMENTED);
+        edit(random, revision);
+        String text = revision.toString();
+        assertEquals(calculator.calculateComprehensiveSimilarity(original, calculator.createProfile(text)),
+                checker.check(text), 1e-12, "分段模式下结果应该一致");
+    }
+
+    @Test
+    @DisplayName("测试检查点间隔无效时抛出异常")
+    void testInvalidInterval() {
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        assertThrows(IllegalArgumentException.class,
+                () -> new IncrementalSimilarityChecker(calculator, calculator.createProfile("原文"), 0),
+                "检查点间隔为0应该抛出异常");
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 在随机位置替换、插入或删除一小段文本
+     */
+    private static void edit(Random random, StringBuilder revision) {
+        int position = random.nextInt(revision.length() + 1);
+        int length = Math.min(random.nextInt(12), revision.length() - position);
+        switch (random.nextInt(3)) {
+            case 0:
+                revision.replace(position, position + length, randomText(random, length));
+                break;
+            case 1:
+                revision.insert(position, randomText(random, 1 + random.nextInt(12)));
+                break;
+            default:
+                revision.delete(position, position + length);
+                break;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * LanguageDetector单元测试类
+ * 测试查表分类、扩展区汉字和采样模式
+ */
+public class LanguageDetectorTest {
+
+    private final LanguageDetector detector = new LanguageDetector();
+
+    @Test
+    @DisplayName("测试按字母占比判定语言")
+    void testClassify() {
+        assertEquals(TextSimilarityCalculator.TextLanguage.CHINESE, detector.detect("今天天气很好，适合出门"),
+                "全为中文应该检测为中文");
+        assertEquals(TextSimilarityCalculator.TextLanguage.ENGLISH, detector.detect("Today is a good day"),
+                "全为英文应该检测为英文");
+        assertEquals(TextSimilarityCalculator.TextLanguage.MIXED, detector.detect("今天天气很好 Today is good"),
+                "两种语言都不占优应该检测为混合");
+        assertEquals(TextSimilarityCalculator.TextLanguage.CHINESE,
+                detector.detect("本文使用BERT模型在公开数据集上进行了文本分类实验"), "夹杂少量英文术语的中文应该检测为中文");
+        assertEquals(TextSimilarityCalculator.TextLanguage.ENGLISH, detector.detect("Ｆｕｌｌｗｉｄｔｈ ｌｅｔｔｅｒｓ"),
+                "全角字母应该计为英文");
+        assertEquals(TextSimilarityCalculator.TextLanguage.ENGLISH, detector.detect("Café naïve résumé"),
+                "带变音符号的字母应该计为英文");
+    }
+
+    @Test
+    @DisplayName("测试没有字母的文本")
+    void testUnknown() {
+        assertEquals(TextSimilarityCalculator.TextLanguage.UNKNOWN, detector.detect((String) null), "null应该为未知");
+        assertEquals(TextSimilarityCalculator.TextLanguage.UNKNOWN, detector.detect(""), "空文本应该为未知");
+        assertEquals(TextSimilarityCalculator.TextLanguage.UNKNOWN, detector.detect("123 456"), "只有数字应该为未知");
+        assertEquals(TextSimilarityCalculator.TextLanguage.UNKNOWN, detector.detect("!@#，。×÷"), "只有标点应该为未知");
+    }
+
+    @Test
+    @DisplayName("测试扩展区汉字")
+    void testExtendedHan() {
+        // 扩展A区、兼容汉字和扩展B区（代理对）
+        String extensionA = "㐀㐁㐂䶵";
+        String compatibility = "豈更";
+        String extensionB = new String(Character.toChars(0x20000)) + new String(Character.toChars(0x2A6D6))
+                + new String(Character.toChars(0x2F800)) + new String(Character.toChars(0x30000));
+        assertEquals(TextSimilarityCalculator.TextLanguage.CHINESE, detector.detect(extensionA + compatibility),
+                "扩展A区和兼容汉字应该计为中文");
+        assertEquals(TextSimilarityCalculator.TextLanguage.CHINESE, detector.detect(extensionB + "a"),
+                "代理对表示的汉字应该各计为一个中文字符");
+        assertEquals(TextSimilarityCalculator.TextLanguage.UNKNOWN,
+                detector.detect(new String(Character.toChars(0x1F600)) + "\ud800"),
+                "表情符号和孤立的代理不应计为中文");
+    }
+
+    @Test
+    @DisplayName("测试采样结果与完整扫描一致")
+    void testSamplingMatchesFullScan() {
+        Random random = new Random(24);
+        LanguageDetector sampling = new LanguageDetector(1024, 0.999);
+        LanguageDetector fullScan = new LanguageDetector(Integer.MAX_VALUE, 0.999);
+        for (double hanShare : new double[] { 0.0, 0.05, 0.5, 0.95, 1.0 }) {
+            String text = randomText(random, 200000, hanShare);
+            assertEquals(fullScan.detect(text), sampling.detect(text), "采样结果应该与完整扫描一致: 中文占比" + hanShare);
+        }
+
+        // 扩展B区汉字跨越窗口边界时不应重复计数
+        StringBuilder builder = new StringBuilder();
+        String han = new String(Character.toChars(0x20001));
+        while (builder.length() < 5000) {
+            builder.append('a').append(han);
+        }
+        assertEquals(fullScan.detect(builder), sampling.detect(builder), "代理对跨越窗口时结果应该一致");
+    }
+
+    @Test
+    @DisplayName("测试成块的文本在阈值附近的采样结果与完整扫描一致")
+    void testSamplingBlockStructuredText() {
+        // 同一块内的字母高度相关，采样不能把每个字母当作独立样本
+        Random random = new Random(64);
+        LanguageDetector sampling = new LanguageDetector();
+        LanguageDetector fullScan = new LanguageDetector(Integer.MAX_VALUE, 0.999);
+        int checked = 0;
+        while (checked < 60) {
+            double hanShare = 0.6 + random.nextDouble() * 0.35;
+            StringBuilder builder = new StringBuilder();
+            long han = 0;
+            long latin = 0;
+            while (builder.length() < 70000) {
+                int blockLength = 500 + random.nextInt(3000);
+                boolean chinese = random.nextDouble() < hanShare;
+                String block = randomText(random, blockLength, chinese ? 1.0 : 0.0);
+                builder.append(block);
+                if (chinese) {
+                    han += block.replace(" ", "").length();
+                } else {
+                    latin += block.replace(" ", "").length();
+                }
+            }
+            // 实际占比离阈值太近时采样允许在置信度内出错，跳过
+            double actualShare = (double) han / (han + latin);
+            if (Math.abs(actualShare - LanguageDetector.DOMINANCE) < 0.05) {
+                continue;
+            }
+            checked++;
+            String text = builder.toString();
+            assertEquals(fullScan.detect(text), sampling.detect(text), "成块文本的采样结果应该与完整扫描一致: 中文占比" + actualShare);
+        }
+    }
+
+    @Test
+    @DisplayName("测试参数校验")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LanguageDetector(0, 0.99), "采样阈值为0应该抛出异常");
+        assertThrows(IllegalArgumentException.class, () -> new LanguageDetector(100, 1.0), "置信度为1应该抛出异常");
+        assertThrows(IllegalArgumentException.class, () -> new LanguageDetector(100, Double.NaN),
+                "置信度为NaN应该抛出异常");
+    }
+
+    private static String randomText(Random random, int length, double hanShare) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            if (i % 7 == 6) {
+                builder.append(' ');
+            } else if (random.nextDouble() < hanShare) {
+                builder.append((char) ('一' + random.nextInt(2000)));
+            } else {
+                builder.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * LcsCalculator单元测试类
+ * 测试位并行最长公共子序列算法
+ */
+public class LcsCalculatorTest {
+
+    private LcsCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new LcsCalculator();
+    }
+
+    @Test
+    @DisplayName("测试基本最长公共子序列")
+    void testBasicLcs() {
+        assertEquals(4, calculator.calculate("ABCBDAB".toCharArray(), "BDCABA".toCharArray()),
+                "ABCBDAB与BDCABA的LCS长度应该为4");
+        assertEquals(5, calculator.calculate("今天天气很好".toCharArray(), "今天天气好".toCharArray()),
+                "删除一个字符后LCS长度应该为5");
+        assertEquals(0, calculator.calculate(new char[0], "abc".toCharArray()), "与空文本的LCS长度应该为0");
+    }
+
+    @Test
+    @DisplayName("测试多字块文本与动态规划结果一致")
+    void testMultiWordMatchesDynamicProgramming() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            char[] s1 = randomText(random, random.nextInt(300));
+            char[] s2 = randomText(random, random.nextInt(300));
+
+            assertEquals(referenceLcs(s1, s2), calculator.calculate(s1, s2),
+                    "位并行算法结果应该与动态规划一致");
+        }
+    }
+
+    @Test
+    @DisplayName("测试复用匹配掩码表")
+    void testReusePatternMasks() {
+        char[] pattern = "今天是星期天天气晴今天晚上我要去看电影".toCharArray();
+        MatchMaskTable masks = new MatchMaskTable(pattern);
+
+        assertEquals(pattern.length, calculator.calculate(masks, pattern), "与自身比较的LCS长度应该为文本长度");
+        assertEquals(calculator.calculate(pattern, "今天是周天天气晴朗".toCharArray()),
+                calculator.calculate(masks, "今天是周天天气晴朗".toCharArray()), "复用掩码表的结果应该一致");
+    }
+
+    @Test
+    @DisplayName("测试带下界的LCS提前结束")
+    void testBoundedLcs() {
+        Random random = new Random(13);
+        for (int round = 0; round < 100; round++) {
+            char[] s1 = randomText(random, 1 + random.nextInt(300));
+            char[] s2 = randomText(random, 1 + random.nextInt(300));
+            MatchMaskTable masks = new MatchMaskTable(s1);
+            int expected = referenceLcs(s1, s2);
+            int minLength = random.nextInt(300);
+
+            int bounded = calculator.calculate(masks, s2, minLength);
+            if (expected >= minLength) {
+                assertEquals(expected, bounded, "LCS达到下界时结果应该精确");
+            } else {
+                assertTrue(bounded >= expected && (bounded < minLength || bounded == expected),
+                        "提前结束时应该返回低于下界的上界");
+            }
+        }
+    }
+
+    private int referenceLcs(char[] s1, char[] s2) {
+        int[][] dp = new int[s1.length + 1][s2.length + 1];
+        for (int i = 1; i <= s1.length; i++) {
+            for (int j = 1; j <= s2.length; j++) {
+                dp[i][j] = s1[i - 1] == s2[j - 1] ? dp[i - 1][j - 1] + 1 : Math.max(dp[i - 1][j], dp[i][j - 1]);
+            }
+        }
+        return dp[s1.length][s2.length];
+    }
+
+    private char[] randomText(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (char) ('一' + random.nextInt(6));
+        }
+        return text;
+    }
+}
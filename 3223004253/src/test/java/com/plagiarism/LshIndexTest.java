@@ -0,0 +1,61 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LshIndex单元测试类
+ * 测试候选对生成及参数选择
+ */
+public class LshIndexTest {
+
+    @Test
+    @DisplayName("测试按阈值选择段数和行数")
+    void testForThreshold() {
+        LshIndex index = LshIndex.forThreshold(128, 0.5);
+
+        assertTrue(index.getBands() * index.getRows() <= 128, "段数乘行数不应该超过签名长度");
+        double threshold = Math.pow(1.0 / index.getBands(), 1.0 / index.getRows());
+        assertEquals(0.5, threshold, 0.1, "实际阈值应该接近目标值");
+    }
+
+    @Test
+    @DisplayName("测试候选对")
+    void testCandidatePairs() {
+        MinHasher minHasher = new MinHasher(128, 3, 7L);
+        LshIndex index = LshIndex.forThreshold(128, 0.5);
+
+        index.add(minHasher.signature("今天是星期天，天气晴，今天晚上我要去看电影。".toCharArray()));
+        index.add(minHasher.signature("一位真正的作家永远只为内心写作。".toCharArray()));
+        index.add(minHasher.signature("今天是星期天，天气晴，今天晚上我要去看电影啊。".toCharArray()));
+        index.add(minHasher.signature("".toCharArray()));
+        index.add(minHasher.signature("".toCharArray()));
+
+        long[] pairs = index.candidatePairs();
+        assertArrayEquals(new long[] { 2L }, pairs, "只有第0篇和第2篇应该成为候选对");
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    @DisplayName("测试候选对去重")
+    void testDuplicateCandidates() {
+        MinHasher minHasher = new MinHasher(64, 2, 7L);
+        LshIndex index = new LshIndex(16, 4);
+        long[] signature = minHasher.signature("完全相同的文本".toCharArray());
+        for (int i = 0; i < 3; i++) {
+            index.add(signature);
+        }
+
+        long[] expected = { 1L, 2L, (1L << 32) | 2L };
+        assertArrayEquals(expected, index.candidatePairs(), "所有段都相同时每对只应出现一次");
+    }
+
+    @Test
+    @DisplayName("测试无效参数")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LshIndex(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> LshIndex.forThreshold(128, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new LshIndex(4, 4).add(new long[8]));
+    }
+}
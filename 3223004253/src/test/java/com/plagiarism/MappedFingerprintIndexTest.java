@@ -0,0 +1,83 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * MappedFingerprintIndex单元测试类
+ * 测试磁盘索引的写出、映射打开及查询结果与内存索引一致
+ */
+public class MappedFingerprintIndexTest {
+
+    private static final String[] SOURCES = {
+            "今天是星期天，天气晴，今天晚上我要去看电影，看完电影再去吃夜宵。",
+            "一位真正的作家永远只为内心写作，只有内心才不会欺骗他。",
+            "今天是星期天，天气晴，我们去爬山。",
+            "The quick brown fox jumps over the lazy dog again and again."
+    };
+
+    private FingerprintIndex memoryIndex;
+
+    @BeforeEach
+    void setUp() {
+        memoryIndex = new FingerprintIndex(new WinnowingFingerprinter());
+        for (int i = 0; i < SOURCES.length; i++) {
+            memoryIndex.add("文档" + i + ".txt", SOURCES[i].toCharArray());
+        }
+    }
+
+    @Test
+    @DisplayName("测试查询结果与内存索引一致")
+    void testQueryMatchesMemoryIndex(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("index.bin");
+        MappedFingerprintIndex.write(memoryIndex, path);
+
+        // 使用64字节的小分段，覆盖跨分段读取
+        for (MappedFingerprintIndex index : new MappedFingerprintIndex[] {
+                MappedFingerprintIndex.open(path), MappedFingerprintIndex.open(path, 6) }) {
+            assertEquals(SOURCES.length, index.size());
+            assertEquals(memoryIndex.distinctFingerprints(), index.distinctFingerprints());
+            assertEquals("文档1.txt", index.name(1), "文档名称应该被正确读取");
+
+            char[] query = "今天是星期天，天气晴，今天晚上我要去看电影，看完电影再去吃宵夜。".toCharArray();
+            List<FingerprintIndex.Match> expected = memoryIndex.query(query, 10);
+            List<FingerprintIndex.Match> actual = index.query(query, 10);
+
+            assertEquals(expected.size(), actual.size(), "匹配数量应该一致");
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getName(), actual.get(i).getName(), "匹配顺序应该一致");
+                assertEquals(expected.get(i).getSharedFingerprints(), actual.get(i).getSharedFingerprints());
+                assertEquals(expected.get(i).getDocumentFingerprints(), actual.get(i).getDocumentFingerprints());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试空索引")
+    void testEmptyIndex(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("empty.bin");
+        MappedFingerprintIndex.write(new FingerprintIndex(new WinnowingFingerprinter()), path);
+
+        MappedFingerprintIndex index = MappedFingerprintIndex.open(path);
+        assertEquals(0, index.size());
+        assertTrue(index.query(SOURCES[0].toCharArray(), 5).isEmpty(), "空索引不应该有匹配");
+    }
+
+    @Test
+    @DisplayName("测试格式错误的索引文件")
+    void testInvalidFile(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("invalid.bin");
+        Files.write(path, new byte[128]);
+
+        assertThrows(IOException.class, () -> MappedFingerprintIndex.open(path), "格式错误时应该抛出IOException");
+        assertThrows(IOException.class, () -> MappedFingerprintIndex.open(tempDir.resolve("missing.bin")));
+    }
+}
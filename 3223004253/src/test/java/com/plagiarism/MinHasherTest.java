@@ -0,0 +1,56 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinHasher单元测试类
+ * 测试MinHash签名及Jaccard相似度估计
+ */
+public class MinHasherTest {
+
+    private final MinHasher minHasher = new MinHasher(256, 3, 42L);
+
+    @Test
+    @DisplayName("测试相同文本签名相同")
+    void testIdenticalTexts() {
+        char[] text = "今天是星期天，天气晴，今天晚上我要去看电影。".toCharArray();
+        assertArrayEquals(minHasher.signature(text), minHasher.signature(text.clone()), "相同文本的签名应该相同");
+        assertEquals(1.0, MinHasher.estimateJaccard(minHasher.signature(text), minHasher.signature(text)), 1e-12);
+    }
+
+    @Test
+    @DisplayName("测试Jaccard相似度估计")
+    void testJaccardEstimate() {
+        // 两段文本的三元组集合：{abc,bcd,cde,def,efg,fgh} 与 {abc,bcd,cde,def,efg,fgx}，Jaccard为5/7
+        long[] signature1 = minHasher.signature("abcdefgh".toCharArray());
+        long[] signature2 = minHasher.signature("abcdefgx".toCharArray());
+
+        assertEquals(5.0 / 7.0, MinHasher.estimateJaccard(signature1, signature2), 0.1, "估计值应该接近真实Jaccard相似度");
+    }
+
+    @Test
+    @DisplayName("测试不相关文本")
+    void testUnrelatedTexts() {
+        long[] signature1 = minHasher.signature("一位真正的作家永远只为内心写作".toCharArray());
+        long[] signature2 = minHasher.signature("the quick brown fox jumps over".toCharArray());
+
+        assertTrue(MinHasher.estimateJaccard(signature1, signature2) < 0.05, "不相关文本的估计值应该接近0");
+    }
+
+    @Test
+    @DisplayName("测试空文本签名")
+    void testEmptyText() {
+        assertTrue(MinHasher.isEmpty(minHasher.signature("ab".toCharArray())), "不足一个n-gram的文本签名应该为空");
+        assertFalse(MinHasher.isEmpty(minHasher.signature("abc".toCharArray())), "包含n-gram的文本签名不应该为空");
+    }
+
+    @Test
+    @DisplayName("测试无效参数")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHasher(0, 3, 1L));
+        assertThrows(IllegalArgumentException.class,
+                () -> MinHasher.estimateJaccard(new long[2], new long[3]));
+    }
+}
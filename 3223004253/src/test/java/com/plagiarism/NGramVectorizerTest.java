@@ -0,0 +1,60 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NGramVectorizer单元测试类
+ * 测试字符n-gram滚动哈希向量化
+ */
+public class NGramVectorizerTest {
+
+    @Test
+    @DisplayName("测试二元组数量与跳过空格")
+    void testBigramCount() {
+        NGramVectorizer vectorizer = new NGramVectorizer(2);
+        List<Long> shingles = new ArrayList<>();
+
+        vectorizer.forEachShingle("今天 天气".toCharArray(), shingles::add);
+
+        assertEquals(3, shingles.size(), "四个字符应该产生三个二元组");
+        assertEquals(packed('今', '天'), shingles.get(0), "二元组应该由两个字符打包而成");
+        assertEquals(packed('天', '天'), shingles.get(1), "空格应该被跳过");
+    }
+
+    @Test
+    @DisplayName("测试滚动哈希与直接计算一致")
+    void testRollingHashMatchesDirectHash() {
+        NGramVectorizer vectorizer = new NGramVectorizer(6);
+        String text = "一位真正的作家永远只为内心写作一位真正的作家";
+
+        TermFrequencyTable vector = vectorizer.vectorize(text.toCharArray());
+
+        assertEquals(text.length() - 5 - 2, vector.size(), "重复出现的六元组应该得到相同的哈希值");
+        assertEquals(Math.sqrt(13 + 2 * 4), vector.norm(), 1e-9, "重复的六元组应该计数为2");
+    }
+
+    @Test
+    @DisplayName("测试短于n的文本")
+    void testTextShorterThanN() {
+        NGramVectorizer vectorizer = new NGramVectorizer(3);
+
+        assertTrue(vectorizer.vectorize("今天".toCharArray()).isEmpty(), "短于n的文本不应该产生n-gram");
+    }
+
+    @Test
+    @DisplayName("测试无效的n-gram长度")
+    void testInvalidN() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new NGramVectorizer(0);
+        }, "n-gram长度为0应该抛出IllegalArgumentException");
+    }
+
+    private Long packed(char first, char second) {
+        return ((long) first << 16) | second;
+    }
+}
@@ -0,0 +1,58 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * NearDuplicateClusterer单元测试类
+ * 测试候选对验证与连通分量聚类
+ */
+public class NearDuplicateClustererTest {
+
+    @Test
+    @DisplayName("测试找出相似文档对")
+    void testFindSimilarPairs() {
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        List<DocumentProfile> profiles = new ArrayList<>();
+        for (String text : Arrays.asList(
+                "今天是星期天，天气晴，今天晚上我要去看电影，看完电影再去吃夜宵。",
+                "一位真正的作家永远只为内心写作，只有内心才不会欺骗他。",
+                "今天是星期天，天气晴，今天晚上我要去看电影，看完电影再去吃宵夜。",
+                "一位真正的作家永远只为内心写作，只有内心才不会欺骗她。")) {
+            profiles.add(calculator.createProfile(text));
+        }
+
+        NearDuplicateClusterer clusterer = new NearDuplicateClusterer(calculator,
+                new MinHasher(128, 3, 1L), 0.5, 0.8, ForkJoinPool.commonPool());
+        List<NearDuplicateClusterer.SimilarPair> pairs = clusterer.findSimilarPairs(profiles);
+
+        assertEquals(2, pairs.size(), "应该找到两组相似文档对");
+        assertEquals(0, pairs.get(0).getFirst());
+        assertEquals(2, pairs.get(0).getSecond());
+        assertEquals(1, pairs.get(1).getFirst());
+        assertEquals(3, pairs.get(1).getSecond());
+        assertEquals(calculator.calculateComprehensiveSimilarity(profiles.get(0), profiles.get(2)),
+                pairs.get(0).getSimilarity(), 1e-12, "相似度应该与综合相似度一致");
+    }
+
+    @Test
+    @DisplayName("测试连通分量聚类")
+    void testCluster() {
+        List<NearDuplicateClusterer.SimilarPair> pairs = Arrays.asList(
+                new NearDuplicateClusterer.SimilarPair(3, 5, 0.9),
+                new NearDuplicateClusterer.SimilarPair(0, 5, 0.9),
+                new NearDuplicateClusterer.SimilarPair(2, 4, 0.9));
+
+        List<int[]> clusters = NearDuplicateClusterer.cluster(7, pairs);
+
+        assertEquals(2, clusters.size(), "应该得到两个簇");
+        assertArrayEquals(new int[] { 0, 3, 5 }, clusters.get(0), "传递相似的文档应该在同一簇");
+        assertArrayEquals(new int[] { 2, 4 }, clusters.get(1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SegmentIndex单元测试类
+ * 测试按内容切分与片段对齐
+ */
+public class SegmentIndexTest {
+
+    private static String longText(String marker) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("第").append(i).append("段").append(i == 50 ? marker : "")
+                    .append("今天是星期天天气晴今天晚上我要去看电影");
+        }
+        return builder.toString();
+    }
+
+    @Test
+    @DisplayName("测试切分结果连续且长度受限")
+    void testSplit() {
+        char[] text = longText("").toCharArray();
+        int[] boundaries = SegmentIndex.split(text, 60);
+
+        assertEquals(0, boundaries[0], "第一个片段应该从0开始");
+        assertEquals(text.length, boundaries[boundaries.length - 1], "最后一个片段应该在文本末尾结束");
+        for (int k = 1; k < boundaries.length; k++) {
+            int length = boundaries[k] - boundaries[k - 1];
+            assertTrue(length <= 180, "片段长度不应该超过目标长度的三倍");
+            assertTrue(length >= 30 || k == boundaries.length - 1, "除最后一个片段外长度不应该小于目标长度的一半");
+        }
+        assertArrayEquals(new int[] { 0 }, SegmentIndex.split(new char[0], 60), "空文本没有片段");
+    }
+
+    @Test
+    @DisplayName("测试插入内容后其余片段仍然对齐")
+    void testAlignAfterInsertion() {
+        SegmentIndex original = new SegmentIndex(longText("").toCharArray(), 60);
+        SegmentIndex modified = new SegmentIndex(longText("这里插入了一句新的内容").toCharArray(), 60);
+
+        int[][] groups = original.alignGroups(modified);
+        int exact = 0;
+        for (int[] group : groups) {
+            if (new String(original.range(group[2], group[3])).equals(new String(modified.range(group[0], group[1])))) {
+                exact++;
+            }
+        }
+        assertTrue(exact >= groups.length - 2, "插入位置之外的片段组应该完全相同");
+        assertEquals(modified.segmentCount(), groups[groups.length - 1][1], "片段组应该覆盖全部片段");
+    }
+
+    @Test
+    @DisplayName("测试没有公共内容的片段")
+    void testUnmatchedSegments() {
+        SegmentIndex original = new SegmentIndex("今天是星期天天气晴".toCharArray(), 60);
+        SegmentIndex other = new SegmentIndex("the quick brown fox".toCharArray(), 60);
+
+        assertArrayEquals(new int[] { -1 }, original.align(other), "没有公共三元组时应该为-1");
+        int[][] groups = original.alignGroups(other);
+        assertEquals(1, groups.length);
+        assertEquals(groups[0][2], groups[0][3], "未对齐的片段组对应的原文范围应该为空");
+        assertThrows(IllegalArgumentException.class, () -> new SegmentIndex(new char[0], 0));
+    }
+}
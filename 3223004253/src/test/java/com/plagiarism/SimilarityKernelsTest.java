@@ -0,0 +1,108 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * SimilarityKernels单元测试类
+ * 测试当前加载的实现（运行时加载了jdk.incubator.vector模块时为SIMD实现）与标量实现的结果一致
+ */
+public class SimilarityKernelsTest {
+
+    /** 包含各字符类别及其边界两侧的字符 */
+    private static final String ALPHABET = "今天晴一龥䷿龦aAzZ@[`{09/:ａＡｚＺ１＠［｀｛／："
+            + " \t\n　，。！\u0000￿";
+
+    private final SimilarityKernels kernels = SimilarityKernels.get();
+    private final SimilarityKernels scalar = new SimilarityKernels();
+
+    @Test
+    @DisplayName("测试字符折叠与标量实现一致")
+    void testFoldMatchesScalar() {
+        Random random = new Random(25);
+        for (int round = 0; round < 300; round++) {
+            char[] chars = randomText(random, ALPHABET, random.nextInt(200));
+            int from = random.nextInt(chars.length + 1);
+            int to = from + random.nextInt(chars.length - from + 1);
+            int position = random.nextInt(5);
+
+            char[] expected = new char[position + to - from];
+            char[] actual = new char[expected.length];
+            int[] expectedCounts = new int[TextNormalizer.CLASS_DIGIT + 1];
+            int[] actualCounts = new int[expectedCounts.length];
+            boolean expectedVisible = scalar.fold(chars, from, to, expected, position, expectedCounts);
+            boolean actualVisible = kernels.fold(chars, from, to, actual, position, actualCounts);
+
+            assertArrayEquals(expected, actual, "折叠结果应该一致: " + new String(chars, from, to - from));
+            assertArrayEquals(expectedCounts, actualCounts, "字符类别计数应该一致");
+            assertEquals(expectedVisible, actualVisible, "是否含有非空白字符应该一致");
+        }
+
+        char[] blank = new char[100];
+        Arrays.fill(blank, ' ');
+        blank[99] = '!';
+        assertFalse(kernels.fold(blank, 0, 99, new char[99], 0, new int[4]), "只有空白时不应含有非空白字符");
+        assertTrue(kernels.fold(blank, 0, 100, new char[100], 0, new int[4]), "末尾的标点应该计为非空白字符");
+    }
+
+    @Test
+    @DisplayName("测试编辑距离与标量实现一致")
+    void testEditDistanceMatchesScalar() {
+        Random random = new Random(17);
+        String alphabet = "今天是星期天气晴";
+        for (int round = 0; round < 100; round++) {
+            char[] s2 = randomText(random, alphabet, random.nextInt(300));
+            char[] s1 = mutate(random, s2, alphabet, random.nextInt(60));
+            if (s1.length < s2.length) {
+                char[] temp = s1;
+                s1 = s2;
+                s2 = temp;
+            }
+            assertEquals(scalar.editDistance(s1, s2), kernels.editDistance(s1, s2),
+                    "编辑距离应该一致: 长度" + s1.length + "和" + s2.length);
+        }
+
+        char[] a = randomText(random, "ab", 1000);
+        char[] b = randomText(random, "cd", 100);
+        assertEquals(1000, kernels.editDistance(a, b), "没有公共字符时编辑距离应该为较长文本的长度");
+    }
+
+    @Test
+    @DisplayName("测试实现类不可用时退回标量实现")
+    void testFallback() {
+        SimilarityKernels fallback = SimilarityKernels.load("com.plagiarism.MissingKernels");
+        assertFalse(fallback.isVectorized(), "实现类不存在时应该使用标量实现");
+        assertEquals(3, fallback.editDistance("sitting".toCharArray(), "kitten".toCharArray()), "标量实现应该可以正常计算");
+    }
+
+    private static char[] randomText(Random random, String alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return chars;
+    }
+
+    /**
+     * 随机替换、插入或删除若干字符
+     */
+    private static char[] mutate(Random random, char[] text, String alphabet, int edits) {
+        StringBuilder builder = new StringBuilder(new String(text));
+        for (int i = 0; i < edits; i++) {
+            int position = random.nextInt(builder.length() + 1);
+            char c = alphabet.charAt(random.nextInt(alphabet.length()));
+            if (position == builder.length() || random.nextBoolean()) {
+                builder.insert(position, c);
+            } else if (random.nextBoolean()) {
+                builder.setCharAt(position, c);
+            } else {
+                builder.deleteCharAt(position);
+            }
+        }
+        return builder.toString().toCharArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * SimilarityMatrixCalculator单元测试类
+ * 测试分块调度的全文档对相似度计算
+ */
+public class SimilarityMatrixCalculatorTest {
+
+    private static final List<String> TEXTS = Arrays.asList(
+            "今天是星期天，天气晴，今天晚上我要去看电影。",
+            "今天是周天，天气晴朗，我晚上要去看电影。",
+            "明天是星期一，天气阴，明天晚上我要去图书馆。",
+            "一位真正的作家永远只为内心写作。",
+            "Today is a good day, I will watch a movie tonight.");
+
+    private TextSimilarityCalculator calculator;
+    private List<DocumentProfile> profiles;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new TextSimilarityCalculator();
+        profiles = new ArrayList<>();
+        for (String text : TEXTS) {
+            profiles.add(calculator.createProfile(text));
+        }
+    }
+
+    @Test
+    @DisplayName("测试矩阵与逐对计算一致")
+    void testMatrixMatchesPairwise() {
+        SimilarityMatrixCalculator matrixCalculator =
+                new SimilarityMatrixCalculator(calculator, ForkJoinPool.commonPool(), 2);
+
+        double[][] matrix = matrixCalculator.computeMatrix(profiles);
+
+        for (int i = 0; i < TEXTS.size(); i++) {
+            assertEquals(1.0, matrix[i][i], 1e-12, "对角线应该为1.0");
+            for (int j = i + 1; j < TEXTS.size(); j++) {
+                double expected = calculator.calculateComprehensiveSimilarity(TEXTS.get(i), TEXTS.get(j));
+                assertEquals(expected, matrix[i][j], 1e-12, "矩阵元素应该与逐对计算一致");
+                assertEquals(matrix[i][j], matrix[j][i], 1e-12, "矩阵应该对称");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试每个文档对只计算一次")
+    void testEachPairComputedOnce() {
+        SimilarityMatrixCalculator matrixCalculator =
+                new SimilarityMatrixCalculator(calculator, ForkJoinPool.commonPool(), 3);
+        ConcurrentHashMap<String, Integer> counts = new ConcurrentHashMap<>();
+
+        matrixCalculator.compute(profiles, (i, j, similarity) -> counts.merge(i + "-" + j, 1, Integer::sum));
+
+        assertEquals(TEXTS.size() * (TEXTS.size() - 1) / 2, counts.size(), "应该只计算上三角的文档对");
+        assertTrue(counts.values().stream().allMatch(count -> count == 1), "每个文档对应该只计算一次");
+    }
+
+    @Test
+    @DisplayName("测试按阈值输出文档对")
+    void testThresholdWriter(@TempDir Path tempDir) throws IOException {
+        SimilarityMatrixCalculator matrixCalculator =
+                new SimilarityMatrixCalculator(calculator, ForkJoinPool.commonPool(), 2);
+        Path output = tempDir.resolve("pairs.txt");
+        List<String> names = Arrays.asList("a", "b", "c", "d", "e");
+
+        try (SimilarityMatrixCalculator.PairWriter writer =
+                new SimilarityMatrixCalculator.PairWriter(output.toString(), names, 0.5)) {
+            matrixCalculator.compute(profiles, writer);
+        }
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals("文档1\t文档2\t相似度", lines.get(0), "第一行应该为表头");
+        assertTrue(lines.contains("a\tb\t" + String.format("%.2f",
+                calculator.calculateComprehensiveSimilarity(TEXTS.get(0), TEXTS.get(1)))), "相似的文档对应该被输出");
+        for (String line : lines.subList(1, lines.size())) {
+            assertTrue(Double.parseDouble(line.split("\t")[2]) >= 0.5, "只应该输出不低于阈值的文档对");
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SimilarityService单元测试类
+ * 测试HTTP查重接口和相同请求的合并
+ */
+public class SimilarityServiceTest {
+
+    private static final String ORIGINAL = "今天是星期天，天气晴，今天晚上我要去看电影。";
+    private static final String PLAGIARIZED = "今天是周天，天气晴朗，我晚上要去看电影。";
+
+    @Test
+    @DisplayName("测试文本相似度和文件查重接口")
+    void testEndpoints(@TempDir Path tempDir) throws Exception {
+        Path original = tempDir.resolve("orig.txt");
+        Path plagiarized = tempDir.resolve("copy.txt");
+        Files.write(original, ORIGINAL.getBytes(StandardCharsets.UTF_8));
+        Files.write(plagiarized, PLAGIARIZED.getBytes(StandardCharsets.UTF_8));
+
+        PlagiarismDetector detector = new PlagiarismDetector();
+        SimilarityService service = new SimilarityService(detector);
+        service.start(new InetSocketAddress("127.0.0.1", 0));
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + service.getPort();
+            String expected = String.format(Locale.ROOT, "{\"similarity\":%.4f}",
+                    detector.getSimilarityCalculator().calculateComprehensiveSimilarity(ORIGINAL, PLAGIARIZED));
+
+            HttpResponse<String> similarity = client.send(HttpRequest.newBuilder(URI.create(base + "/similarity"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("text1=" + encode(ORIGINAL) + "&text2=" + encode(PLAGIARIZED)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, similarity.statusCode(), "文本相似度请求应该成功");
+            assertEquals(expected, similarity.body(), "接口结果应该与直接计算一致");
+
+            HttpResponse<String> detect = client.send(HttpRequest.newBuilder(URI.create(base + "/detect?original="
+                    + encode(original.toString()) + "&plagiarized=" + encode(plagiarized.toString()))).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, detect.statusCode(), "文件查重请求应该成功");
+            assertEquals(expected, detect.body(), "文件查重结果应该与文本相似度一致");
+
+            HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(base + "/detect?original="
+                    + encode(tempDir.resolve("missing.txt").toString()) + "&plagiarized=" + encode(plagiarized.toString())))
+                    .GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, missing.statusCode(), "文件不存在时应该返回400");
+            assertTrue(missing.body().contains("error"), "错误响应应该包含错误信息");
+
+            HttpResponse<String> wrongMethod = client.send(HttpRequest.newBuilder(URI.create(base + "/similarity"))
+                    .GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, wrongMethod.statusCode(), "文本相似度接口只接受POST请求");
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("测试根目录之外的文件路径被拒绝")
+    void testRootConfinement(@TempDir Path tempDir) throws Exception {
+        Path root = Files.createDirectory(tempDir.resolve("root"));
+        Files.write(root.resolve("orig.txt"), ORIGINAL.getBytes(StandardCharsets.UTF_8));
+        Files.write(root.resolve("copy.txt"), PLAGIARIZED.getBytes(StandardCharsets.UTF_8));
+        Path outside = tempDir.resolve("secret.txt");
+        Files.write(outside, ORIGINAL.getBytes(StandardCharsets.UTF_8));
+
+        SimilarityService service = new SimilarityService(new PlagiarismDetector(), root);
+        service.start(new InetSocketAddress("127.0.0.1", 0));
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + service.getPort() + "/detect?original=";
+
+            HttpResponse<String> inside = client.send(HttpRequest.newBuilder(URI.create(base
+                    + encode("orig.txt") + "&plagiarized=" + encode("copy.txt"))).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, inside.statusCode(), "根目录内的相对路径应该可以查重");
+
+            HttpResponse<String> parent = client.send(HttpRequest.newBuilder(URI.create(base
+                    + encode("../secret.txt") + "&plagiarized=" + encode("copy.txt"))).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(403, parent.statusCode(), "包含../的路径应该被拒绝");
+
+            HttpResponse<String> absolute = client.send(HttpRequest.newBuilder(URI.create(base
+                    + encode("orig.txt") + "&plagiarized=" + encode(outside.toString()))).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(403, absolute.statusCode(), "根目录之外的绝对路径应该被拒绝");
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("测试未指定根目录时非回环地址禁用文件查重")
+    void testDetectDisabledWithoutRoot() throws Exception {
+        SimilarityService service = new SimilarityService(new PlagiarismDetector());
+        service.start(new InetSocketAddress("0.0.0.0", 0));
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(
+                    "http://127.0.0.1:" + service.getPort() + "/detect?original=a.txt&plagiarized=b.txt")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(403, response.statusCode(), "未指定根目录且监听所有地址时文件查重应该被禁用");
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("测试并发的相同请求只计算一次")
+    void testCoalescing() throws Exception {
+        SimilarityService service = new SimilarityService(new PlagiarismDetector());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Double> leader = executor.submit(() -> service.coalesce(Arrays.asList("key"), () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                release.await();
+                return 0.5;
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS), "第一个请求应该开始计算");
+
+            Future<Double> follower = executor.submit(() -> service.coalesce(Arrays.asList("key"), () -> {
+                computations.incrementAndGet();
+                return 0.9;
+            }));
+            while (service.getCoalescedRequests() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertEquals(0.5, leader.get(), 1e-12, "第一个请求应该得到自己的结果");
+            assertEquals(0.5, follower.get(), 1e-12, "合并的请求应该得到相同结果");
+            assertEquals(1, computations.get(), "相同请求应该只计算一次");
+
+            // 计算结束后不再合并，新的请求重新计算
+            assertEquals(0.9, service.coalesce(Arrays.asList("key"), () -> 0.9), 1e-12, "完成后的请求应该重新计算");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
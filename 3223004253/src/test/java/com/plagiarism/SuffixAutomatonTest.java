@@ -0,0 +1,82 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * SuffixAutomaton单元测试类
+ * 以朴素算法为基准验证子串识别和覆盖字符数
+ */
+public class SuffixAutomatonTest {
+
+    @Test
+    @DisplayName("测试识别全部子串")
+    void testContains() {
+        String text = "今天是星期天，今天晚上看电影";
+        SuffixAutomaton automaton = new SuffixAutomaton(text.toCharArray());
+
+        for (int i = 0; i < text.length(); i++) {
+            for (int j = i; j <= text.length(); j++) {
+                assertTrue(automaton.contains(text.substring(i, j).toCharArray()), "应该包含子串: " + text.substring(i, j));
+            }
+        }
+        assertFalse(automaton.contains("今天下雨".toCharArray()), "不应该包含非子串");
+        assertTrue(automaton.stateCount() <= 2 * text.length(), "状态数不应该超过2n");
+    }
+
+    @Test
+    @DisplayName("测试覆盖字符数与朴素算法一致")
+    void testCoveredCharactersMatchesNaive() {
+        Random random = new Random(15);
+        for (int round = 0; round < 200; round++) {
+            char[] text = randomText(random, random.nextInt(40));
+            char[] other = randomText(random, random.nextInt(40));
+            int minLength = 1 + random.nextInt(4);
+
+            SuffixAutomaton automaton = new SuffixAutomaton(text);
+            assertEquals(naiveCovered(new String(text), new String(other), minLength),
+                    automaton.coveredCharacters(other, minLength), "覆盖字符数应该与朴素算法一致");
+        }
+    }
+
+    @Test
+    @DisplayName("测试完全相同和完全不同的文本")
+    void testCoverageExtremes() {
+        char[] text = "一位真正的作家永远只为内心写作".toCharArray();
+        SuffixAutomaton automaton = new SuffixAutomaton(text);
+
+        assertEquals(text.length, automaton.coveredCharacters(text, 5), "相同文本应该被完全覆盖");
+        assertEquals(0, automaton.coveredCharacters("the quick brown fox".toCharArray(), 1), "不同文本不应该被覆盖");
+        assertEquals(0, new SuffixAutomaton(new char[0]).coveredCharacters(text, 1), "空文本不覆盖任何字符");
+        assertThrows(IllegalArgumentException.class, () -> automaton.coveredCharacters(text, 0));
+    }
+
+    private static char[] randomText(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (char) ('a' + random.nextInt(3));
+        }
+        return text;
+    }
+
+    private static int naiveCovered(String text, String other, int minLength) {
+        boolean[] covered = new boolean[other.length()];
+        for (int i = 0; i < other.length(); i++) {
+            for (int j = i + minLength; j <= other.length(); j++) {
+                if (text.contains(other.substring(i, j))) {
+                    for (int k = i; k < j; k++) {
+                        covered[k] = true;
+                    }
+                }
+            }
+        }
+        int count = 0;
+        for (boolean c : covered) {
+            count += c ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,80 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * TermFrequencyTable单元测试类
+ * 测试基本类型词频表的计数、模长与点积
+ */
+public class TermFrequencyTableTest {
+
+    @Test
+    @DisplayName("测试计数与模长")
+    void testCountsAndNorm() {
+        TermFrequencyTable table = new TermFrequencyTable();
+        table.increment(1L);
+        table.increment(1L);
+        table.add(-5L, 3);
+        table.increment(0L);
+
+        assertEquals(3, table.size(), "应该有3个不同的键");
+        assertEquals(2, table.get(1L), "键1应该计数为2");
+        assertEquals(3, table.get(-5L), "负数键应该正常计数");
+        assertEquals(1, table.get(0L), "键0应该正常计数");
+        assertEquals(0, table.get(42L), "不存在的键应该返回0");
+        assertEquals(Math.sqrt(4 + 9 + 1), table.norm(), 1e-9, "模长应该为计数平方和的平方根");
+    }
+
+    @Test
+    @DisplayName("测试扩容后点积与HashMap计算一致")
+    void testDotProductMatchesHashMap() {
+        Random random = new Random(5);
+        TermFrequencyTable table1 = new TermFrequencyTable();
+        TermFrequencyTable table2 = new TermFrequencyTable();
+        Map<Long, Integer> map1 = new HashMap<>();
+        Map<Long, Integer> map2 = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            long key1 = random.nextInt(800);
+            long key2 = random.nextInt(3000);
+            table1.increment(key1);
+            table2.increment(key2);
+            map1.merge(key1, 1, Integer::sum);
+            map2.merge(key2, 1, Integer::sum);
+        }
+
+        long expected = 0L;
+        for (Map.Entry<Long, Integer> entry : map1.entrySet()) {
+            expected += (long) entry.getValue() * map2.getOrDefault(entry.getKey(), 0);
+        }
+
+        assertEquals(expected, table1.dot(table2), "点积应该与HashMap计算结果一致");
+        assertEquals(expected, table2.dot(table1), "点积应该满足交换律");
+    }
+
+    @Test
+    @DisplayName("测试余弦相似度")
+    void testCosine() {
+        TermFrequencyTable table1 = new TermFrequencyTable();
+        TermFrequencyTable table2 = new TermFrequencyTable();
+        table1.increment(7L);
+        table2.increment(7L);
+
+        assertEquals(1.0, table1.cosine(table2), 1e-9, "相同向量的余弦相似度应该为1.0");
+        assertEquals(0.0, table1.cosine(new TermFrequencyTable()), 1e-9, "与空向量的余弦相似度应该为0");
+    }
+
+    @Test
+    @DisplayName("测试非正数增量")
+    void testNonPositiveDelta() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new TermFrequencyTable().add(1L, 0);
+        }, "增量为0应该抛出IllegalArgumentException");
+    }
+}
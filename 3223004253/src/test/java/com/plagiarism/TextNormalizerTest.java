@@ -0,0 +1,100 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * TextNormalizer单元测试类
+ * 测试单次扫描的文本规范化
+ */
+public class TextNormalizerTest {
+
+    @Test
+    @DisplayName("测试与正则预处理结果一致")
+    void testMatchesRegexPreprocessing() {
+        String[] samples = {
+                "今天天气很好！！！",
+                "  Hello,   World!\t今天 \n 123  ",
+                "!!!",
+                "",
+                "A-B_C——中文《标题》",
+                "\r\n\f前后空白\u000B"
+        };
+
+        for (String sample : samples) {
+            String expected = sample.replaceAll("[^\\u4e00-\\u9fa5a-zA-Z0-9\\s]", " ")
+                    .toLowerCase()
+                    .replaceAll("\\s+", " ")
+                    .trim();
+
+            assertEquals(expected, TextNormalizer.normalize(sample).toString(), "规范化结果应该与正则预处理一致: " + sample);
+        }
+    }
+
+    @Test
+    @DisplayName("测试全角字符折叠")
+    void testFullWidthFolding() {
+        assertEquals("abc 123", TextNormalizer.normalize("ＡＢｃ　１２３").toString(), "全角字母和数字应该折叠为半角");
+    }
+
+    @Test
+    @DisplayName("测试字符类别统计")
+    void testCharacterCounts() {
+        NormalizedText text = TextNormalizer.normalize("今天 Today 2024！");
+
+        assertEquals(2, text.getCjkCount(), "中文字符数应该为2");
+        assertEquals(5, text.getLatinCount(), "英文字母数应该为5");
+        assertEquals(4, text.getDigitCount(), "数字字符数应该为4");
+        assertFalse(text.isRawBlank(), "非空白文本不应该标记为空白");
+        assertTrue(TextNormalizer.normalize(" \t\n ").isRawBlank(), "空白文本应该标记为空白");
+        assertFalse(TextNormalizer.normalize("!!!").isRawBlank(), "只有标点的文本不应该标记为空白");
+    }
+
+    @Test
+    @DisplayName("测试分块追加与复用缓冲区")
+    void testChunkedAppendAndReuse() {
+        TextNormalizer normalizer = new TextNormalizer(4);
+        char[] chunk1 = "今天，".toCharArray();
+        char[] chunk2 = "，天气 Good".toCharArray();
+
+        normalizer.append(chunk1, 0, chunk1.length).append(chunk2, 0, chunk2.length);
+        assertEquals("今天 天气 good", normalizer.toNormalizedText().toString(), "分块追加的结果应该与整体规范化一致");
+
+        normalizer.reset().append("第二篇");
+        assertEquals("第二篇", normalizer.toNormalizedText().toString(), "重置后应该可以复用");
+    }
+
+    @Test
+    @DisplayName("测试字符串、字符数组和其他字符序列的结果一致")
+    void testInputTypesAgree() {
+        // 字符串和字符数组可能经由向量实现整段折叠，其他字符序列总是逐字符处理
+        Random random = new Random(12);
+        String alphabet = "今天晴aZ９Ｑ ，。!\t　";
+        for (int length : new int[] { 0, 1, 31, 100, 4095, 4097, 10000 }) {
+            StringBuilder builder = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = builder.toString();
+            NormalizedText expected = new TextNormalizer().append(builder).toNormalizedText();
+
+            char[] chars = text.toCharArray();
+            TextNormalizer chunked = new TextNormalizer(4);
+            for (int offset = 0; offset < chars.length; offset += 1000) {
+                chunked.append(chars, offset, Math.min(1000, chars.length - offset));
+            }
+
+            for (NormalizedText actual : new NormalizedText[] { TextNormalizer.normalize(text),
+                    chunked.toNormalizedText() }) {
+                assertEquals(expected.toString(), actual.toString(), "规范化结果应该一致: 长度" + length);
+                assertEquals(expected.getCjkCount(), actual.getCjkCount(), "中文字符数应该一致");
+                assertEquals(expected.getLatinCount(), actual.getLatinCount(), "英文字母数应该一致");
+                assertEquals(expected.getDigitCount(), actual.getDigitCount(), "数字字符数应该一致");
+                assertEquals(expected.isRawBlank(), actual.isRawBlank(), "空白标记应该一致");
+            }
+        }
+    }
+}
@@ -5,6 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 /**
  * TextSimilarityCalculator单元测试类
  * 测试文本相似度计算器的各种功能
@@ -97,6 +105,18 @@ public class TextSimilarityCalculatorTest {
         assertEquals(1.0, similarity, 0.01, "相同文本的余弦相似度应该为1.0");
     }
 
+    @Test
+    @DisplayName("测试中文文本使用字符n-gram计算余弦相似度")
+    void testChineseCosineSimilarityUsesNGrams() {
+        String text1 = calculator.preprocessText("今天是星期天，天气晴，今天晚上我要去看电影。");
+        String text2 = calculator.preprocessText("今天是周天，天气晴朗，我晚上要去看电影。");
+
+        double similarity = calculator.calculateCosineSimilarity(text1, text2);
+
+        assertTrue(similarity > 0.5, "改写后的中文文本应该共享大部分字符二元组");
+        assertTrue(similarity < 1.0, "有差异的中文文本余弦相似度应该小于1.0");
+    }
+
     @Test
     @DisplayName("测试编辑距离相似度计算")
     void testEditDistanceSimilarity() {
@@ -189,5 +209,143 @@ public class TextSimilarityCalculatorTest {
         double similarity3 = calculator.calculateComprehensiveSimilarity("!!!", "???");
         assertEquals(1.0, similarity3, 0.01, "只有标点符号的文本相似度应该为1.0");
     }
-}
 
+    @Test
+    @DisplayName("测试分段对齐模式")
+    void testSegmentedAlignment() {
+        StringBuilder original = new StringBuilder();
+        StringBuilder modified = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String sentence = "第" + i + "句，今天是星期天，天气晴，今天晚上我要去看电影。";
+            original.append(sentence);
+            modified.append(i % 10 == 0 ? sentence.replace("电影", "话剧") : sentence);
+        }
+
+        double whole = calculator.calculateComprehensiveSimilarity(original.toString(), modified.toString());
+        calculator.setAlignmentMode(TextSimilarityCalculator.AlignmentMode.SEGMENTED);
+        calculator.setSegmentLength(100);
+        double segmented = calculator.calculateComprehensiveSimilarity(original.toString(), modified.toString());
+
+        assertEquals(whole, segmented, 0.02, "分段对齐结果应该接近整篇比较的结果");
+        assertEquals(1.0, calculator.calculateComprehensiveSimilarity(original.toString(), original.toString()), 1e-9,
+                "相同文本分段对齐后相似度应该为1.0");
+        assertThrows(IllegalArgumentException.class, () -> calculator.setSegmentLength(0));
+        assertThrows(IllegalArgumentException.class, () -> calculator.setAlignmentMode(null));
+    }
+
+    @Test
+    @DisplayName("测试子串覆盖率")
+    void testSubstringCoverage() {
+        String original = "今天是星期天，天气晴，今天晚上我要去看电影。";
+        String candidate = "今天是星期天，天气很好，今天晚上我要去看电影。";
+
+        double coverage = calculator.calculateSubstringCoverage(original, candidate);
+        assertTrue(coverage > 0.7 && coverage < 1.0, "大部分字符应该被公共子串覆盖: " + coverage);
+        assertEquals(1.0, calculator.calculateSubstringCoverage(original, original), 1e-12, "相同文本覆盖率应该为1.0");
+
+        calculator.setCharacterMetric(TextSimilarityCalculator.CharacterMetric.SUBSTRING_COVERAGE);
+        assertEquals(1.0, calculator.calculateComprehensiveSimilarity(original, original), 1e-12,
+                "使用子串覆盖率时相同文本相似度应该为1.0");
+        assertThrows(IllegalArgumentException.class, () -> calculator.setMinSubstringLength(0));
+    }
+
+    @Test
+    @DisplayName("测试阈值剪枝的综合相似度")
+    void testThresholdSimilarity() {
+        String[] texts = {
+            "今天是星期天，天气晴，今天晚上我要去看电影。",
+            "今天是周天，天气晴朗，我晚上要去看电影。",
+            "明天是星期一，天气阴，明天早上我要去上课。",
+            "机器学习是人工智能的一个重要分支。",
+            "The quick brown fox jumps over the lazy dog",
+            "The quick brown fox jumped over a lazy dog",
+            ""
+        };
+        for (TextSimilarityCalculator.EditDistanceBackend backend : TextSimilarityCalculator.EditDistanceBackend.values()) {
+            calculator.setEditDistanceBackend(backend);
+            for (String text1 : texts) {
+                for (String text2 : texts) {
+                    double exact = calculator.calculateComprehensiveSimilarity(text1, text2);
+                    for (double threshold = 0.0; threshold <= 1.0; threshold += 0.05) {
+                        double bounded = calculator.calculateComprehensiveSimilarity(text1, text2, threshold);
+                        if (exact >= threshold) {
+                            assertEquals(exact, bounded, 1e-12, "达到阈值时结果应该精确");
+                        } else {
+                            assertTrue(bounded < threshold && bounded >= exact - 1e-12,
+                                    "未达到阈值时应该返回低于阈值的上界");
+                        }
+                    }
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateComprehensiveSimilarity("a", "b", Double.NaN));
+    }
+
+    @Test
+    @DisplayName("测试并行计算各项相似度")
+    void testParallelComponents() throws Exception {
+        StringBuilder original = new StringBuilder();
+        StringBuilder modified = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            String sentence = "第" + i + "句，今天是星期天，天气晴，今天晚上我要去看电影。";
+            original.append(sentence);
+            modified.append(i % 7 == 0 ? sentence.replace("电影", "话剧") : sentence);
+        }
+        DocumentProfile profile1 = calculator.createProfile(original.toString());
+        DocumentProfile profile2 = calculator.createProfile(modified.toString());
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (TextSimilarityCalculator.AlignmentMode mode : TextSimilarityCalculator.AlignmentMode.values()) {
+                for (TextSimilarityCalculator.CharacterMetric metric : TextSimilarityCalculator.CharacterMetric.values()) {
+                    calculator.setAlignmentMode(mode);
+                    calculator.setCharacterMetric(metric);
+                    calculator.setComponentPool(null);
+                    double expected = calculator.calculateComprehensiveSimilarity(profile1, profile2);
+
+                    calculator.setComponentPool(pool);
+                    assertEquals(expected, calculator.calculateComprehensiveSimilarity(profile1, profile2), 1e-12,
+                            "并行计算结果应该与依次计算一致");
+                }
+            }
+
+            // 多个线程同时调用，部分调用来自线程池自身的工作线程
+            double expected = calculator.calculateComprehensiveSimilarity(profile1, profile2);
+            List<Callable<Double>> calls = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                calls.add(() -> calculator.calculateComprehensiveSimilarity(profile1, profile2));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                for (Future<Double> future : executor.invokeAll(calls)) {
+                    assertEquals(expected, future.get(), 1e-12, "并发调用结果应该一致");
+                }
+            } finally {
+                executor.shutdown();
+            }
+            for (Future<Double> future : pool.invokeAll(calls)) {
+                assertEquals(expected, future.get(), 1e-12, "线程池内调用结果应该一致");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("测试按语言选择分词方式")
+    void testTokenizationRouting() {
+        String text1 = "running runner";
+        String text2 = "run runs";
+        assertEquals(0.0, calculator.calculateCosineSimilarity(text1, text2), 1e-9, "英文默认按词比较，没有相同的词时余弦相似度为0");
+
+        calculator.setTokenization(TextSimilarityCalculator.TextLanguage.ENGLISH,
+                TextSimilarityCalculator.Tokenization.CHARACTER_NGRAM);
+        assertTrue(calculator.calculateCosineSimilarity(text1, text2) > 0.0, "英文改为字符n-gram后相同词根应该计入相似度");
+        assertEquals(TextSimilarityCalculator.Tokenization.CHARACTER_NGRAM,
+                calculator.getTokenization(TextSimilarityCalculator.TextLanguage.ENGLISH), "应该返回设置的分词方式");
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.setTokenization(TextSimilarityCalculator.TextLanguage.ENGLISH, null),
+                "分词方式为空应该抛出异常");
+    }
+}
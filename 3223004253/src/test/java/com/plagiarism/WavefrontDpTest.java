@@ -0,0 +1,86 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * WavefrontDp单元测试类
+ * 测试波前并行动态规划与单线程算法结果一致
+ */
+public class WavefrontDpTest {
+
+    private final EditDistanceCalculator editDistanceCalculator = new EditDistanceCalculator();
+    private final LcsCalculator lcsCalculator = new LcsCalculator();
+
+    @Test
+    @DisplayName("测试小分块下编辑距离与动态规划一致")
+    void testEditDistanceMatchesDynamicProgramming() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(19);
+            for (int round = 0; round < 200; round++) {
+                WavefrontDp wavefront = new WavefrontDp(pool, 1 + random.nextInt(3), 1 + random.nextInt(50));
+                char[] s1 = randomText(random, random.nextInt(600));
+                char[] s2 = randomText(random, random.nextInt(600));
+
+                assertEquals(editDistanceCalculator.calculate(s1, s2), wavefront.editDistance(s1, s2),
+                        "波前算法的编辑距离应该与动态规划一致");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("测试小分块下最长公共子序列与位并行算法一致")
+    void testLcsMatchesBitParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(23);
+            for (int round = 0; round < 200; round++) {
+                WavefrontDp wavefront = new WavefrontDp(pool, 1 + random.nextInt(3), 1 + random.nextInt(50));
+                char[] s1 = randomText(random, random.nextInt(600));
+                char[] s2 = randomText(random, random.nextInt(600));
+
+                assertEquals(lcsCalculator.calculate(s1, s2), wavefront.lcs(s1, s2),
+                        "波前算法的LCS长度应该与位并行算法一致");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("测试波前后端的相似度")
+    void testWavefrontBackend() {
+        StringBuilder original = new StringBuilder();
+        StringBuilder modified = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            String sentence = "第" + i + "句，今天是星期天，天气晴，今天晚上我要去看电影。";
+            original.append(sentence);
+            modified.append(i % 9 == 0 ? sentence.replace("电影", "话剧") : sentence);
+        }
+        TextSimilarityCalculator calculator = new TextSimilarityCalculator();
+        double expected = calculator.calculateComprehensiveSimilarity(original.toString(), modified.toString());
+
+        calculator.setEditDistanceBackend(TextSimilarityCalculator.EditDistanceBackend.WAVEFRONT);
+        calculator.setLcsBackend(TextSimilarityCalculator.LcsBackend.WAVEFRONT);
+
+        assertEquals(expected, calculator.calculateComprehensiveSimilarity(original.toString(), modified.toString()),
+                1e-12, "波前后端的综合相似度应该与默认后端一致");
+        assertThrows(IllegalArgumentException.class, () -> calculator.setLcsBackend(null));
+        assertThrows(IllegalArgumentException.class, () -> new WavefrontDp(ForkJoinPool.commonPool(), 0, 1));
+    }
+
+    private char[] randomText(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (char) ('一' + random.nextInt(6));
+        }
+        return text;
+    }
+}
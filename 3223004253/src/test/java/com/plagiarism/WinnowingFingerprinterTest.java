@@ -0,0 +1,59 @@
+package com.plagiarism;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+/**
+ * WinnowingFingerprinter单元测试类
+ * 测试指纹选取及公共片段的检出保证
+ */
+public class WinnowingFingerprinterTest {
+
+    private final WinnowingFingerprinter fingerprinter = new WinnowingFingerprinter(5, 4);
+
+    @Test
+    @DisplayName("测试指纹升序去重")
+    void testSortedDistinct() {
+        long[] fingerprints = fingerprinter.fingerprints(
+                "今天是星期天，天气晴，今天晚上我要去看电影。今天是星期天，天气晴。".toCharArray());
+
+        assertTrue(fingerprints.length > 0, "应该生成指纹");
+        for (int i = 1; i < fingerprints.length; i++) {
+            assertTrue(fingerprints[i - 1] < fingerprints[i], "指纹应该升序且不重复");
+        }
+    }
+
+    @Test
+    @DisplayName("测试公共片段产生公共指纹")
+    void testSharedPassage() {
+        String passage = "一位真正的作家永远只为内心写作";
+        long[] fingerprints1 = fingerprinter.fingerprints(("今天天气很好。" + passage + "。我们去公园").toCharArray());
+        long[] fingerprints2 = fingerprinter.fingerprints(("明天要下雨了，" + passage + "，大家带伞").toCharArray());
+
+        long shared = Arrays.stream(fingerprints1).filter(f -> Arrays.binarySearch(fingerprints2, f) >= 0).count();
+        assertTrue(shared > 0, "长度不少于窗口加k减1的公共片段应该产生公共指纹");
+    }
+
+    @Test
+    @DisplayName("测试指纹数量少于k-gram数量")
+    void testDensity() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append((char) ('一' + (i * 7919) % 20000));
+        }
+
+        int fingerprints = fingerprinter.fingerprints(text.toString().toCharArray()).length;
+        assertTrue(fingerprints < 2000 * 0.6, "指纹数量应该明显少于k-gram数量: " + fingerprints);
+    }
+
+    @Test
+    @DisplayName("测试短文本")
+    void testShortText() {
+        assertEquals(0, fingerprinter.fingerprints("短文".toCharArray()).length, "不足一个k-gram时没有指纹");
+        assertEquals(1, fingerprinter.fingerprints("不足一个窗口".toCharArray()).length, "不足一个窗口时取最小值");
+        assertThrows(IllegalArgumentException.class, () -> new WinnowingFingerprinter(5, 0));
+    }
+}
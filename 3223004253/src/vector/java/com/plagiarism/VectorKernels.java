@@ -0,0 +1,148 @@
+package com.plagiarism;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 相似度计算内层循环的SIMD实现，依赖jdk.incubator.vector模块（JDK 16及以上）
+ * 由SimilarityKernels通过反射加载，运行时未加载该模块时链接失败，调用方退回标量实现。
+ * 各方法的结果与标量实现完全相同：
+ * <ul>
+ * <li>fold按向量宽度一次比较多个字符的类别范围，并用blend写入折叠后的字符</li>
+ * <li>editDistance按反对角线计算，同一反对角线上的单元格互不依赖，可以整段并行</li>
+ * </ul>
+ */
+final class VectorKernels extends SimilarityKernels {
+
+    private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    private static final ShortVector SPACES = ShortVector.broadcast(CHARS, (short) ' ');
+
+    /** 反对角线短于此长度时向量化收益不足以抵消额外开销 */
+    private static final int MIN_VECTOR_DIAGONAL = 64;
+
+    VectorKernels() {
+        // 没有硬件向量寄存器时向量API退化为逐通道计算，不如标量实现
+        if (INTS.length() < 4) {
+            throw new UnsupportedOperationException("向量宽度不足: " + INTS.vectorBitSize());
+        }
+    }
+
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    boolean fold(char[] chars, int from, int to, char[] folded, int position, int[] classCounts) {
+        int cjk = 0;
+        int latin = 0;
+        int digit = 0;
+        VectorMask<Short> visible = CHARS.maskAll(false);
+        int i = from;
+        for (int bound = from + CHARS.loopBound(to - from); i < bound; i += CHARS.length()) {
+            ShortVector v = ShortVector.fromCharArray(CHARS, chars, i);
+            VectorMask<Short> isCjk = inRange(v, '\u4e00', '\u9fa5');
+            VectorMask<Short> isLower = inRange(v, 'a', 'z');
+            VectorMask<Short> isUpper = inRange(v, 'A', 'Z');
+            VectorMask<Short> isWideLower = inRange(v, '\uff41', '\uff5a');
+            VectorMask<Short> isWideUpper = inRange(v, '\uff21', '\uff3a');
+            VectorMask<Short> isDigit = inRange(v, '0', '9');
+            VectorMask<Short> isWideDigit = inRange(v, '\uff10', '\uff19');
+
+            // 分隔符先置为空格，再按类别覆盖为折叠后的字符
+            ShortVector result = SPACES
+                    .blend(v, isCjk.or(isLower).or(isDigit))
+                    .blend(v.add((short) ('a' - 'A')), isUpper)
+                    .blend(v.sub((short) ('\uff41' - 'a')), isWideLower)
+                    .blend(v.sub((short) ('\uff21' - 'a')), isWideUpper)
+                    .blend(v.sub((short) ('\uff10' - '0')), isWideDigit);
+            result.intoCharArray(folded, position + i - from);
+
+            visible = visible.or(v.compare(VectorOperators.UNSIGNED_GT, (short) ' '));
+            cjk += isCjk.trueCount();
+            latin += isLower.or(isUpper).or(isWideLower).or(isWideUpper).trueCount();
+            digit += isDigit.or(isWideDigit).trueCount();
+        }
+        classCounts[TextNormalizer.CLASS_CJK] += cjk;
+        classCounts[TextNormalizer.CLASS_LATIN] += latin;
+        classCounts[TextNormalizer.CLASS_DIGIT] += digit;
+        boolean tailVisible = i < to && super.fold(chars, i, to, folded, position + i - from, classCounts);
+        return visible.anyTrue() || tailVisible;
+    }
+
+    /**
+     * 无符号比较 c - first <= last - first 等价于 first <= c <= last
+     */
+    private static VectorMask<Short> inRange(ShortVector v, char first, char last) {
+        return v.sub((short) first).compare(VectorOperators.UNSIGNED_LE, (short) (last - first));
+    }
+
+    /**
+     * 反对角线d上的单元格为(i, d - i)，以行号i为下标保存最近三条反对角线：
+     * D[i][j] = min(D[i-1][j] + 1, D[i][j-1] + 1, D[i-1][j-1] + (s1[i-1] != s2[j-1]))，
+     * 前两项在反对角线d - 1上，第三项在d - 2上。s2倒序存放后，同一反对角线上的字符比较也是连续下标
+     */
+    @Override
+    int editDistance(char[] s1, char[] s2) {
+        int m = s1.length;
+        int n = s2.length;
+        if (n < MIN_VECTOR_DIAGONAL) {
+            return super.editDistance(s1, s2);
+        }
+
+        int[] chars1 = new int[m];
+        for (int i = 0; i < m; i++) {
+            chars1[i] = s1[i];
+        }
+        int[] reversed2 = new int[n];
+        for (int j = 0; j < n; j++) {
+            reversed2[j] = s2[n - 1 - j];
+        }
+
+        int[] prev2 = new int[m + 1];
+        int[] prev1 = new int[m + 1];
+        int[] curr = new int[m + 1];
+        prev1[0] = 1;
+        prev1[1] = 1;
+
+        for (int d = 2; d <= m + n; d++) {
+            if (d <= n) {
+                curr[0] = d;
+            }
+            if (d <= m) {
+                curr[d] = d;
+            }
+
+            // 内部单元格i取[from, to]，s2[d - i - 1]即reversed2[n - d + i]
+            int from = Math.max(1, d - n);
+            int to = Math.min(m, d - 1);
+            int offset = n - d;
+            int i = from;
+            for (int bound = from + INTS.loopBound(to - from + 1); i < bound; i += INTS.length()) {
+                IntVector up = IntVector.fromArray(INTS, prev1, i - 1);
+                IntVector left = IntVector.fromArray(INTS, prev1, i);
+                IntVector diagonal = IntVector.fromArray(INTS, prev2, i - 1);
+                VectorMask<Integer> mismatch = IntVector.fromArray(INTS, chars1, i - 1)
+                        .compare(VectorOperators.NE, IntVector.fromArray(INTS, reversed2, offset + i));
+                up.min(left).add(1)
+                        .min(diagonal.lanewise(VectorOperators.ADD, 1, mismatch))
+                        .intoArray(curr, i);
+            }
+            for (; i <= to; i++) {
+                int value = prev2[i - 1] + (chars1[i - 1] != reversed2[offset + i] ? 1 : 0);
+                curr[i] = Math.min(value, Math.min(prev1[i - 1], prev1[i]) + 1);
+            }
+
+            int[] temp = prev2;
+            prev2 = prev1;
+            prev1 = curr;
+            curr = temp;
+        }
+        return prev1[m];
+    }
+}
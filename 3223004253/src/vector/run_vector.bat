@@ -0,0 +1,19 @@
+@echo off
+rem 编译主代码和SIMD实现并以jdk.incubator.vector模块运行，在项目根目录下执行，参数原样传给PlagiarismDetector，例如：
+rem   src\vector\run_vector.bat orig.txt orig_add.txt result.txt
+rem 需要JDK 17及以上
+setlocal
+
+set OUT=build\vector
+
+echo 编译Java程序...
+if exist "%OUT%" rmdir /s /q "%OUT%"
+javac --release 17 -encoding UTF-8 -d %OUT%\main src\main\java\com\plagiarism\*.java || exit /b 1
+
+echo 编译SIMD实现...
+javac --release 17 -encoding UTF-8 --add-modules jdk.incubator.vector -cp %OUT%\main -d %OUT%\vector src\vector\java\com\plagiarism\*.java || exit /b 1
+
+echo.
+echo 运行查重程序...
+java --add-modules jdk.incubator.vector -cp "%OUT%\main;%OUT%\vector" com.plagiarism.PlagiarismDetector %*
+exit /b %errorlevel%
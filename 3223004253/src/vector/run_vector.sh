@@ -0,0 +1,20 @@
+#!/bin/bash
+# 编译主代码和SIMD实现并以jdk.incubator.vector模块运行，在项目根目录下执行，参数原样传给PlagiarismDetector，例如：
+#   bash src/vector/run_vector.sh orig.txt orig_add.txt result.txt
+# 需要JDK 17及以上
+
+set -e
+
+OUT=build/vector
+
+echo "编译Java程序..."
+rm -rf "$OUT"
+javac --release 17 -encoding UTF-8 -d "$OUT/main" src/main/java/com/plagiarism/*.java
+
+echo "编译SIMD实现..."
+javac --release 17 -encoding UTF-8 --add-modules jdk.incubator.vector -cp "$OUT/main" \
+    -d "$OUT/vector" src/vector/java/com/plagiarism/*.java
+
+echo ""
+echo "运行查重程序..."
+java --add-modules jdk.incubator.vector -cp "$OUT/main:$OUT/vector" com.plagiarism.PlagiarismDetector "$@"